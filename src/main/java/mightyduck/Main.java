@@ -21,6 +21,8 @@ public class Main extends Application {
     private static final String PRODUCT_NAME = "Mighty Duck";
     private static final Image ICON = new Image("/images/duck.png");
 
+    private MainController controller;
+
     /**
      * Default constructor.
      */
@@ -39,7 +41,14 @@ public class Main extends Application {
         stage.setTitle(PRODUCT_NAME);
         stage.getIcons().add(ICON);
         stage.show();
-        MainController controller = fxmlLoader.getController();
+        controller = fxmlLoader.getController();
         controller.initializeMightyDuck();
     }
+
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdownMightyDuck();
+        }
+    }
 }
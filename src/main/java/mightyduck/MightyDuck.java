@@ -10,7 +10,9 @@ import mightyduck.exception.InvalidStoragePathException;
 import mightyduck.exception.InvalidValueException;
 import mightyduck.exception.StorageLoadException;
 import mightyduck.exception.StorageWriteException;
+import mightyduck.exception.TaskDecodeException;
 import mightyduck.parser.Parser;
+import mightyduck.storage.PersistenceService;
 import mightyduck.storage.Storage;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Config;
@@ -21,7 +23,7 @@ import mightyduck.utils.Messages;
  * storage operations.
  */
 public class MightyDuck {
-    private final Storage storage;
+    private final PersistenceService persistenceService;
     private final TaskManager taskManager;
     private final Parser parser;
 
@@ -32,24 +34,35 @@ public class MightyDuck {
      * @throws StorageLoadException        If an error occurs while loading the file.
      */
     public MightyDuck() throws InvalidStoragePathException, StorageLoadException {
-        storage = new Storage(Config.STORAGE_PATH);
-        taskManager = storage.load();
+        Storage storage = new Storage(Config.STORAGE_PATH, Config.IS_JOURNALED);
+        taskManager = Config.IS_LAZY_LOADING ? storage.loadLazily() : storage.load();
         parser = new Parser(taskManager);
+        persistenceService = new PersistenceService(storage, Config.SAVE_MAX_DELAY_MILLIS);
     }
 
     /**
-     * Parses and runs the given command.
+     * Parses and runs the given command. The tasks are only saved if the command modified them,
+     * in the background. All pending changes are written before a terminating command returns. A
+     * lazily loaded task which turns out to be invalid terminates the application, leaving its
+     * stored record as it was.
      *
      * @param commandStr The command the user inputted.
      * @return The result of the execution.
      */
     public CommandResult runCommand(String commandStr) {
         try {
+            persistenceService.checkFailure();
             Command command = parser.parse(commandStr);
+            long version = taskManager.getVersion();
             CommandResult result = command.execute();
-            storage.save(taskManager);
+            if (taskManager.getVersion() != version) {
+                persistenceService.submit(taskManager);
+            }
+            if (result.commandResultType() == CommandResultType.TERMINATION) {
+                persistenceService.flush();
+            }
             return result;
-        } catch (StorageWriteException e) {
+        } catch (StorageWriteException | TaskDecodeException e) {
             return new CommandResult(
                     CommandResultType.TERMINATING_ERROR,
                     Messages.EXCEPTION + e.getMessage(),
@@ -63,4 +76,13 @@ public class MightyDuck {
             );
         }
     }
+
+    /**
+     * Writes all pending changes and stops the background persistence.
+     *
+     * @throws StorageWriteException If an error occurs while writing to the file.
+     */
+    public void shutdown() throws StorageWriteException {
+        persistenceService.shutdown();
+    }
 }
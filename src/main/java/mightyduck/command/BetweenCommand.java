@@ -0,0 +1,53 @@
+package mightyduck.command;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import mightyduck.task.IndexedTask;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * Represents the "between" command, which lists the deadlines and events within a time range.
+ */
+public class BetweenCommand extends Command {
+
+    /**
+     * The earliest time of the listed tasks.
+     */
+    private final LocalDateTime from;
+
+    /**
+     * The latest time of the listed tasks.
+     */
+    private final LocalDateTime to;
+
+    /**
+     * Constructs a {@code BetweenCommand} with the specified {@link TaskManager} and time range.
+     *
+     * @param taskManager The {@link TaskManager} instance to search for tasks.
+     * @param from        The earliest time of the listed tasks, inclusive.
+     * @param to          The latest time of the listed tasks, inclusive.
+     */
+    public BetweenCommand(TaskManager taskManager, LocalDateTime from, LocalDateTime to) {
+        super(taskManager);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the "between" command by listing the deadlines due and the events starting within
+     * the time range, ordered by time.
+     *
+     * @return A {@link CommandResult} containing the tasks found and a feedback message.
+     */
+    @Override
+    public CommandResult execute() {
+        List<IndexedTask> result = taskManager.searchBetween(from, to);
+        return new CommandResult(
+                CommandResultType.SUCCESS,
+                result.isEmpty() ? Messages.EMPTY_TIME_RANGE : Messages.TIME_RANGE,
+                result
+        );
+    }
+}
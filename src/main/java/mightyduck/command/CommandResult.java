@@ -2,9 +2,8 @@ package mightyduck.command;
 
 import java.util.List;
 
-import mightyduck.task.Task;
+import mightyduck.task.IndexedTask;
 import mightyduck.task.TaskManager;
-import mightyduck.utils.Pair;
 
 /**
  * Represents the result of a command execution.
@@ -17,5 +16,5 @@ import mightyduck.utils.Pair;
 public record CommandResult(
         CommandResultType commandResultType,
         String feedback,
-        List<Pair<Integer, Task>> tasks) {
+        List<IndexedTask> tasks) {
 }
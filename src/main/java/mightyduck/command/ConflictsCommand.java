@@ -0,0 +1,68 @@
+package mightyduck.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mightyduck.exception.InvalidValueException;
+import mightyduck.task.Event;
+import mightyduck.task.IndexedTask;
+import mightyduck.task.Task;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * Represents the "conflicts" command, which lists the overlapping events, either all of them or
+ * those overlapping a specified event.
+ */
+public class ConflictsCommand extends Command {
+
+    /**
+     * The zero-based index of the event whose conflicts are listed, or {@code null} to list every
+     * event overlapping another one.
+     */
+    private final Integer index;
+
+    /**
+     * Constructs a {@code ConflictsCommand} with the specified {@link TaskManager} and index.
+     *
+     * @param taskManager The {@link TaskManager} instance to search for events.
+     * @param index       The zero-based index of the event whose conflicts are listed, or
+     *                    {@code null} to list every event overlapping another one.
+     */
+    public ConflictsCommand(TaskManager taskManager, Integer index) {
+        super(taskManager);
+        this.index = index;
+    }
+
+    /**
+     * Executes the "conflicts" command by listing the overlapping events, in the order of the
+     * list.
+     *
+     * @return A {@link CommandResult} containing the events found and a feedback message.
+     * @throws InvalidValueException If the index is out of bounds or the task is not an event.
+     */
+    @Override
+    public CommandResult execute() throws InvalidValueException {
+        List<IndexedTask> result;
+        if (index == null) {
+            result = taskManager.searchConflicts();
+        } else {
+            Task task = taskManager.getTask(index);
+            if (!(task instanceof Event event)) {
+                throw new InvalidValueException(String.format(Messages.NOT_AN_EVENT, task));
+            }
+            result = new ArrayList<>();
+            for (IndexedTask pair : taskManager.searchOverlapping(event.getStartTime(),
+                    event.getEndTime())) {
+                if (pair.index() != index.intValue()) {
+                    result.add(pair);
+                }
+            }
+        }
+        return new CommandResult(
+                CommandResultType.SUCCESS,
+                result.isEmpty() ? Messages.EMPTY_CONFLICTS : Messages.CONFLICTS,
+                result
+        );
+    }
+}
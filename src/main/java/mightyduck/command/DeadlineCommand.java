@@ -4,10 +4,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import mightyduck.task.Deadline;
+import mightyduck.task.IndexedTask;
 import mightyduck.task.Task;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Messages;
-import mightyduck.utils.Pair;
 
 /**
  * Represents the "deadline" command, which adds a new {@link Deadline} task to the task manager.
@@ -60,7 +60,7 @@ public class DeadlineCommand extends Command {
         return new CommandResult(
                 CommandResultType.SUCCESS,
                 Messages.ADD_TASK,
-                List.of(new Pair<>(index, deadlineTask))
+                List.of(new IndexedTask(index, deadlineTask))
         );
     }
 }
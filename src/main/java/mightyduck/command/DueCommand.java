@@ -0,0 +1,46 @@
+package mightyduck.command;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import mightyduck.task.IndexedTask;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * Represents the "due" command, which lists the deadlines and events due at or before a time.
+ */
+public class DueCommand extends Command {
+
+    /**
+     * The latest time of the listed tasks.
+     */
+    private final LocalDateTime time;
+
+    /**
+     * Constructs a {@code DueCommand} with the specified {@link TaskManager} and time.
+     *
+     * @param taskManager The {@link TaskManager} instance to search for tasks.
+     * @param time        The latest time of the listed tasks, inclusive.
+     */
+    public DueCommand(TaskManager taskManager, LocalDateTime time) {
+        super(taskManager);
+        this.time = time;
+    }
+
+    /**
+     * Executes the "due" command by listing the deadlines due and the events starting at or
+     * before the time, ordered by time.
+     *
+     * @return A {@link CommandResult} containing the tasks found and a feedback message.
+     */
+    @Override
+    public CommandResult execute() {
+        List<IndexedTask> result = taskManager.searchBetween(null, time);
+        return new CommandResult(
+                CommandResultType.SUCCESS,
+                result.isEmpty() ? Messages.EMPTY_TIME_RANGE : Messages.TIME_RANGE,
+                result
+        );
+    }
+}
@@ -4,13 +4,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import mightyduck.task.Event;
+import mightyduck.task.IndexedTask;
 import mightyduck.task.Task;
 import mightyduck.task.TaskManager;
+import mightyduck.utils.Config;
 import mightyduck.utils.Messages;
-import mightyduck.utils.Pair;
 
 /**
- * Represents the "event" command, which adds a new {@link Event} task to the task manager.
+ * Represents the "event" command, which adds a new {@link Event} task to the task manager, warning
+ * about the existing events it overlaps.
  */
 public class EventCommand extends Command {
 
@@ -64,10 +66,34 @@ public class EventCommand extends Command {
     public CommandResult execute() {
         Task event = new Event(taskName, startTime, endTime, tags);
         int index = taskManager.addTask(event);
+        String feedback = Messages.ADD_TASK;
+        if (Config.IS_WARNING_EVENT_CONFLICTS) {
+            int conflictCount = countConflicts(index);
+            if (conflictCount > 0) {
+                feedback += "\n" + String.format(Messages.EVENT_CONFLICT_WARNING, conflictCount,
+                        event.getId());
+            }
+        }
         return new CommandResult(
                 CommandResultType.SUCCESS,
-                Messages.ADD_TASK,
-                List.of(new Pair<>(index, event))
+                feedback,
+                List.of(new IndexedTask(index, event))
         );
     }
+
+    /**
+     * Counts the events overlapping the newly added event, other than the event itself.
+     *
+     * @param index The zero-based index of the newly added event.
+     * @return The number of overlapping events.
+     */
+    private int countConflicts(int index) {
+        int count = 0;
+        for (IndexedTask pair : taskManager.searchOverlapping(startTime, endTime)) {
+            if (pair.index() != index) {
+                count++;
+            }
+        }
+        return count;
+    }
 }
@@ -2,10 +2,9 @@ package mightyduck.command;
 
 import java.util.List;
 
-import mightyduck.task.Task;
+import mightyduck.task.IndexedTask;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Messages;
-import mightyduck.utils.Pair;
 
 /**
  * Represents the "find" command, which searches for tasks containing a specific keyword.
@@ -37,7 +36,7 @@ public class FindCommand extends Command {
      */
     @Override
     public CommandResult execute() {
-        List<Pair<Integer, Task>> result = taskManager.searchKeywords(searchTerms);
+        List<IndexedTask> result = taskManager.searchKeywords(searchTerms);
         return new CommandResult(
                 CommandResultType.SUCCESS,
                 result.isEmpty() ? Messages.EMPTY_FIND : Messages.FIND,
@@ -0,0 +1,53 @@
+package mightyduck.command;
+
+import java.util.List;
+
+import mightyduck.task.IndexedTask;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * Represents the tag variant of the "find" command, which searches for tasks having some specific
+ * tags.
+ */
+public class FindTagsCommand extends Command {
+
+    /**
+     * The list of tags to search for.
+     */
+    private final List<String> tags;
+
+    /**
+     * Whether the matching tasks must have all the tags rather than at least one of them.
+     */
+    private final boolean isMatchingAll;
+
+    /**
+     * Constructs a {@code FindTagsCommand} with the specified {@link TaskManager} and tags.
+     *
+     * @param taskManager   The {@link TaskManager} instance to search for tasks.
+     * @param tags          The list of tags to search for.
+     * @param isMatchingAll {@code true} to find the tasks having all the tags, {@code false} to
+     *                      find the tasks having at least one of them.
+     */
+    public FindTagsCommand(TaskManager taskManager, List<String> tags, boolean isMatchingAll) {
+        super(taskManager);
+        this.tags = tags;
+        this.isMatchingAll = isMatchingAll;
+    }
+
+    /**
+     * Executes the command by searching for tasks having all or at least one of the provided tags.
+     *
+     * @return A {@link CommandResult} containing the search results and a feedback message.
+     */
+    @Override
+    public CommandResult execute() {
+        List<IndexedTask> result = taskManager.searchTags(tags, isMatchingAll);
+        return new CommandResult(
+                CommandResultType.SUCCESS,
+                result.isEmpty() ? Messages.EMPTY_FIND : Messages.FIND,
+                result
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package mightyduck.command;
+
+import java.util.List;
+
+import mightyduck.task.IndexedTask;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * Represents the fuzzy variant of the "find" command, which searches for tasks whose names have a
+ * word close to one of the search terms, so that misspelled terms still find their tasks.
+ */
+public class FuzzyFindCommand extends Command {
+
+    /**
+     * The list of terms to search for.
+     */
+    private final List<String> searchTerms;
+
+    /**
+     * The maximum edit distance between a term and a matching word.
+     */
+    private final int maxDistance;
+
+    /**
+     * Constructs a {@code FuzzyFindCommand} with the specified {@link TaskManager}, search terms
+     * and maximum edit distance.
+     *
+     * @param taskManager The {@link TaskManager} instance to search for tasks.
+     * @param searchTerms The list of terms to search for.
+     * @param maxDistance The maximum edit distance between a term and a matching word.
+     */
+    public FuzzyFindCommand(TaskManager taskManager, List<String> searchTerms, int maxDistance) {
+        super(taskManager);
+        this.searchTerms = searchTerms;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Executes the command by searching for tasks having a word within the maximum edit distance
+     * of one of the search terms.
+     *
+     * @return A {@link CommandResult} containing the search results and a feedback message.
+     */
+    @Override
+    public CommandResult execute() {
+        List<IndexedTask> result = taskManager.searchFuzzy(searchTerms, maxDistance);
+        return new CommandResult(
+                CommandResultType.SUCCESS,
+                result.isEmpty() ? Messages.EMPTY_FIND : Messages.FIND,
+                result
+        );
+    }
+}
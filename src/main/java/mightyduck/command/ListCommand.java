@@ -1,43 +1,69 @@
 package mightyduck.command;
 
-import java.util.List;
-import java.util.stream.IntStream;
-
-import mightyduck.task.Task;
+import mightyduck.exception.InvalidValueException;
 import mightyduck.task.TaskManager;
+import mightyduck.task.TaskWindow;
 import mightyduck.utils.Messages;
-import mightyduck.utils.Pair;
 
 /**
- * Represents the "list" command, which retrieves and displays the list of tasks managed by the
- * {@link TaskManager}.
+ * Represents the "list" command, which retrieves and displays a page of the list of tasks managed
+ * by the {@link TaskManager}.
  */
 public class ListCommand extends Command {
 
     /**
-     * Constructs a {@code ListCommand} with the specified {@link TaskManager}.
+     * The one-based number of the page to display.
+     */
+    private final int page;
+
+    /**
+     * The number of tasks on each page.
+     */
+    private final int pageSize;
+
+    /**
+     * Constructs a {@code ListCommand} with the specified {@link TaskManager} and page.
      *
      * @param taskManager The {@link TaskManager} instance from which tasks will be retrieved.
+     * @param page        The one-based number of the page to display.
+     * @param pageSize    The number of tasks on each page.
      */
-    public ListCommand(TaskManager taskManager) {
+    public ListCommand(TaskManager taskManager, int page, int pageSize) {
         super(taskManager);
+        assert page > 0 && pageSize > 0 : "Page number and size should be positive";
+        this.page = page;
+        this.pageSize = pageSize;
     }
 
     /**
-     * Executes the "list" command, retrieving all tasks from the {@link TaskManager} and returning
-     * them in a {@link CommandResult}.
+     * Executes the "list" command, retrieving the tasks of the page from the {@link TaskManager}
+     * and returning them in a {@link CommandResult}. The tasks are returned as a
+     * {@link TaskWindow}, so only the tasks of the page are decoded, and only when displayed.
      *
      * @return A {@link CommandResult} containing the tasks to be display and a feedback message.
+     * @throws InvalidValueException If the page is past the last page.
      */
     @Override
-    public CommandResult execute() {
-        List<Task> tasks = taskManager.getTasks();
+    public CommandResult execute() throws InvalidValueException {
+        long offset = (long) (page - 1) * pageSize;
+        TaskWindow tasks = taskManager.listTasks((int) Math.min(offset, Integer.MAX_VALUE),
+                pageSize);
+        int totalCount = tasks.getTotalCount();
+        int pageCount = (int) (((long) totalCount + pageSize - 1) / pageSize);
+        if (tasks.isEmpty() && page > 1) {
+            throw new InvalidValueException(String.format(Messages.OUT_OF_RANGE_PAGE, page,
+                    pageCount));
+        }
+
+        String feedback = tasks.isEmpty() ? Messages.EMPTY_LIST : Messages.LIST;
+        if (pageCount > 1) {
+            feedback += "\n" + String.format(Messages.LIST_PAGE, tasks.getOffset() + 1,
+                    tasks.getOffset() + tasks.size(), totalCount, page, pageCount);
+        }
         return new CommandResult(
                 CommandResultType.SUCCESS,
-                tasks.isEmpty() ? Messages.EMPTY_LIST : Messages.LIST,
-                IntStream.range(0, tasks.size())
-                        .mapToObj(i -> new Pair<>(i, tasks.get(i)))
-                        .toList()
+                feedback,
+                tasks
         );
     }
 }
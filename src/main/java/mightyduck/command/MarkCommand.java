@@ -1,8 +1,7 @@
 package mightyduck.command;
 
-import java.util.List;
-
 import mightyduck.exception.InvalidValueException;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Messages;
 
@@ -14,7 +13,7 @@ public class MarkCommand extends Command {
     /**
      * The indices of the tasks to be marked.
      */
-    private final List<Integer> indices;
+    private final IndexSelection indices;
 
     /**
      * Constructs a {@code MarkCommand} with the specified {@link TaskManager} and the indices of
@@ -23,7 +22,7 @@ public class MarkCommand extends Command {
      * @param taskManager The {@link TaskManager} instance from which the tasks will be marked.
      * @param indices     The indices of the tasks to be marked.
      */
-    public MarkCommand(TaskManager taskManager, List<Integer> indices) {
+    public MarkCommand(TaskManager taskManager, IndexSelection indices) {
         super(taskManager);
         this.indices = indices;
     }
@@ -3,6 +3,7 @@ package mightyduck.command;
 import java.util.List;
 
 import mightyduck.exception.InvalidValueException;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Messages;
 
@@ -14,7 +15,7 @@ public class TagCommand extends Command {
     /**
      * The indices of the tasks to be tagged.
      */
-    private final List<Integer> indices;
+    private final IndexSelection indices;
 
     /**
      * The list of tags to be assigned to the tasks.
@@ -29,7 +30,7 @@ public class TagCommand extends Command {
      * @param indices     The indices of the tasks to be tagged.
      * @param tags        The list of tags to be assigned to the task.
      */
-    public TagCommand(TaskManager taskManager, List<Integer> indices, List<String> tags) {
+    public TagCommand(TaskManager taskManager, IndexSelection indices, List<String> tags) {
         super(taskManager);
         this.indices = indices;
         this.tags = tags;
@@ -2,11 +2,11 @@ package mightyduck.command;
 
 import java.util.List;
 
+import mightyduck.task.IndexedTask;
 import mightyduck.task.Task;
 import mightyduck.task.TaskManager;
 import mightyduck.task.ToDo;
 import mightyduck.utils.Messages;
-import mightyduck.utils.Pair;
 
 /**
  * Represents the "todo" command, which adds a new {@link ToDo} task to the task manager.
@@ -51,7 +51,7 @@ public class ToDoCommand extends Command {
         return new CommandResult(
                 CommandResultType.SUCCESS,
                 Messages.ADD_TASK,
-                List.of(new Pair<>(index, todo))
+                List.of(new IndexedTask(index, todo))
         );
     }
 }
@@ -1,8 +1,7 @@
 package mightyduck.command;
 
-import java.util.List;
-
 import mightyduck.exception.InvalidValueException;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Messages;
 
@@ -14,7 +13,7 @@ public class UnmarkCommand extends Command {
     /**
      * The indices of the tasks to be unmarked.
      */
-    private final List<Integer> indices;
+    private final IndexSelection indices;
 
     /**
      * Constructs a {@code UnmarkCommand} with the specified {@link TaskManager} and the indices of
@@ -23,7 +22,7 @@ public class UnmarkCommand extends Command {
      * @param taskManager The {@link TaskManager} instance from which the tasks will be unmarked.
      * @param indices     The indices of the tasks to be unmarked.
      */
-    public UnmarkCommand(TaskManager taskManager, List<Integer> indices) {
+    public UnmarkCommand(TaskManager taskManager, IndexSelection indices) {
         super(taskManager);
         this.indices = indices;
     }
@@ -3,6 +3,7 @@ package mightyduck.command;
 import java.util.List;
 
 import mightyduck.exception.InvalidValueException;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Messages;
 
@@ -15,7 +16,7 @@ public class UntagCommand extends Command {
     /**
      * The indices of the tasks to be untagged.
      */
-    private final List<Integer> indices;
+    private final IndexSelection indices;
 
     /**
      * The list of tags to be removed from the tasks.
@@ -30,7 +31,7 @@ public class UntagCommand extends Command {
      * @param indices     The indices of the tasks to be tagged.
      * @param tags        The list of tags to be assigned to the task.
      */
-    public UntagCommand(TaskManager taskManager, List<Integer> indices, List<String> tags) {
+    public UntagCommand(TaskManager taskManager, IndexSelection indices, List<String> tags) {
         super(taskManager);
         this.indices = indices;
         this.tags = tags;
@@ -17,9 +17,10 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
+import mightyduck.parser.Validation;
+import mightyduck.task.IndexedTask;
 import mightyduck.task.Task;
 import mightyduck.utils.Config;
-import mightyduck.utils.Pair;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face and a label
@@ -72,7 +73,7 @@ public class DialogBoxController extends HBox {
      * @return A new {@code DialogBoxController} representing the dialog.
      */
     public static DialogBoxController getDialog(String text, Image img,
-                                                List<Pair<Integer, Task>> taskList) {
+                                                List<IndexedTask> taskList) {
         DialogBoxController dialogBox = new DialogBoxController(text, img);
         dialogBox.addNumberedTaskList(taskList);
         return dialogBox;
@@ -90,16 +91,19 @@ public class DialogBoxController extends HBox {
     }
 
     /**
-     * Adds a numbered list of tasks to the dialog box.
+     * Adds a numbered list of tasks to the dialog box. Each task is preceded by its index and, if
+     * it has one, its stable ID.
      *
      * @param taskList The list of tasks to be displayed.
      */
-    public void addNumberedTaskList(List<Pair<Integer, Task>> taskList) {
-        for (Pair<Integer, Task> taskPair : taskList) {
+    public void addNumberedTaskList(List<IndexedTask> taskList) {
+        for (IndexedTask indexedTask : taskList) {
             HBox hbox = new HBox();
-            Text numberText = new Text(taskPair.key() + 1 + ". ");
+            int id = indexedTask.task().getId();
+            Text numberText = new Text(indexedTask.index() + 1 + ". "
+                    + (id == Task.NO_ID ? "" : Validation.ID_PREFIX + id + " "));
             TextFlow textFlow = new TextFlow();
-            Text taskText = new Text(taskPair.value().toString());
+            Text taskText = new Text(indexedTask.task().toString());
             taskText.setWrappingWidth(hbox.getPrefWidth());
             textFlow.getChildren().add(taskText);
             hbox.getChildren().addAll(numberText, textFlow);
@@ -18,6 +18,7 @@ import mightyduck.command.CommandResult;
 import mightyduck.command.CommandResultType;
 import mightyduck.exception.InvalidStoragePathException;
 import mightyduck.exception.StorageLoadException;
+import mightyduck.exception.StorageWriteException;
 import mightyduck.utils.Messages;
 
 /**
@@ -83,6 +84,21 @@ public class MainController extends AnchorPane {
         );
     }
 
+    /**
+     * Writes all pending changes of the MightyDuck instance before the application exits and
+     * handles errors.
+     */
+    public void shutdownMightyDuck() {
+        if (mightyDuck == null) {
+            return;
+        }
+        try {
+            mightyDuck.shutdown();
+        } catch (StorageWriteException e) {
+            showErrorAlert(RUNTIME_ERROR_HEADER, e.getMessage());
+        }
+    }
+
     /**
      * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and
      * then appends them to the dialog container. Clears the user input after processing.
@@ -0,0 +1,18 @@
+package mightyduck.exception;
+
+/**
+ * Represents an exception that is thrown when a task loaded lazily from storage turns out to be
+ * invalid on first access. Unlike {@link StorageLoadException}, this exception is unchecked, as it
+ * can surface from any accessor of the tasks long after the storage was loaded.
+ */
+public class TaskDecodeException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code TaskDecodeException} from the failure to decode a task.
+     *
+     * @param cause The exception explaining why the task could not be decoded.
+     */
+    public TaskDecodeException(StorageLoadException cause) {
+        super(cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,63 @@
+package mightyduck.parser;
+
+import java.time.LocalDateTime;
+
+import mightyduck.command.BetweenCommand;
+import mightyduck.exception.InvalidCommandException;
+import mightyduck.exception.InvalidValueException;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * A builder class for constructing a {@link BetweenCommand} from user input.
+ */
+public class BetweenBuilder extends Builder {
+
+    /**
+     * The command word used to invoke the "between" command.
+     */
+    public static final String COMMAND_WORD = "between";
+
+    /**
+     * The format of the "between" command.
+     */
+    public static final String COMMAND_FORMAT = "between <time> /to <time>";
+
+    /**
+     * The keyword indicating the end of the time range.
+     */
+    private static final String TO_KEYWORD = "/to";
+
+    /**
+     * Constructs a new {@link BetweenBuilder} with the specified {@link TaskManager}.
+     *
+     * @param taskManager The {@link TaskManager} instance that manages tasks.
+     */
+    public BetweenBuilder(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    /**
+     * Creates a {@code BetweenCommand} from user-provided input.
+     *
+     * @param input The user-provided input string, expected to contain the start and the end of
+     *              the time range in the format "yyyy-MM-dd HH:mm /to yyyy-MM-dd HH:mm".
+     * @return A new {@code BetweenCommand} instance.
+     * @throws InvalidCommandException If the arguments are missing or incorrectly formatted.
+     * @throws InvalidValueException   If a time is invalid or the range ends before it starts.
+     */
+    public BetweenCommand fromInput(String input) throws InvalidCommandException,
+            InvalidValueException {
+        String[] timeParts = input.split(TO_KEYWORD, 2);
+        if (timeParts.length != 2) {
+            throw new InvalidCommandException(String.format(Messages.WRONG_COMMAND_FORMAT,
+                    COMMAND_FORMAT));
+        }
+        LocalDateTime from = Validation.validateAndParseTime(timeParts[0]);
+        LocalDateTime to = Validation.validateAndParseTime(timeParts[1]);
+        if (to.isBefore(from)) {
+            throw new InvalidValueException(Messages.END_TIME_BEFORE_START_TIME);
+        }
+        return new BetweenCommand(taskManager, from, to);
+    }
+}
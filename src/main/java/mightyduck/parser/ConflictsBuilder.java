@@ -0,0 +1,55 @@
+package mightyduck.parser;
+
+import mightyduck.command.ConflictsCommand;
+import mightyduck.exception.InvalidCommandException;
+import mightyduck.exception.InvalidValueException;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * A builder class for constructing a {@link ConflictsCommand} from user input.
+ */
+public class ConflictsBuilder extends Builder {
+
+    /**
+     * The command word used to invoke the "conflicts" command.
+     */
+    public static final String COMMAND_WORD = "conflicts";
+
+    /**
+     * The format of the "conflicts" command.
+     */
+    public static final String COMMAND_FORMAT = "conflicts [<index>]";
+
+    /**
+     * Constructs a new {@link ConflictsBuilder} with the specified {@link TaskManager}.
+     *
+     * @param taskManager The {@link TaskManager} instance that manages tasks.
+     */
+    public ConflictsBuilder(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    /**
+     * Creates a {@code ConflictsCommand} from user-provided input.
+     *
+     * @param input The user-provided input string, expected to be empty or to contain a single
+     *              task index.
+     * @return A new {@code ConflictsCommand} instance.
+     * @throws InvalidCommandException If the input is incorrectly formatted.
+     * @throws InvalidValueException   If the index is invalid.
+     */
+    public ConflictsCommand fromInput(String input)
+            throws InvalidCommandException, InvalidValueException {
+        if (input.trim().isEmpty()) {
+            return new ConflictsCommand(taskManager, null);
+        }
+        String[] parts = input.trim().split("\\s+");
+        if (parts.length != 1) {
+            throw new InvalidCommandException(String.format(Messages.WRONG_COMMAND_FORMAT,
+                    COMMAND_FORMAT));
+        }
+        return new ConflictsCommand(taskManager,
+                Validation.validateAndParseIndex(parts[0], taskManager));
+    }
+}
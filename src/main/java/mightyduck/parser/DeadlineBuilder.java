@@ -1,7 +1,5 @@
 package mightyduck.parser;
 
-import static mightyduck.utils.DateTimeUtils.FORMATTER;
-
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
@@ -12,6 +10,7 @@ import mightyduck.command.DeadlineCommand;
 import mightyduck.exception.InvalidCommandException;
 import mightyduck.exception.InvalidValueException;
 import mightyduck.task.TaskManager;
+import mightyduck.utils.DateTimeUtils;
 import mightyduck.utils.Messages;
 
 /**
@@ -110,7 +109,7 @@ public class DeadlineBuilder extends Builder {
      */
     private LocalDateTime parseDeadline(String deadlineTimeStr) throws InvalidValueException {
         try {
-            return LocalDateTime.parse(deadlineTimeStr.trim(), FORMATTER);
+            return DateTimeUtils.parse(deadlineTimeStr.trim());
         } catch (DateTimeParseException e) {
             throw new InvalidValueException(Messages.FAILED_PARSE_TIME);
         }
@@ -0,0 +1,50 @@
+package mightyduck.parser;
+
+import mightyduck.command.DueCommand;
+import mightyduck.exception.InvalidCommandException;
+import mightyduck.exception.InvalidValueException;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * A builder class for constructing a {@link DueCommand} from user input.
+ */
+public class DueBuilder extends Builder {
+
+    /**
+     * The command word used to invoke the "due" command.
+     */
+    public static final String COMMAND_WORD = "due";
+
+    /**
+     * The format of the "due" command.
+     */
+    public static final String COMMAND_FORMAT = "due <time>";
+
+    /**
+     * Constructs a new {@link DueBuilder} with the specified {@link TaskManager}.
+     *
+     * @param taskManager The {@link TaskManager} instance that manages tasks.
+     */
+    public DueBuilder(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    /**
+     * Creates a {@code DueCommand} from user-provided input.
+     *
+     * @param input The user-provided input string, expected to contain a time in the format
+     *              "yyyy-MM-dd HH:mm".
+     * @return A new {@code DueCommand} instance.
+     * @throws InvalidCommandException If the time is missing.
+     * @throws InvalidValueException   If the time is invalid.
+     */
+    public DueCommand fromInput(String input) throws InvalidCommandException,
+            InvalidValueException {
+        if (input.trim().isEmpty()) {
+            throw new InvalidCommandException(String.format(Messages.WRONG_COMMAND_FORMAT,
+                    COMMAND_FORMAT));
+        }
+        return new DueCommand(taskManager, Validation.validateAndParseTime(input));
+    }
+}
@@ -1,7 +1,5 @@
 package mightyduck.parser;
 
-import static mightyduck.utils.DateTimeUtils.FORMATTER;
-
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
@@ -12,6 +10,7 @@ import mightyduck.command.EventCommand;
 import mightyduck.exception.InvalidCommandException;
 import mightyduck.exception.InvalidValueException;
 import mightyduck.task.TaskManager;
+import mightyduck.utils.DateTimeUtils;
 import mightyduck.utils.Messages;
 
 /**
@@ -136,7 +135,7 @@ public class EventBuilder extends Builder {
      */
     private LocalDateTime parseTime(String time) throws InvalidValueException {
         try {
-            return LocalDateTime.parse(time.trim(), FORMATTER);
+            return DateTimeUtils.parse(time.trim());
         } catch (DateTimeParseException e) {
             throw new InvalidValueException(Messages.FAILED_PARSE_TIME);
         }
@@ -3,9 +3,14 @@ package mightyduck.parser;
 import java.util.Arrays;
 import java.util.List;
 
+import mightyduck.command.Command;
 import mightyduck.command.FindCommand;
+import mightyduck.command.FindTagsCommand;
+import mightyduck.command.FuzzyFindCommand;
 import mightyduck.exception.InvalidCommandException;
+import mightyduck.exception.InvalidValueException;
 import mightyduck.task.TaskManager;
+import mightyduck.utils.Config;
 import mightyduck.utils.Messages;
 
 /**
@@ -21,7 +26,29 @@ public class FindBuilder extends Builder {
     /**
      * The format of the "find" command.
      */
-    public static final String COMMAND_FORMAT = "find <keyword1> <keyword2> ...";
+    public static final String COMMAND_FORMAT = "find <keyword1> <keyword2> ... | "
+            + "find /tags <tag1> <tag2> ... | find /anytags <tag1> <tag2> ... | "
+            + "find /fuzzy <term1> <term2> ... [/distance <number>]";
+
+    /**
+     * The keyword searching for the tasks having all the specified tags.
+     */
+    private static final String TAGS_KEYWORD = "/tags";
+
+    /**
+     * The keyword searching for the tasks having at least one of the specified tags.
+     */
+    private static final String ANY_TAGS_KEYWORD = "/anytags";
+
+    /**
+     * The keyword searching for the tasks having a word close to one of the specified terms.
+     */
+    private static final String FUZZY_KEYWORD = "/fuzzy";
+
+    /**
+     * The keyword indicating the maximum edit distance of a fuzzy search.
+     */
+    private static final String DISTANCE_KEYWORD = "/distance";
 
     /**
      * Constructs a new {@link FindBuilder} with the specified {@link TaskManager}.
@@ -33,21 +60,63 @@ public class FindBuilder extends Builder {
     }
 
     /**
-     * Creates a {@code FindCommand} from user-provided input.
+     * Creates a {@code FindCommand} from user-provided input, a {@code FindTagsCommand} if the
+     * input starts with {@value #TAGS_KEYWORD} or {@value #ANY_TAGS_KEYWORD}, or a
+     * {@code FuzzyFindCommand} if it starts with {@value #FUZZY_KEYWORD}.
      *
      * @param input The user-provided input string containing the search terms.
-     * @return A new {@code FindCommand} instance.
+     * @return A new {@code FindCommand}, {@code FindTagsCommand} or {@code FuzzyFindCommand}
+     *         instance.
      * @throws InvalidCommandException If the input is missing or improperly formatted.
+     * @throws InvalidValueException   If any tag is a task reference or is duplicate, or if the
+     *                                 edit distance is invalid.
      */
-    public FindCommand fromInput(String input) throws InvalidCommandException {
+    public Command fromInput(String input) throws InvalidCommandException, InvalidValueException {
         String[] parts = input.trim().split("\\s+");
-        if (input.trim().isEmpty()) {
+        boolean isTagSearch = parts[0].equals(TAGS_KEYWORD) || parts[0].equals(ANY_TAGS_KEYWORD);
+        boolean isFuzzySearch = parts[0].equals(FUZZY_KEYWORD);
+        if (input.trim().isEmpty() || (isTagSearch || isFuzzySearch) && parts.length == 1) {
             throw new InvalidCommandException(String.format(Messages.WRONG_COMMAND_FORMAT,
                     COMMAND_FORMAT));
         }
 
+        if (isTagSearch) {
+            List<String> tags = Arrays.asList(parts).subList(1, parts.length);
+            Validation.validateTags(tags);
+            return new FindTagsCommand(taskManager, tags, parts[0].equals(TAGS_KEYWORD));
+        }
+
+        if (isFuzzySearch) {
+            return createFuzzyFindCommand(Arrays.asList(parts).subList(1, parts.length));
+        }
+
         List<String> searchTerms = Arrays.stream(parts).toList();
 
         return new FindCommand(taskManager, searchTerms);
     }
+
+    /**
+     * Creates a {@code FuzzyFindCommand} from the parts of the input following
+     * {@value #FUZZY_KEYWORD}, which may end with {@value #DISTANCE_KEYWORD} and a distance.
+     *
+     * @param parts The search terms, possibly followed by the distance keyword and a distance.
+     * @return A new {@code FuzzyFindCommand} instance.
+     * @throws InvalidCommandException If no search term is given or the distance keyword is
+     *                                 misplaced.
+     * @throws InvalidValueException   If the edit distance is invalid.
+     */
+    private FuzzyFindCommand createFuzzyFindCommand(List<String> parts)
+            throws InvalidCommandException, InvalidValueException {
+        int distanceIndex = parts.indexOf(DISTANCE_KEYWORD);
+        List<String> searchTerms = distanceIndex < 0 ? parts : parts.subList(0, distanceIndex);
+        if (searchTerms.isEmpty()
+                || distanceIndex >= 0 && distanceIndex != parts.size() - 2) {
+            throw new InvalidCommandException(String.format(Messages.WRONG_COMMAND_FORMAT,
+                    COMMAND_FORMAT));
+        }
+        int maxDistance = distanceIndex < 0
+                ? Config.FUZZY_FIND_DISTANCE
+                : Validation.validateAndParseFuzzyDistance(parts.get(distanceIndex + 1));
+        return new FuzzyFindCommand(taskManager, searchTerms, maxDistance);
+    }
 }
@@ -1,7 +1,11 @@
 package mightyduck.parser;
 
 import mightyduck.command.ListCommand;
+import mightyduck.exception.InvalidCommandException;
+import mightyduck.exception.InvalidValueException;
 import mightyduck.task.TaskManager;
+import mightyduck.utils.Config;
+import mightyduck.utils.Messages;
 
 /**
  * A builder class for constructing a {@link ListCommand} from user input.
@@ -13,6 +17,21 @@ public class ListBuilder extends Builder {
      */
     public static final String COMMAND_WORD = "list";
 
+    /**
+     * The format of the "list" command.
+     */
+    public static final String COMMAND_FORMAT = "list [/page <number>] [/size <number>]";
+
+    /**
+     * The keyword indicating the number of the page to display.
+     */
+    private static final String PAGE_KEYWORD = "/page";
+
+    /**
+     * The keyword indicating the number of tasks on each page.
+     */
+    private static final String SIZE_KEYWORD = "/size";
+
     /**
      * Constructs a new {@link ListCommand} with the specified {@link TaskManager}.
      *
@@ -23,12 +42,37 @@ public class ListBuilder extends Builder {
     }
 
     /**
-     * Parses the user input and returns a {@link ListCommand}.
+     * Parses the user input and returns a {@link ListCommand}. Without a page number, the first
+     * page is displayed, and without a page size, pages hold {@link Config#LIST_PAGE_SIZE} tasks.
+     * Any other part of the input is ignored.
      *
      * @param input The user input string.
      * @return A new {@link ListCommand} instance.
+     * @throws InvalidCommandException If a keyword is repeated or is not followed by a number.
+     * @throws InvalidValueException   If the page number or size is not a positive integer.
      */
-    public ListCommand fromInput(String input) {
-        return new ListCommand(taskManager);
+    public ListCommand fromInput(String input)
+            throws InvalidCommandException, InvalidValueException {
+        String[] parts = input.trim().split("\\s+");
+        Integer page = null;
+        Integer pageSize = null;
+        for (int i = 0; i < parts.length; i++) {
+            boolean isPage = parts[i].equals(PAGE_KEYWORD);
+            if (!isPage && !parts[i].equals(SIZE_KEYWORD)) {
+                continue;
+            }
+            if (i + 1 == parts.length || (isPage ? page : pageSize) != null) {
+                throw new InvalidCommandException(String.format(Messages.WRONG_COMMAND_FORMAT,
+                        COMMAND_FORMAT));
+            }
+            int number = Validation.validateAndParsePageNumber(parts[++i]);
+            if (isPage) {
+                page = number;
+            } else {
+                pageSize = number;
+            }
+        }
+        return new ListCommand(taskManager, page == null ? 1 : page,
+                pageSize == null ? Config.LIST_PAGE_SIZE : pageSize);
     }
 }
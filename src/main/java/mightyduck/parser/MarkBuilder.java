@@ -5,6 +5,7 @@ import java.util.List;
 import mightyduck.command.MarkCommand;
 import mightyduck.exception.InvalidCommandException;
 import mightyduck.exception.InvalidValueException;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Messages;
 
@@ -47,7 +48,8 @@ public class MarkBuilder extends Builder {
             throw new InvalidCommandException(String.format(Messages.WRONG_COMMAND_FORMAT,
                     COMMAND_FORMAT));
         }
-        List<Integer> indices = Validation.validateAndParseIndices(List.of(parts));
+        IndexSelection indices = Validation.validateAndParseSelection(List.of(parts),
+                taskManager);
 
         return new MarkCommand(taskManager, indices);
     }
@@ -45,7 +45,10 @@ public class Parser {
                 new Pair<>(UnmarkBuilder.COMMAND_WORD, new UnmarkBuilder(taskManager)),
                 new Pair<>(TagBuilder.COMMAND_WORD, new TagBuilder(taskManager)),
                 new Pair<>(UntagBuilder.COMMAND_WORD, new UntagBuilder(taskManager)),
-                new Pair<>(HelpBuilder.COMMAND_WORD, new HelpBuilder(taskManager))
+                new Pair<>(HelpBuilder.COMMAND_WORD, new HelpBuilder(taskManager)),
+                new Pair<>(DueBuilder.COMMAND_WORD, new DueBuilder(taskManager)),
+                new Pair<>(BetweenBuilder.COMMAND_WORD, new BetweenBuilder(taskManager)),
+                new Pair<>(ConflictsBuilder.COMMAND_WORD, new ConflictsBuilder(taskManager))
         );
 
         for (Pair<String, Builder> builder : builders) {
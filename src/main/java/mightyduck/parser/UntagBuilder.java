@@ -6,6 +6,7 @@ import java.util.List;
 import mightyduck.command.UntagCommand;
 import mightyduck.exception.InvalidCommandException;
 import mightyduck.exception.InvalidValueException;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Messages;
 
@@ -53,7 +54,7 @@ public class UntagBuilder extends Builder {
             throw new InvalidCommandException(String.format(Messages.WRONG_COMMAND_FORMAT,
                     COMMAND_FORMAT));
         }
-        List<Integer> indices = Validation.validateAndParseIndices(indexParts);
+        IndexSelection indices = Validation.validateAndParseSelection(indexParts, taskManager);
 
         if (tagParts.isEmpty()) {
             throw new InvalidCommandException(String.format(Messages.WRONG_COMMAND_FORMAT,
@@ -65,17 +66,18 @@ public class UntagBuilder extends Builder {
     }
 
     /**
-     * Extracts the indices (numeric values) from the beginning of the input string.
+     * Extracts the task selectors from the beginning of the input string. The last part is left as
+     * a tag unless it is numeric.
      *
      * @param parts The parts of the input string, split by whitespace.
      * @return A list of strings containing the indices.
      */
     private List<String> extractIndices(String[] parts) {
-        return Arrays.stream(parts).takeWhile(part -> part.matches("\\d+")).toList();
+        return Arrays.asList(parts).subList(0, Validation.countSelectorParts(parts));
     }
 
     /**
-     * Extracts the tags (non-numeric values) from the input string after the indices.
+     * Extracts the tags from the input string after the indices.
      *
      * @param parts      The parts of the input string, split by whitespace.
      * @param indexCount The number of index parts that have been extracted.
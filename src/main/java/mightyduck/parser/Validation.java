@@ -1,11 +1,18 @@
 package mightyduck.parser;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import mightyduck.exception.InvalidValueException;
+import mightyduck.task.IndexSelection;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Config;
+import mightyduck.utils.DateTimeUtils;
 import mightyduck.utils.Messages;
 
 /**
@@ -14,6 +21,43 @@ import mightyduck.utils.Messages;
  */
 public class Validation {
 
+    /**
+     * The prefix marking a task reference as the stable ID of the task rather than its index.
+     */
+    public static final String ID_PREFIX = "#";
+
+    /**
+     * The keyword selecting every task.
+     */
+    public static final String ALL_KEYWORD = "all";
+
+    /**
+     * The separator between the two task references of a range, both included.
+     */
+    public static final String RANGE_SEPARATOR = "-";
+
+    /**
+     * The separator between the items of a task selector.
+     */
+    private static final String ITEM_SEPARATOR = ",";
+
+    /**
+     * The pattern of a task reference, which is a one-based index or a prefixed ID.
+     */
+    private static final String REFERENCE_PATTERN = ID_PREFIX + "?\\d+";
+
+    /**
+     * The pattern of an item of a task selector.
+     */
+    private static final String ITEM_PATTERN = "(?:" + ALL_KEYWORD + "|" + REFERENCE_PATTERN
+            + "(?:" + RANGE_SEPARATOR + REFERENCE_PATTERN + ")?)";
+
+    /**
+     * The pattern of a task selector, which is a comma-separated list of items.
+     */
+    private static final Pattern SELECTOR_PATTERN = Pattern.compile(ITEM_PATTERN
+            + "(?:" + ITEM_SEPARATOR + ITEM_PATTERN + ")*");
+
     /**
      * Private constructor to prevent instantiation of this utility class.
      */
@@ -22,7 +66,8 @@ public class Validation {
     }
 
     /**
-     * Validates the tags to ensure that none of the tags are numeric or duplicate.
+     * Validates the tags to ensure that none of the tags are numeric or duplicate. Tags which look
+     * like other task selectors, e.g. {@code all} or {@code 1-2}, are allowed.
      *
      * @param tags The list of tags to validate.
      * @throws InvalidValueException If any tag is numeric or is duplicate.
@@ -40,25 +85,160 @@ public class Validation {
     }
 
     /**
-     * Validates and converts the index strings to integers and subtracts 1 to make them
-     * zero-based.
+     * Counts the leading parts of the input of a command taking task selectors followed by tags.
+     * The selectors extend up to the first part which is not a task selector, but the last part is
+     * always a tag unless it is numeric, so that a single tag which looks like a selector, e.g.
+     * {@code untag 1 all}, is still read as a tag.
+     *
+     * @param parts The parts of the input, split by whitespace.
+     * @return The number of leading parts which are task selectors.
+     */
+    public static int countSelectorParts(String[] parts) {
+        int maxCount = parts.length > 0 && !parts[parts.length - 1].matches("\\d+")
+                ? parts.length - 1
+                : parts.length;
+        int count = 0;
+        while (count < maxCount && isTaskSelector(parts[count])) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Validates and parses a time in the common format.
+     *
+     * @param time The time string to parse.
+     * @return The {@link LocalDateTime} represented by the time string.
+     * @throws InvalidValueException If the time string is not in a valid format.
+     */
+    public static LocalDateTime validateAndParseTime(String time) throws InvalidValueException {
+        try {
+            return DateTimeUtils.parse(time.trim());
+        } catch (DateTimeParseException e) {
+            throw new InvalidValueException(Messages.FAILED_PARSE_TIME);
+        }
+    }
+
+    /**
+     * Checks whether a part of the input selects tasks. A selector is a comma-separated list of
+     * items, each being {@link #ALL_KEYWORD}, a task reference or a range of two task references
+     * separated by {@link #RANGE_SEPARATOR}. A task reference is either the one-based index of the
+     * task or its ID prefixed with {@link #ID_PREFIX}.
+     *
+     * @param part The part of the input to check.
+     * @return {@code true} if the part is a task selector, {@code false} otherwise.
+     */
+    public static boolean isTaskSelector(String part) {
+        return SELECTOR_PATTERN.matcher(part).matches();
+    }
+
+    /**
+     * Validates and converts a page number or page size.
+     *
+     * @param part The part of the input to convert.
+     * @return The positive integer.
+     * @throws InvalidValueException If the part is not a positive integer.
+     */
+    public static int validateAndParsePageNumber(String part) throws InvalidValueException {
+        try {
+            int number = Integer.parseInt(part);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, along with the numbers which are not positive.
+        }
+        throw new InvalidValueException(String.format(Messages.INVALID_PAGE_NUMBER, part));
+    }
+
+    /**
+     * Validates and converts the edit distance of a fuzzy search.
      *
-     * @param indexParts The list of index strings to convert.
-     * @return A list of integers representing the zero-based indices.
-     * @throws InvalidValueException If any index is not a valid integer.
+     * @param part The part of the input to convert.
+     * @return The edit distance.
+     * @throws InvalidValueException If the part is not an integer from 0 to
+     *                               {@link Config#MAX_FUZZY_FIND_DISTANCE}.
      */
-    public static List<Integer> validateAndParseIndices(List<String> indexParts)
+    public static int validateAndParseFuzzyDistance(String part) throws InvalidValueException {
+        try {
+            int distance = Integer.parseInt(part);
+            if (distance >= 0 && distance <= Config.MAX_FUZZY_FIND_DISTANCE) {
+                return distance;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, along with the distances which are out of range.
+        }
+        throw new InvalidValueException(String.format(Messages.INVALID_FUZZY_DISTANCE,
+                Config.MAX_FUZZY_FIND_DISTANCE, part));
+    }
+
+    /**
+     * Validates and converts a single task reference to a zero-based index. A one-based index is
+     * decremented, while an ID prefixed with {@link #ID_PREFIX} is resolved to the current index of
+     * its task.
+     *
+     * @param part        The task reference to convert.
+     * @param taskManager The {@link TaskManager} used to resolve IDs.
+     * @return The zero-based index.
+     * @throws InvalidValueException If the reference is not a valid integer or refers to an
+     *                               unknown ID.
+     */
+    public static int validateAndParseIndex(String part, TaskManager taskManager)
             throws InvalidValueException {
-        List<Integer> indices = new ArrayList<>();
-        for (String part : indexParts) {
-            try {
-                int index = Integer.parseInt(part) - 1;
-                indices.add(index);
-            } catch (NumberFormatException e) {
+        if (!part.matches(REFERENCE_PATTERN)) {
+            throw new InvalidValueException(Messages.WRONG_NUMBER_FORMAT);
+        }
+        try {
+            if (part.startsWith(ID_PREFIX)) {
+                int id = Integer.parseInt(part.substring(ID_PREFIX.length()));
+                return taskManager.getIndexOfId(id);
+            }
+            return Integer.parseInt(part) - 1;
+        } catch (NumberFormatException e) {
+            throw new InvalidValueException(Messages.WRONG_NUMBER_FORMAT);
+        }
+    }
+
+    /**
+     * Validates and converts the task selectors to a selection of zero-based indices, without
+     * expanding ranges. The selection is the union of every item of every selector, so a task
+     * selected several times is only selected once.
+     *
+     * @param selectorParts The list of task selectors to convert.
+     * @param taskManager   The {@link TaskManager} used to resolve IDs and {@link #ALL_KEYWORD}.
+     * @return The {@link IndexSelection} of the selected zero-based indices.
+     * @throws InvalidValueException If any selector is malformed, refers to an unknown ID or holds
+     *                               a reversed range.
+     */
+    public static IndexSelection validateAndParseSelection(List<String> selectorParts,
+                                                           TaskManager taskManager)
+            throws InvalidValueException {
+        IntStream.Builder bounds = IntStream.builder();
+        for (String part : selectorParts) {
+            if (!isTaskSelector(part)) {
                 throw new InvalidValueException(Messages.WRONG_NUMBER_FORMAT);
             }
+            for (String item : part.split(ITEM_SEPARATOR)) {
+                if (item.equals(ALL_KEYWORD)) {
+                    bounds.add(0).add(taskManager.getTaskCount());
+                    continue;
+                }
+                int separatorIndex = item.indexOf(RANGE_SEPARATOR);
+                if (separatorIndex < 0) {
+                    int index = validateAndParseIndex(item, taskManager);
+                    bounds.add(index).add(index + 1);
+                    continue;
+                }
+                int from = validateAndParseIndex(item.substring(0, separatorIndex), taskManager);
+                int to = validateAndParseIndex(item.substring(separatorIndex + 1), taskManager);
+                if (to < from) {
+                    throw new InvalidValueException(String.format(Messages.REVERSED_INDEX_RANGE,
+                            item));
+                }
+                bounds.add(from).add(to + 1);
+            }
         }
 
-        return indices;
+        return IndexSelection.ofRanges(bounds.build().toArray());
     }
 }
@@ -0,0 +1,355 @@
+package mightyduck.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import mightyduck.exception.StorageLoadException;
+import mightyduck.task.ColumnarTaskStore;
+import mightyduck.task.Deadline;
+import mightyduck.task.Event;
+import mightyduck.task.Task;
+import mightyduck.task.TaskManager;
+import mightyduck.task.ToDo;
+import mightyduck.utils.Messages;
+
+/**
+ * Represents the compact snapshot format, which stores tasks as binary records. The content is
+ * laid out as:
+ * <ul>
+ *     <li>the magic bytes {@code MDKB} followed by a format version byte,</li>
+ *     <li>the ID to assign to the next added task, which is greater than every ID ever used, so
+ *     that the IDs of deleted tasks are not reused,</li>
+ *     <li>a tag table: the number of distinct tags, then each tag as a length-prefixed UTF-8
+ *     string,</li>
+ *     <li>the number of tasks, then one record per task: the signature byte, a flags byte whose
+ *     lowest bit is the completion status, the ID of the task, the number of tags followed by
+ *     their indices in the tag table, the length-prefixed UTF-8 name, and finally the times of the
+ *     task as big-endian {@code long} minutes since the epoch (one for a {@link Deadline}, two for
+ *     an {@link Event}).</li>
+ * </ul>
+ * All counts, lengths, IDs and indices are unsigned variable-length integers holding 7 bits per
+ * byte. Snapshots of the first version, whose records hold no ID, and of the second version,
+ * whose header holds no next ID, can still be read.
+ */
+public class BinaryTaskCodec implements TaskCodec {
+
+    /**
+     * The file extension of snapshots in this format.
+     */
+    public static final String EXTENSION = ".bin";
+
+    /**
+     * The magic bytes identifying a snapshot in this format.
+     */
+    private static final byte[] MAGIC = {'M', 'D', 'K', 'B'};
+
+    /**
+     * The version of the format written by this codec.
+     */
+    private static final byte VERSION = 3;
+
+    /**
+     * The first version of the format, whose task records hold no ID.
+     */
+    private static final byte VERSION_WITHOUT_IDS = 1;
+
+    /**
+     * The second version of the format, whose header holds no next ID.
+     */
+    private static final byte VERSION_WITHOUT_NEXT_ID = 2;
+
+    /**
+     * The flag set when the task is completed.
+     */
+    private static final int DONE_FLAG = 1;
+
+    /**
+     * The number of seconds in a minute.
+     */
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    /**
+     * The bits of a variable-length integer held by each byte.
+     */
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+
+    /**
+     * The bit set on every byte of a variable-length integer except the last.
+     */
+    private static final int VARINT_CONTINUATION_BIT = 0x80;
+
+    /**
+     * Encodes all the tasks into binary records.
+     *
+     * @param taskManager The {@link TaskManager} containing the tasks to encode.
+     * @return The content of the snapshot file.
+     */
+    @Override
+    public byte[] encode(TaskManager taskManager) {
+        List<Task> tasks = taskManager.getTasks();
+        Map<String, Integer> tagIndices = new HashMap<>();
+        List<String> tagTable = new ArrayList<>();
+        for (Task task : tasks) {
+            for (String tag : task.getTags()) {
+                if (!tagIndices.containsKey(tag)) {
+                    tagIndices.put(tag, tagTable.size());
+                    tagTable.add(tag);
+                }
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        writeVarInt(out, taskManager.getNextId());
+        writeVarInt(out, tagTable.size());
+        for (String tag : tagTable) {
+            writeString(out, tag);
+        }
+        writeVarInt(out, tasks.size());
+        for (Task task : tasks) {
+            encodeTask(out, task, tagIndices);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes binary records into a {@link TaskManager} backed by a {@link ColumnarTaskStore}, so
+     * that the decoded tasks are not kept as objects.
+     *
+     * @param buffer The buffer holding the content between its position and its limit.
+     * @return The {@link TaskManager} containing the decoded tasks.
+     * @throws StorageLoadException If the content is not in this format or is truncated.
+     */
+    @Override
+    public TaskManager decode(ByteBuffer buffer) throws StorageLoadException {
+        if (!buffer.hasRemaining()) {
+            return new TaskManager();
+        }
+
+        try {
+            for (byte magicByte : MAGIC) {
+                if (buffer.get() != magicByte) {
+                    throw invalidSnapshot("unknown format");
+                }
+            }
+            byte version = buffer.get();
+            if (version != VERSION && version != VERSION_WITHOUT_NEXT_ID
+                    && version != VERSION_WITHOUT_IDS) {
+                throw invalidSnapshot("unsupported version");
+            }
+            boolean hasIds = version != VERSION_WITHOUT_IDS;
+            int nextId = version == VERSION ? readVarInt(buffer) : Task.NO_ID;
+
+            int tagCount = readVarInt(buffer);
+            List<String> tagTable = new ArrayList<>(Math.min(tagCount, buffer.remaining()));
+            for (int i = 0; i < tagCount; i++) {
+                tagTable.add(readString(buffer));
+            }
+            int taskCount = readVarInt(buffer);
+            ColumnarTaskStore store =
+                    new ColumnarTaskStore(Math.min(taskCount, buffer.remaining()));
+            for (int i = 0; i < taskCount; i++) {
+                store.add(decodeTask(buffer, tagTable, hasIds, i));
+            }
+            if (buffer.hasRemaining()) {
+                throw invalidSnapshot("trailing bytes");
+            }
+            store.setNextId(nextId);
+            store.trimToSize();
+            return new TaskManager(store);
+        } catch (BufferUnderflowException e) {
+            throw invalidSnapshot("unexpected end of file");
+        }
+    }
+
+    /**
+     * Writes the binary record of a task.
+     *
+     * @param out        The stream to write to.
+     * @param task       The task to encode.
+     * @param tagIndices The indices of the tags in the tag table.
+     */
+    private static void encodeTask(ByteArrayOutputStream out, Task task,
+                                   Map<String, Integer> tagIndices) {
+        out.write(task.getSignature().charAt(0));
+        out.write(task.isMarked() ? DONE_FLAG : 0);
+        writeVarInt(out, task.getId());
+        List<String> tags = task.getTags();
+        writeVarInt(out, tags.size());
+        for (String tag : tags) {
+            writeVarInt(out, tagIndices.get(tag));
+        }
+        writeString(out, task.getName());
+        if (task instanceof Deadline deadline) {
+            writeTime(out, deadline.getDeadline());
+        } else if (task instanceof Event event) {
+            writeTime(out, event.getStartTime());
+            writeTime(out, event.getEndTime());
+        }
+    }
+
+    /**
+     * Reads the binary record of a task.
+     *
+     * @param buffer   The buffer positioned at the start of the record.
+     * @param tagTable The tags, indexed by their position in the tag table.
+     * @param hasId    Whether the record holds the ID of the task.
+     * @param position The zero-based position of the task in the snapshot, for error reporting.
+     * @return The decoded task.
+     * @throws StorageLoadException If the record is invalid.
+     */
+    private static Task decodeTask(ByteBuffer buffer, List<String> tagTable, boolean hasId,
+                                   int position) throws StorageLoadException {
+        char signature = (char) buffer.get();
+        boolean isDone = (buffer.get() & DONE_FLAG) != 0;
+        int id = hasId ? readVarInt(buffer) : Task.NO_ID;
+        int tagCount = readVarInt(buffer);
+        List<String> tags = new ArrayList<>(Math.min(tagCount, buffer.remaining()));
+        for (int i = 0; i < tagCount; i++) {
+            int tagIndex = readVarInt(buffer);
+            if (tagIndex >= tagTable.size()) {
+                throw invalidSnapshot("task " + position + " has an unknown tag");
+            }
+            tags.add(tagTable.get(tagIndex));
+        }
+        String name = readString(buffer);
+
+        Task task;
+        if (signature == ToDo.SIGNATURE.charAt(0)) {
+            task = new ToDo(name, isDone, tags);
+        } else if (signature == Deadline.SIGNATURE.charAt(0)) {
+            task = new Deadline(name, isDone, readTime(buffer, position), tags);
+        } else if (signature == Event.SIGNATURE.charAt(0)) {
+            LocalDateTime startTime = readTime(buffer, position);
+            LocalDateTime endTime = readTime(buffer, position);
+            if (endTime.isBefore(startTime)) {
+                throw invalidSnapshot("task " + position + " ends before it starts");
+            }
+            task = new Event(name, isDone, startTime, endTime, tags);
+        } else {
+            throw invalidSnapshot("task " + position + " has an unknown type");
+        }
+        if (id != Task.NO_ID) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    /**
+     * Writes an unsigned variable-length integer.
+     *
+     * @param out   The stream to write to.
+     * @param value The non-negative value to write.
+     */
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        assert value >= 0 : "Variable-length integer should not be negative";
+        while ((value & ~VARINT_PAYLOAD_MASK) != 0) {
+            out.write((value & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION_BIT);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     *
+     * @param buffer The buffer positioned at the start of the integer.
+     * @return The value read.
+     * @throws StorageLoadException If the integer does not fit in a non-negative {@code int}.
+     */
+    private static int readVarInt(ByteBuffer buffer) throws StorageLoadException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int current = buffer.get();
+            value |= (current & VARINT_PAYLOAD_MASK) << shift;
+            if ((current & VARINT_CONTINUATION_BIT) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw invalidSnapshot("integer out of range");
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string.
+     *
+     * @param out   The stream to write to.
+     * @param value The string to write.
+     */
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     *
+     * @param buffer The buffer positioned at the start of the string.
+     * @return The string read.
+     * @throws StorageLoadException If the length is invalid.
+     */
+    private static String readString(ByteBuffer buffer) throws StorageLoadException {
+        int length = readVarInt(buffer);
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a time as minutes since the epoch.
+     *
+     * @param out  The stream to write to.
+     * @param time The time to write.
+     */
+    private static void writeTime(ByteArrayOutputStream out, LocalDateTime time) {
+        long minutes = Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            out.write((int) (minutes >>> shift));
+        }
+    }
+
+    /**
+     * Reads a time stored as minutes since the epoch.
+     *
+     * @param buffer   The buffer positioned at the start of the time.
+     * @param position The zero-based position of the task in the snapshot, for error reporting.
+     * @return The time read.
+     * @throws StorageLoadException If the time is out of range.
+     */
+    private static LocalDateTime readTime(ByteBuffer buffer, int position)
+            throws StorageLoadException {
+        long minutes = buffer.getLong();
+        try {
+            return LocalDateTime.ofEpochSecond(Math.multiplyExact(minutes, SECONDS_PER_MINUTE), 0,
+                    ZoneOffset.UTC);
+        } catch (ArithmeticException | DateTimeException e) {
+            throw invalidSnapshot("task " + position + " has an invalid time");
+        }
+    }
+
+    /**
+     * Creates the exception reporting an invalid binary snapshot.
+     *
+     * @param reason The reason the snapshot is invalid.
+     * @return The exception to throw.
+     */
+    private static StorageLoadException invalidSnapshot(String reason) {
+        return new StorageLoadException(String.format(Messages.INVALID_BINARY_SNAPSHOT, reason));
+    }
+}
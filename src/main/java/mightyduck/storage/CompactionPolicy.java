@@ -0,0 +1,36 @@
+package mightyduck.storage;
+
+import mightyduck.utils.Config;
+
+/**
+ * Represents the thresholds at which the journal of a {@link Storage} is compacted into a fresh
+ * snapshot. Compaction is due once the journal reaches the maximum size, or once it reaches the
+ * minimum size and is large relative to the snapshot.
+ *
+ * @param minJournalBytes The size, in bytes, below which the journal is never compacted.
+ * @param maxJournalBytes The size, in bytes, at which the journal is always compacted.
+ * @param journalRatio    The ratio of the journal size to the snapshot size at which the journal is
+ *                        compacted, once it reaches the minimum size.
+ */
+public record CompactionPolicy(long minJournalBytes, long maxJournalBytes, double journalRatio) {
+
+    /**
+     * The policy used by default, as configured in {@link Config}.
+     */
+    public static final CompactionPolicy DEFAULT = new CompactionPolicy(
+            Config.COMPACTION_MIN_JOURNAL_BYTES, Config.COMPACTION_MAX_JOURNAL_BYTES,
+            Config.COMPACTION_JOURNAL_RATIO);
+
+    /**
+     * Checks whether a journal of the specified size should be compacted into a snapshot of the
+     * specified size.
+     *
+     * @param journalBytes  The size of the journal, in bytes.
+     * @param snapshotBytes The size of the snapshot, in bytes.
+     * @return {@code true} if the journal should be compacted, {@code false} otherwise.
+     */
+    public boolean isDue(long journalBytes, long snapshotBytes) {
+        return journalBytes >= maxJournalBytes
+                || journalBytes >= minJournalBytes && journalBytes >= journalRatio * snapshotBytes;
+    }
+}
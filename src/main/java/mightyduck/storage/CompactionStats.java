@@ -0,0 +1,46 @@
+package mightyduck.storage;
+
+/**
+ * Represents the counters of the compactions run by a {@link Storage}. Instances are immutable, so
+ * they can be read from any thread while compactions are running.
+ *
+ * @param compactionCount    The number of successful compactions.
+ * @param failureCount       The number of failed compactions.
+ * @param totalDurationNanos The total duration of the successful compactions, in nanoseconds.
+ * @param lastDurationNanos  The duration of the last successful compaction, in nanoseconds.
+ * @param bytesReclaimed     The total number of bytes freed on the disk by the successful
+ *                           compactions. A compaction which grows the files, e.g. after a change
+ *                           of format, counts as freeing no bytes.
+ */
+public record CompactionStats(long compactionCount, long failureCount, long totalDurationNanos,
+                              long lastDurationNanos, long bytesReclaimed) {
+
+    /**
+     * The counters before any compaction.
+     */
+    public static final CompactionStats EMPTY = new CompactionStats(0, 0, 0, 0, 0);
+
+    /**
+     * Returns the counters updated with a successful compaction.
+     *
+     * @param durationNanos The duration of the compaction, in nanoseconds.
+     * @param oldBytes      The size of the files before the compaction, in bytes.
+     * @param newBytes      The size of the files after the compaction, in bytes.
+     * @return The updated counters.
+     */
+    public CompactionStats withCompaction(long durationNanos, long oldBytes, long newBytes) {
+        return new CompactionStats(compactionCount + 1, failureCount,
+                totalDurationNanos + durationNanos, durationNanos,
+                bytesReclaimed + Math.max(0, oldBytes - newBytes));
+    }
+
+    /**
+     * Returns the counters updated with a failed compaction.
+     *
+     * @return The updated counters.
+     */
+    public CompactionStats withFailure() {
+        return new CompactionStats(compactionCount, failureCount + 1, totalDurationNanos,
+                lastDurationNanos, bytesReclaimed);
+    }
+}
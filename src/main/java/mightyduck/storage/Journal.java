@@ -0,0 +1,282 @@
+package mightyduck.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import mightyduck.exception.InvalidValueException;
+import mightyduck.exception.StorageLoadException;
+import mightyduck.exception.StorageWriteException;
+import mightyduck.task.IndexSelection;
+import mightyduck.task.TaskChange;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * Represents an append-only log of the {@link TaskChange}s applied to a {@link TaskManager} since
+ * its snapshot was last written. The first line is a header {@code #|<checksum>} holding the
+ * checksum of the snapshot the journal applies to, so that a journal left behind by an interrupted
+ * compaction or a manual edit of the snapshot is not replayed on the wrong snapshot. Each change is
+ * then stored as one line in one of the formats:
+ * <ul>
+ *     <li>{@code +|<encoded task>} for a task appended to the list,</li>
+ *     <li>{@code ~|<index>|<encoded task>} for a task modified in place,</li>
+ *     <li>{@code -|<index>} for a task removed from the list.</li>
+ * </ul>
+ */
+public class Journal {
+
+    /**
+     * The marker of a record for an appended task.
+     */
+    public static final String ADD_MARKER = "+";
+
+    /**
+     * The marker of a record for a task modified in place.
+     */
+    public static final String UPDATE_MARKER = "~";
+
+    /**
+     * The marker of a record for a removed task.
+     */
+    public static final String DELETE_MARKER = "-";
+
+    /**
+     * The marker of the header holding the checksum of the snapshot.
+     */
+    public static final String HEADER_MARKER = "#";
+
+    /**
+     * The separator between the fields of a record.
+     */
+    private static final String SEPARATOR = "|";
+
+    /**
+     * The path to the journal file.
+     */
+    public final Path path;
+
+    /**
+     * Constructs a new {@code Journal} backed by the file at the specified path.
+     *
+     * @param path The path to the journal file.
+     */
+    public Journal(Path path) {
+        assert path != null : "Journal path should not be null";
+        this.path = path;
+    }
+
+    /**
+     * Encodes the specified changes into journal records.
+     *
+     * @param changes The changes to encode, in the order they were applied.
+     * @return The journal records representing the changes, in the same order.
+     */
+    public static List<String> encode(List<TaskChange> changes) {
+        List<String> records = new ArrayList<>(changes.size());
+        for (TaskChange change : changes) {
+            records.add(encodeChange(change));
+        }
+        return records;
+    }
+
+    /**
+     * Appends the specified records to the end of the journal file. If the journal file does not
+     * exist or applies to another snapshot, it is replaced by a new journal holding only the
+     * records.
+     *
+     * @param records          The journal records to append.
+     * @param snapshotChecksum The checksum of the snapshot the records apply to.
+     * @throws StorageWriteException If an error occurs while writing to the file.
+     */
+    public void append(List<String> records, long snapshotChecksum) throws StorageWriteException {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            if (appliesTo(snapshotChecksum)) {
+                Files.write(path, records, StandardOpenOption.APPEND);
+            } else {
+                List<String> lines = new ArrayList<>(records.size() + 1);
+                lines.add(HEADER_MARKER + SEPARATOR + snapshotChecksum);
+                lines.addAll(records);
+                Files.write(path, lines);
+            }
+        } catch (IOException | StorageLoadException e) {
+            throw new StorageWriteException(String.format(Messages.WRITE_ERROR, path));
+        }
+    }
+
+    /**
+     * Applies every change recorded in the journal file to the specified {@link TaskManager}, in
+     * order. Nothing is applied if the journal file does not exist or applies to another snapshot.
+     * The replayed changes are not left pending in the {@link TaskManager}.
+     *
+     * @param taskManager      The {@link TaskManager} holding the tasks of the latest snapshot.
+     * @param snapshotChecksum The checksum of the latest snapshot.
+     * @throws StorageLoadException If an error occurs while reading the file or a record is
+     *                              invalid.
+     */
+    public void replay(TaskManager taskManager, long snapshotChecksum)
+            throws StorageLoadException {
+        if (!exists()) {
+            return;
+        }
+
+        List<String> records;
+        try {
+            records = Files.readAllLines(path);
+        } catch (IOException e) {
+            throw new StorageLoadException(String.format(Messages.LOAD_ERROR, path));
+        }
+        if (!records.isEmpty() && isHeader(records.get(0))) {
+            if (parseHeader(records.get(0)) != snapshotChecksum) {
+                return;
+            }
+            records = records.subList(1, records.size());
+        }
+        for (String record : records) {
+            applyRecord(record, taskManager);
+        }
+        taskManager.drainChanges();
+    }
+
+    /**
+     * Returns the size of the journal file.
+     *
+     * @return The size of the journal file in bytes, or 0 if it does not exist or cannot be read.
+     */
+    public long size() {
+        try {
+            return exists() ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Checks whether the journal file exists.
+     *
+     * @return {@code true} if the journal file exists, {@code false} otherwise.
+     */
+    public boolean exists() {
+        return Files.isRegularFile(path);
+    }
+
+    /**
+     * Deletes the journal file if it exists.
+     *
+     * @throws StorageWriteException If an error occurs while deleting the file.
+     */
+    public void delete() throws StorageWriteException {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new StorageWriteException(String.format(Messages.WRITE_ERROR, path));
+        }
+    }
+
+    /**
+     * Checks whether the journal file exists and applies to the snapshot with the specified
+     * checksum. A journal written before headers were introduced applies to any snapshot.
+     *
+     * @param snapshotChecksum The checksum of the snapshot.
+     * @return {@code true} if records can be appended to the journal file, {@code false} if it
+     *         must be replaced.
+     * @throws IOException          If an error occurs while reading the file.
+     * @throws StorageLoadException If the header is invalid.
+     */
+    private boolean appliesTo(long snapshotChecksum) throws IOException, StorageLoadException {
+        if (!exists()) {
+            return false;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String firstLine = reader.readLine();
+            return firstLine != null
+                    && (!isHeader(firstLine) || parseHeader(firstLine) == snapshotChecksum);
+        }
+    }
+
+    /**
+     * Checks whether a line of the journal file is a header.
+     *
+     * @param line The line of the journal file.
+     * @return {@code true} if the line is a header, {@code false} otherwise.
+     */
+    private static boolean isHeader(String line) {
+        return line.startsWith(HEADER_MARKER + SEPARATOR);
+    }
+
+    /**
+     * Parses the checksum of the snapshot held by a header.
+     *
+     * @param header The header line.
+     * @return The checksum of the snapshot.
+     * @throws StorageLoadException If the header is invalid.
+     */
+    private static long parseHeader(String header) throws StorageLoadException {
+        try {
+            return Long.parseLong(header.substring(HEADER_MARKER.length() + SEPARATOR.length()));
+        } catch (NumberFormatException e) {
+            throw new StorageLoadException(String.format(Messages.INVALID_JOURNAL_RECORD, header));
+        }
+    }
+
+    /**
+     * Encodes a change into a journal record.
+     *
+     * @param change The change to encode.
+     * @return The journal record representing the change.
+     */
+    private static String encodeChange(TaskChange change) {
+        return switch (change.type()) {
+        case ADD -> ADD_MARKER + SEPARATOR + change.task().encode();
+        case UPDATE -> UPDATE_MARKER + SEPARATOR + change.index() + SEPARATOR
+                + change.task().encode();
+        case DELETE -> DELETE_MARKER + SEPARATOR + change.index();
+        };
+    }
+
+    /**
+     * Applies a single journal record to the specified {@link TaskManager}.
+     *
+     * @param record      The journal record.
+     * @param taskManager The {@link TaskManager} to apply the record to.
+     * @throws StorageLoadException If the record is invalid.
+     */
+    private static void applyRecord(String record, TaskManager taskManager)
+            throws StorageLoadException {
+        int markerEnd = record.indexOf(SEPARATOR);
+        if (markerEnd < 0) {
+            throw new StorageLoadException(String.format(Messages.INVALID_JOURNAL_RECORD, record));
+        }
+
+        try {
+            switch (record.substring(0, markerEnd)) {
+            case ADD_MARKER -> taskManager.addTask(TaskDecoder.decodeTask(
+                    record.substring(markerEnd + 1)));
+            case UPDATE_MARKER -> {
+                int indexEnd = record.indexOf(SEPARATOR, markerEnd + 1);
+                if (indexEnd < 0) {
+                    throw new StorageLoadException(
+                            String.format(Messages.INVALID_JOURNAL_RECORD, record));
+                }
+                taskManager.replaceTask(Integer.parseInt(record, markerEnd + 1, indexEnd, 10),
+                        TaskDecoder.decodeTask(record.substring(indexEnd + 1)));
+            }
+            case DELETE_MARKER -> taskManager.deleteTasks(IndexSelection.of(
+                    Integer.parseInt(record, markerEnd + 1, record.length(), 10)));
+            default -> throw new StorageLoadException(
+                    String.format(Messages.INVALID_JOURNAL_RECORD, record));
+            }
+        } catch (NumberFormatException | InvalidValueException e) {
+            throw new StorageLoadException(String.format(Messages.INVALID_JOURNAL_RECORD, record));
+        }
+    }
+}
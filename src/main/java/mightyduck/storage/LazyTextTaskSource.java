@@ -0,0 +1,186 @@
+package mightyduck.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import mightyduck.exception.StorageLoadException;
+import mightyduck.task.Task;
+import mightyduck.task.TaskSource;
+
+/**
+ * Represents the task lines of a text snapshot held in a buffer, of which only the offsets and the
+ * task IDs are indexed up front. Each line is decoded by {@link TaskDecoder} when its task is first
+ * accessed.
+ */
+class LazyTextTaskSource implements TaskSource {
+
+    /**
+     * The initial capacity of the arrays of line offsets.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The character separating the fields of an encoded task.
+     */
+    private static final byte FIELD_SEPARATOR = '|';
+
+    /**
+     * The number of field separators of a line holding an ID in its last field.
+     */
+    private static final int ID_SEPARATOR_COUNT = 5;
+
+    /**
+     * The buffer holding the content of the snapshot, which is only read with absolute indices.
+     */
+    private final ByteBuffer content;
+
+    /**
+     * The ID to assign to the next added task, or {@link Task#NO_ID} if the snapshot has no next
+     * ID header.
+     */
+    private final int nextId;
+
+    /**
+     * The index of the first byte of each line.
+     */
+    private int[] lineStarts = new int[INITIAL_CAPACITY];
+
+    /**
+     * The index after the last byte of each line, excluding the line terminator.
+     */
+    private int[] lineEnds = new int[INITIAL_CAPACITY];
+
+    /**
+     * The ID stored in each line, or {@link Task#NO_ID} if the line holds no valid ID.
+     */
+    private int[] ids = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of lines.
+     */
+    private int size;
+
+    /**
+     * Constructs a new {@code LazyTextTaskSource} by indexing the lines of the specified content.
+     * Lines may be terminated by either {@code "\n"} or {@code "\r\n"}, and the last line may be
+     * unterminated. The next ID header, if any, is parsed up front.
+     *
+     * @param buffer The buffer holding the content between its position and its limit, which must
+     *               not change afterwards.
+     * @throws StorageLoadException If the next ID header is invalid.
+     */
+    LazyTextTaskSource(ByteBuffer buffer) throws StorageLoadException {
+        content = buffer.asReadOnlyBuffer();
+        int end = content.limit();
+        nextId = TaskDecoder.parseNextIdHeader(content, content.position(), end);
+        int lineStart = TaskDecoder.skipNextIdHeader(content, content.position(), end);
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            int separatorCount = 0;
+            int lastSeparator = lineStart;
+            while (lineEnd < end && content.get(lineEnd) != '\n') {
+                if (content.get(lineEnd) == FIELD_SEPARATOR) {
+                    separatorCount++;
+                    lastSeparator = lineEnd;
+                }
+                lineEnd++;
+            }
+            int nextLineStart = lineEnd + 1;
+            if (lineEnd > lineStart && content.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            int id = separatorCount == ID_SEPARATOR_COUNT
+                    ? parseId(content, lastSeparator + 1, lineEnd)
+                    : Task.NO_ID;
+            addLine(lineStart, lineEnd, id);
+            lineStart = nextLineStart;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getNextId() {
+        return nextId;
+    }
+
+    @Override
+    public Task decode(int index) throws StorageLoadException {
+        return TaskDecoder.decodeTask(content, lineStarts[index], lineEnds[index]);
+    }
+
+    @Override
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Returns the first byte of the line, which holds the signature of a valid task, without
+     * decoding the rest of the line.
+     *
+     * @param index The index of the task record.
+     * @return The first character of the signature of the task.
+     * @throws StorageLoadException If the line is empty.
+     */
+    @Override
+    public char getSignature(int index) throws StorageLoadException {
+        if (lineStarts[index] == lineEnds[index]) {
+            return decode(index).getSignature().charAt(0);
+        }
+        return (char) content.get(lineStarts[index]);
+    }
+
+    @Override
+    public String encode(int index) {
+        int lineStart = lineStarts[index];
+        byte[] line = new byte[lineEnds[index] - lineStart];
+        content.get(lineStart, line);
+        return new String(line, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the ID field of a line.
+     *
+     * @param content The buffer holding the content of the snapshot.
+     * @param from    The index of the first byte of the field.
+     * @param to      The index after the last byte of the field.
+     * @return The ID, or {@link Task#NO_ID} if the field is not a positive decimal number.
+     */
+    private static int parseId(ByteBuffer content, int from, int to) {
+        long id = Task.NO_ID;
+        for (int i = from; i < to; i++) {
+            int digit = content.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Task.NO_ID;
+            }
+            id = id * 10 + digit;
+            if (id > Integer.MAX_VALUE) {
+                return Task.NO_ID;
+            }
+        }
+        return (int) id;
+    }
+
+    /**
+     * Records the offsets and the ID of a line, growing the arrays if needed.
+     *
+     * @param lineStart The index of the first byte of the line.
+     * @param lineEnd   The index after the last byte of the line.
+     * @param id        The ID stored in the line.
+     */
+    private void addLine(int lineStart, int lineEnd, int id) {
+        if (size == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, size * 2);
+            lineEnds = Arrays.copyOf(lineEnds, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        lineStarts[size] = lineStart;
+        lineEnds[size] = lineEnd;
+        ids[size] = id;
+        size++;
+    }
+}
@@ -0,0 +1,200 @@
+package mightyduck.storage;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import mightyduck.exception.StorageWriteException;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * Persists the changes made to a {@link TaskManager} in the background, so that disk latency does
+ * not stall the thread running the commands.
+ *
+ * <p>Changes are encoded on the calling thread, then written by a dedicated thread at most a
+ * configurable delay after the first unsaved change. Changes submitted within that delay are
+ * coalesced into a single write. A failed background write is reported by the next call to
+ * {@link #submit(TaskManager)}, {@link #flush()} or {@link #checkFailure()}.</p>
+ *
+ * <p>When a write leaves the journal past its compaction thresholds, the same thread then compacts
+ * the journal into a fresh snapshot. A failed compaction is only counted in the
+ * {@link CompactionStats}, as the journal still holds every change.</p>
+ */
+public class PersistenceService {
+
+    /**
+     * The name of the thread writing to the disk.
+     */
+    private static final String THREAD_NAME = "mightyduck-persistence";
+
+    /**
+     * The storage that writes the changes to the disk.
+     */
+    private final Storage storage;
+
+    /**
+     * The maximum delay, in milliseconds, between the first unsaved change and its write.
+     */
+    private final long maxDelayMillis;
+
+    /**
+     * The executor running the writes on a single background thread.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * The changes submitted but not yet written, or {@code null} if there are none.
+     */
+    private WriteBatch pendingBatch;
+
+    /**
+     * The scheduled write of the pending changes, or {@code null} if none is scheduled.
+     */
+    private ScheduledFuture<?> scheduledWrite;
+
+    /**
+     * The failure of the last background write, or {@code null} if every write succeeded.
+     */
+    private volatile StorageWriteException failure;
+
+    /**
+     * Constructs a new {@code PersistenceService} writing through the specified {@link Storage}.
+     *
+     * @param storage        The storage that writes the changes to the disk.
+     * @param maxDelayMillis The maximum delay, in milliseconds, between the first unsaved change and
+     *                       its write.
+     */
+    public PersistenceService(Storage storage, long maxDelayMillis) {
+        assert storage != null : "Storage should not be null";
+        assert maxDelayMillis >= 0 : "Maximum delay should not be negative";
+        this.storage = storage;
+        this.maxDelayMillis = maxDelayMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Encodes the changes made to the provided {@link TaskManager} since the last submission and
+     * schedules them to be written. This method must be called from the thread modifying the
+     * {@link TaskManager}.
+     *
+     * @param taskManager The {@link TaskManager} containing tasks to be saved.
+     * @throws StorageWriteException If a previous background write failed.
+     */
+    public void submit(TaskManager taskManager) throws StorageWriteException {
+        checkFailure();
+        WriteBatch batch = storage.prepare(taskManager);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (pendingBatch == null) {
+                pendingBatch = batch;
+            } else {
+                pendingBatch.merge(batch);
+            }
+            if (scheduledWrite == null) {
+                scheduledWrite = executor.schedule(this::writePending, maxDelayMillis,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Writes all submitted changes immediately and waits for the write to complete.
+     *
+     * @throws StorageWriteException If the write, or a previous background write, failed.
+     */
+    public void flush() throws StorageWriteException {
+        try {
+            executor.submit(this::writePending).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageWriteException(String.format(Messages.WRITE_ERROR, storage.path));
+        } catch (ExecutionException e) {
+            throw new StorageWriteException(String.format(Messages.WRITE_ERROR, storage.path));
+        }
+        checkFailure();
+    }
+
+    /**
+     * Writes all submitted changes, then stops the background thread.
+     *
+     * @throws StorageWriteException If the write, or a previous background write, failed.
+     */
+    public void shutdown() throws StorageWriteException {
+        try {
+            flush();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Checks whether a background write failed.
+     *
+     * @throws StorageWriteException If a background write failed.
+     */
+    public void checkFailure() throws StorageWriteException {
+        StorageWriteException currentFailure = failure;
+        if (currentFailure != null) {
+            throw currentFailure;
+        }
+    }
+
+    /**
+     * Returns the counters of the compactions run by the background thread so far.
+     *
+     * @return The {@link CompactionStats} of the storage.
+     */
+    public CompactionStats getCompactionStats() {
+        return storage.getCompactionStats();
+    }
+
+    /**
+     * Writes the pending changes, if any, and records the failure of the write.
+     */
+    private void writePending() {
+        WriteBatch batch;
+        synchronized (this) {
+            batch = pendingBatch;
+            pendingBatch = null;
+            if (scheduledWrite != null) {
+                scheduledWrite.cancel(false);
+                scheduledWrite = null;
+            }
+        }
+        if (batch == null || failure != null) {
+            return;
+        }
+
+        try {
+            storage.write(batch);
+        } catch (StorageWriteException e) {
+            failure = e;
+            return;
+        }
+        compactIfDue();
+    }
+
+    /**
+     * Compacts the journal into a fresh snapshot if it has grown past the compaction thresholds.
+     */
+    private void compactIfDue() {
+        if (!storage.isCompactionDue()) {
+            return;
+        }
+        try {
+            storage.compact();
+        } catch (StorageWriteException e) {
+            // The journal still holds every change, and the failure is counted in the stats.
+        }
+    }
+}
@@ -1,75 +1,452 @@
 package mightyduck.storage;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.zip.CRC32;
 
 import mightyduck.exception.InvalidStoragePathException;
 import mightyduck.exception.StorageLoadException;
 import mightyduck.exception.StorageWriteException;
+import mightyduck.exception.TaskDecodeException;
+import mightyduck.task.TaskChange;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Messages;
 
 /**
  * Represents a storage system that handles reading and writing task data to and from a file. The
- * file must have a ".txt" extension.
+ * file must have a ".txt" extension, for the human-readable {@link TextTaskCodec} format, or a
+ * ".bin" extension, for the compact {@link BinaryTaskCodec} format.
+ *
+ * <p>The storage file holds a snapshot of all tasks. In journaled mode, saving only appends the
+ * changes made since the last save to a {@link Journal} next to the snapshot, so its cost is
+ * proportional to the changes rather than to the number of tasks. Loading always replays the
+ * journal, if any, on top of the snapshot. Once the journal grows past the thresholds of its
+ * {@link CompactionPolicy}, {@link #compact()} folds it into a fresh snapshot.</p>
+ *
+ * <p>Snapshots are decoded up front from a memory mapping of the file, which is no longer used
+ * once the tasks are decoded. A {@link TaskManager} loaded lazily keeps reading its tasks from the
+ * snapshot for its whole lifetime, so the snapshot is then read into a buffer outside the heap
+ * instead: no mapping is kept alive, as some platforms refuse to replace a mapped file. A new
+ * snapshot is always written to a temporary file which then replaces the old one.</p>
  */
 public class Storage {
 
+    /**
+     * The extension appended to the storage file name to obtain the journal file name.
+     */
+    public static final String JOURNAL_EXTENSION = ".journal";
+
+    /**
+     * The extension appended to the storage file name to obtain the name of the temporary file a
+     * snapshot is written to before replacing the storage file.
+     */
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
     /**
      * The path to the storage file where task data is saved and loaded from.
      */
     public final Path path;
 
+    /**
+     * The codec of the snapshot format, selected by the extension of the storage file.
+     */
+    private final TaskCodec codec;
+
+    /**
+     * The journal holding the changes made since the snapshot was last written.
+     */
+    private final Journal journal;
+
+    /**
+     * Whether saving appends changes to the journal instead of rewriting the snapshot.
+     */
+    private final boolean isJournaled;
+
+    /**
+     * The thresholds at which the journal is compacted into a fresh snapshot.
+     */
+    private final CompactionPolicy compactionPolicy;
+
+    /**
+     * The checksum of the snapshot, or {@code null} if it has not been computed yet. It is
+     * volatile, as loading, writing and compacting may run on different threads.
+     */
+    private volatile Long snapshotChecksum;
+
+    /**
+     * The counters of the compactions run so far.
+     */
+    private volatile CompactionStats compactionStats = CompactionStats.EMPTY;
+
     /**
      * Constructs a new {@code Storage} object with the specified file path. The file path must have
-     * a ".txt" extension.
+     * a ".txt" or ".bin" extension. Every save rewrites the whole snapshot.
      *
      * @param filePath The path to the storage file.
-     * @throws InvalidStoragePathException If the file path does not end with ".txt".
+     * @throws InvalidStoragePathException If the file path does not end with ".txt" or ".bin".
      */
     public Storage(String filePath) throws InvalidStoragePathException {
+        this(filePath, false);
+    }
+
+    /**
+     * Constructs a new {@code Storage} object with the specified file path and saving mode. The
+     * file path must have a ".txt" or ".bin" extension.
+     *
+     * @param filePath    The path to the storage file.
+     * @param isJournaled Whether saving appends changes to the journal instead of rewriting the
+     *                    snapshot.
+     * @throws InvalidStoragePathException If the file path does not end with ".txt" or ".bin".
+     */
+    public Storage(String filePath, boolean isJournaled) throws InvalidStoragePathException {
+        this(filePath, isJournaled, CompactionPolicy.DEFAULT);
+    }
+
+    /**
+     * Constructs a new {@code Storage} object with the specified file path, saving mode and
+     * compaction thresholds. The file path must have a ".txt" or ".bin" extension.
+     *
+     * @param filePath         The path to the storage file.
+     * @param isJournaled      Whether saving appends changes to the journal instead of rewriting
+     *                         the snapshot.
+     * @param compactionPolicy The thresholds at which the journal is compacted into a fresh
+     *                         snapshot.
+     * @throws InvalidStoragePathException If the file path does not end with ".txt" or ".bin".
+     */
+    public Storage(String filePath, boolean isJournaled, CompactionPolicy compactionPolicy)
+            throws InvalidStoragePathException {
         assert filePath != null : "File path should not be null";
+        assert compactionPolicy != null : "Compaction policy should not be null";
         path = Paths.get(filePath);
-        if (!path.toString().endsWith(".txt")) {
-            throw new InvalidStoragePathException(Messages.INVALID_STORAGE_PATH);
-        }
+        codec = selectCodec(path);
+        journal = new Journal(path.resolveSibling(path.getFileName() + JOURNAL_EXTENSION));
+        this.isJournaled = isJournaled;
+        this.compactionPolicy = compactionPolicy;
     }
 
     /**
-     * Saves the tasks from the provided {@link TaskManager} to the storage.
+     * Saves the tasks from the provided {@link TaskManager} to the storage. Nothing is written if
+     * no changes were made since the last save. In journaled mode, only the changes made since the
+     * last save are appended to the journal. Otherwise, the whole snapshot is rewritten and the
+     * journal is discarded.
      *
      * @param taskManager The {@link TaskManager} containing tasks to be saved.
      * @throws StorageWriteException If an error occurs while writing to the file.
      */
     public void save(TaskManager taskManager) throws StorageWriteException {
+        write(prepare(taskManager));
+    }
+
+    /**
+     * Encodes the changes made to the provided {@link TaskManager} since the last save into a
+     * {@link WriteBatch}, without touching the disk. The batch is empty if no changes were made. In
+     * journaled mode, it holds the journal records of the changes. Otherwise, it holds a read-only
+     * snapshot of the tasks, taken in constant time and only encoded when the batch is written, so
+     * that encoding does not hold up the commands changing the tasks meanwhile.
+     *
+     * @param taskManager The {@link TaskManager} containing tasks to be saved.
+     * @return The {@link WriteBatch} to pass to {@link #write(WriteBatch)}.
+     */
+    public WriteBatch prepare(TaskManager taskManager) {
+        List<TaskChange> changes = taskManager.drainChanges();
+        if (changes.isEmpty()) {
+            return WriteBatch.empty();
+        }
+        if (isJournaled) {
+            return WriteBatch.ofJournalRecords(Journal.encode(changes));
+        }
+
+        TaskManager snapshot = taskManager.snapshot();
+        return WriteBatch.ofSnapshot(() -> codec.encode(snapshot));
+    }
+
+    /**
+     * Rewrites the whole snapshot with the tasks of the provided {@link TaskManager} and discards
+     * the journal, regardless of the saving mode. Any pending changes of the {@link TaskManager}
+     * are discarded, as the snapshot already contains them.
+     *
+     * @param taskManager The {@link TaskManager} containing tasks to be saved.
+     * @throws StorageWriteException If an error occurs while writing to the file.
+     */
+    public void saveSnapshot(TaskManager taskManager) throws StorageWriteException {
+        taskManager.drainChanges();
+        write(WriteBatch.ofSnapshot(() -> codec.encode(taskManager)));
+    }
+
+    /**
+     * Writes a batch prepared by {@link #prepare(TaskManager)} to the disk. If the batch holds a
+     * snapshot, the snapshot is rewritten and the journal discarded before any journal record is
+     * appended. This method only reads the read-only snapshot of the batch, if any, so it may be
+     * called from any thread.
+     *
+     * @param batch The {@link WriteBatch} to write.
+     * @throws StorageWriteException If an error occurs while encoding the snapshot or writing to
+     *                               the file.
+     */
+    public void write(WriteBatch batch) throws StorageWriteException {
+        byte[] snapshot;
         try {
-            List<String> encodedTasks = taskManager.encodeTasks();
-            assert encodedTasks != null : "Encoded task list should not be null";
-            Files.createDirectories(path.getParent());
-            Files.write(path, encodedTasks);
-        } catch (IOException ioe) {
+            snapshot = batch.encodeSnapshot();
+        } catch (TaskDecodeException e) {
             throw new StorageWriteException(String.format(Messages.WRITE_ERROR, path));
         }
+        if (snapshot != null) {
+            writeSnapshotAtomically(snapshot);
+            journal.delete();
+        }
+        if (!batch.getJournalRecords().isEmpty()) {
+            journal.append(batch.getJournalRecords(), getSnapshotChecksum());
+        }
+    }
+
+    /**
+     * Checks whether the journal has grown past the thresholds of the compaction policy.
+     *
+     * @return {@code true} if {@link #compact()} should be run, {@code false} otherwise.
+     */
+    public boolean isCompactionDue() {
+        return isJournaled && compactionPolicy.isDue(journal.size(), getSnapshotSize());
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot, then discards the journal. The snapshot is rebuilt
+     * from the files alone, loaded lazily so that records untouched by the journal are copied
+     * without being decoded. This method does not access the {@link TaskManager} in use, so it
+     * may be called from any thread, as long as it is not run concurrently with
+     * {@link #write(WriteBatch)}. The new snapshot is written to a temporary file which then
+     * atomically replaces the old one, so that an interruption leaves either the old snapshot and
+     * its journal, or the new snapshot and a journal that no longer applies to it.
+     *
+     * @throws StorageWriteException If an error occurs while reading or writing the files.
+     */
+    public void compact() throws StorageWriteException {
+        long startNanos = System.nanoTime();
+        long oldBytes = getSnapshotSize() + journal.size();
+        try {
+            byte[] content = codec.encode(loadLazily());
+            writeSnapshotAtomically(content);
+            journal.delete();
+            compactionStats = compactionStats.withCompaction(System.nanoTime() - startNanos,
+                    oldBytes, content.length);
+        } catch (StorageLoadException | StorageWriteException | TaskDecodeException e) {
+            compactionStats = compactionStats.withFailure();
+            throw new StorageWriteException(String.format(Messages.COMPACTION_ERROR, path));
+        }
+    }
+
+    /**
+     * Returns the counters of the compactions run so far.
+     *
+     * @return The {@link CompactionStats} of this storage.
+     */
+    public CompactionStats getCompactionStats() {
+        return compactionStats;
     }
 
     /**
-     * Loads tasks from the storage file into a {@link TaskManager}. If the file does not exist or
-     * is not a regular file, an empty {@link TaskManager} is returned.
+     * Loads tasks from the storage file into a {@link TaskManager}, then replays the journal on top
+     * of them. If the file does not exist or is not a regular file, the journal is replayed on an
+     * empty {@link TaskManager}.
      *
      * @return The {@link TaskManager} containing the loaded tasks.
      * @throws StorageLoadException If an error occurs while loading the file.
      */
     public TaskManager load() throws StorageLoadException {
+        TaskManager taskManager = loadSnapshot();
+        assert snapshotChecksum != null : "Loading the snapshot should compute its checksum";
+        journal.replay(taskManager, snapshotChecksum);
+        return taskManager;
+    }
+
+    /**
+     * Loads tasks from the storage file like {@link #load()}, but only indexes the records of the
+     * snapshot, if its format allows it, so that each task is decoded on first access. The file is
+     * read into a buffer outside the heap, rather than mapped, so that the snapshot can still be
+     * replaced while the tasks are in use. Startup then costs little more than reading the file,
+     * and tasks which are never accessed are saved back exactly as they were read. A record which
+     * turns out to be invalid raises a {@link TaskDecodeException} when its task is first
+     * accessed.
+     *
+     * @return The {@link TaskManager} containing the loaded tasks.
+     * @throws StorageLoadException If an error occurs while loading the file.
+     */
+    public TaskManager loadLazily() throws StorageLoadException {
+        ByteBuffer content = readSnapshot();
+        snapshotChecksum = checksum(content);
+        TaskManager taskManager = codec.decodeLazily(content);
+        try {
+            journal.replay(taskManager, snapshotChecksum);
+        } catch (TaskDecodeException e) {
+            throw new StorageLoadException(e.getMessage());
+        }
+        return taskManager;
+    }
+
+    /**
+     * Selects the codec of the snapshot format from the extension of the storage file.
+     *
+     * @param path The path to the storage file.
+     * @return The codec of the snapshot format.
+     * @throws InvalidStoragePathException If the file path does not end with ".txt" or ".bin".
+     */
+    private static TaskCodec selectCodec(Path path) throws InvalidStoragePathException {
+        String fileName = path.toString();
+        if (fileName.endsWith(TextTaskCodec.EXTENSION)) {
+            return new TextTaskCodec();
+        } else if (fileName.endsWith(BinaryTaskCodec.EXTENSION)) {
+            return new BinaryTaskCodec();
+        }
+        throw new InvalidStoragePathException(Messages.INVALID_STORAGE_PATH);
+    }
+
+    /**
+     * Rewrites the snapshot with the specified content by writing it to a temporary file next to
+     * the snapshot, then moving it over the snapshot, atomically if the file system supports it.
+     * A snapshot which is not writable is not replaced.
+     *
+     * @param content The content of the snapshot, as encoded by the codec.
+     * @throws StorageWriteException If the snapshot is not writable or an error occurs while
+     *                               writing to the file.
+     */
+    private void writeSnapshotAtomically(byte[] content) throws StorageWriteException {
+        Path temporaryPath = path.resolveSibling(path.getFileName() + TEMPORARY_EXTENSION);
+        if (Files.exists(path) && !Files.isWritable(path)) {
+            throw new StorageWriteException(String.format(Messages.WRITE_ERROR, path));
+        }
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.write(temporaryPath, content);
+            try {
+                Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            snapshotChecksum = checksum(ByteBuffer.wrap(content));
+        } catch (IOException ioe) {
+            throw new StorageWriteException(String.format(Messages.WRITE_ERROR, path));
+        }
+    }
+
+    /**
+     * Returns the size of the snapshot.
+     *
+     * @return The size of the snapshot in bytes, or 0 if it does not exist or cannot be read.
+     */
+    private long getSnapshotSize() {
+        try {
+            return Files.isRegularFile(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the checksum of the snapshot, reading the snapshot if it has not been computed yet.
+     * A missing snapshot has the checksum of an empty one.
+     *
+     * @return The checksum of the snapshot.
+     * @throws StorageWriteException If an error occurs while reading the file.
+     */
+    private long getSnapshotChecksum() throws StorageWriteException {
+        if (snapshotChecksum == null) {
+            try {
+                snapshotChecksum = checksum(ByteBuffer.wrap(Files.isRegularFile(path)
+                        ? Files.readAllBytes(path) : new byte[0]));
+            } catch (IOException e) {
+                throw new StorageWriteException(String.format(Messages.WRITE_ERROR, path));
+            }
+        }
+        return snapshotChecksum;
+    }
+
+    /**
+     * Computes the checksum of the content of a snapshot, without moving the position of the
+     * buffer holding it.
+     *
+     * @param content The buffer holding the content between its position and its limit.
+     * @return The checksum of the content.
+     */
+    private static long checksum(ByteBuffer content) {
+        CRC32 crc = new CRC32();
+        crc.update(content.duplicate());
+        return crc.getValue();
+    }
+
+    /**
+     * Loads the tasks of the snapshot into a {@link TaskManager} and computes the checksum of the
+     * snapshot. The file is memory-mapped and decoded straight from the mapping, without reading it
+     * into memory as a list of lines first.
+     * If the file does not exist or is not a regular file, an empty {@link TaskManager} is
+     * returned.
+     *
+     * @return The {@link TaskManager} containing the tasks of the snapshot.
+     * @throws StorageLoadException If an error occurs while loading the file.
+     */
+    private TaskManager loadSnapshot() throws StorageLoadException {
+        ByteBuffer buffer = mapSnapshot();
+        snapshotChecksum = checksum(buffer);
+        return codec.decode(buffer);
+    }
+
+    /**
+     * Reads the snapshot into a direct buffer, which holds the content outside the heap without
+     * keeping the file open or mapped.
+     *
+     * @return The buffer holding the content of the snapshot, which is empty if the file does not
+     *         exist or is not a regular file.
+     * @throws StorageLoadException If an error occurs while reading the file.
+     */
+    private ByteBuffer readSnapshot() throws StorageLoadException {
+        if (!Files.exists(path) || !Files.isRegularFile(path)) {
+            return ByteBuffer.allocate(0);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new StorageLoadException(String.format(Messages.LOAD_ERROR, path));
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            return buffer.flip();
+        } catch (IOException e) {
+            throw new StorageLoadException(String.format(Messages.LOAD_ERROR, path));
+        }
+    }
+
+    /**
+     * Memory-maps the snapshot for reading. The mapping should only be used while loading, as a
+     * mapped file cannot be replaced on some platforms.
+     *
+     * @return The buffer holding the content of the snapshot, which is empty if the file does not
+     *         exist or is not a regular file.
+     * @throws StorageLoadException If an error occurs while mapping the file.
+     */
+    private ByteBuffer mapSnapshot() throws StorageLoadException {
         if (!Files.exists(path) || !Files.isRegularFile(path)) {
-            return new TaskManager();
+            return ByteBuffer.allocate(0);
         }
 
         assert Files.isReadable(path) : "Storage file should be readable: " + path;
-        try {
-            return TaskDecoder.decodeTasks(Files.readAllLines(path));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new StorageLoadException(String.format(Messages.LOAD_ERROR, path));
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
         } catch (IOException e) {
             throw new StorageLoadException(String.format(Messages.LOAD_ERROR, path));
         }
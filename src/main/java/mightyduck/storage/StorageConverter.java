@@ -0,0 +1,63 @@
+package mightyduck.storage;
+
+import mightyduck.exception.InvalidStoragePathException;
+import mightyduck.exception.StorageLoadException;
+import mightyduck.exception.StorageWriteException;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
+
+/**
+ * Converts a storage file between the snapshot formats, as selected by the extensions of the
+ * source and target files. For example, converting "mightyduck.txt" into "mightyduck.bin" produces
+ * the compact binary format, and the other way around produces the human-readable text format.
+ */
+public class StorageConverter {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private StorageConverter() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Converts the source storage file, including its journal, into a snapshot at the target path.
+     * The target journal, if any, is discarded.
+     *
+     * @param sourcePath The path to the storage file to convert.
+     * @param targetPath The path to the converted storage file.
+     * @return The number of converted tasks.
+     * @throws InvalidStoragePathException If either path has an unsupported extension.
+     * @throws StorageLoadException        If an error occurs while loading the source file.
+     * @throws StorageWriteException       If an error occurs while writing the target file.
+     */
+    public static int convert(String sourcePath, String targetPath)
+            throws InvalidStoragePathException, StorageLoadException, StorageWriteException {
+        Storage source = new Storage(sourcePath);
+        Storage target = new Storage(targetPath);
+        TaskManager taskManager = source.load();
+        target.saveSnapshot(taskManager);
+        return taskManager.getTaskCount();
+    }
+
+    /**
+     * Converts the storage file given as the first argument into the storage file given as the
+     * second argument.
+     *
+     * @param args The source and target paths.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println(Messages.CONVERTER_USAGE);
+            System.exit(1);
+        }
+
+        try {
+            int taskCount = convert(args[0], args[1]);
+            System.out.println(String.format(Messages.CONVERTED, taskCount, args[0], args[1]));
+        } catch (InvalidStoragePathException | StorageLoadException | StorageWriteException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
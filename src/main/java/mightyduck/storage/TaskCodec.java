@@ -0,0 +1,44 @@
+package mightyduck.storage;
+
+import java.nio.ByteBuffer;
+
+import mightyduck.exception.StorageLoadException;
+import mightyduck.task.TaskManager;
+
+/**
+ * Represents a file format for snapshots of all the tasks of a {@link TaskManager}.
+ */
+public interface TaskCodec {
+
+    /**
+     * Encodes all the tasks of the specified {@link TaskManager} into the content of a snapshot
+     * file.
+     *
+     * @param taskManager The {@link TaskManager} containing the tasks to encode.
+     * @return The content of the snapshot file.
+     */
+    byte[] encode(TaskManager taskManager);
+
+    /**
+     * Decodes the content of a snapshot file into a {@link TaskManager}. An empty content decodes
+     * into an empty {@link TaskManager}.
+     *
+     * @param buffer The buffer holding the content between its position and its limit.
+     * @return The {@link TaskManager} containing the decoded tasks.
+     * @throws StorageLoadException If the content cannot be decoded properly.
+     */
+    TaskManager decode(ByteBuffer buffer) throws StorageLoadException;
+
+    /**
+     * Decodes the content of a snapshot file into a {@link TaskManager} which only decodes each
+     * task on first access, if the format allows it. Otherwise, all tasks are decoded up front.
+     * The {@link TaskManager} may keep reading the buffer, so its content must not change.
+     *
+     * @param buffer The buffer holding the content between its position and its limit.
+     * @return The {@link TaskManager} containing the tasks.
+     * @throws StorageLoadException If the content cannot be decoded properly.
+     */
+    default TaskManager decodeLazily(ByteBuffer buffer) throws StorageLoadException {
+        return decode(buffer);
+    }
+}
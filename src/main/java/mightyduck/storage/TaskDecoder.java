@@ -1,13 +1,17 @@
 package mightyduck.storage;
 
-import static mightyduck.utils.DateTimeUtils.FORMATTER;
-
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import mightyduck.exception.StorageLoadException;
 import mightyduck.task.Deadline;
@@ -15,10 +19,11 @@ import mightyduck.task.Event;
 import mightyduck.task.Task;
 import mightyduck.task.TaskManager;
 import mightyduck.task.ToDo;
+import mightyduck.utils.DateTimeUtils;
 import mightyduck.utils.Messages;
 
 /**
- * Decodes a list of encoded task strings into a {@link TaskManager}. The tasks are represented in a
+ * Decodes encoded task strings into a {@link TaskManager}. The tasks are represented in a
  * specific format, and this class parses the data to reconstruct the corresponding {@link Task}
  * objects.
  */
@@ -28,12 +33,32 @@ public class TaskDecoder {
      * A map of task signature types to corresponding task parsers. This is used to select the
      * appropriate parser for each task based on its signature.
      */
-    private static final Map<String, TaskParser> TASK_PARSERS = Map.of(
-            Deadline.SIGNATURE, TaskDecoder::parseDeadline,
-            ToDo.SIGNATURE, TaskDecoder::parseToDo,
-            Event.SIGNATURE, TaskDecoder::parseEvent
+    private static final Map<Character, TaskParser> TASK_PARSERS = Map.of(
+            Deadline.SIGNATURE.charAt(0), TaskDecoder::parseDeadline,
+            ToDo.SIGNATURE.charAt(0), TaskDecoder::parseToDo,
+            Event.SIGNATURE.charAt(0), TaskDecoder::parseEvent
     );
 
+    /**
+     * The character separating the fields of an encoded task.
+     */
+    private static final char FIELD_SEPARATOR = '|';
+
+    /**
+     * The character separating the items of a list field of an encoded task.
+     */
+    private static final char ITEM_SEPARATOR = ',';
+
+    /**
+     * The number of fields of an encoded task without an ID.
+     */
+    private static final int FIELD_COUNT = 5;
+
+    /**
+     * The number of fields of an encoded task with an ID, which is stored in the last field.
+     */
+    private static final int MAX_FIELD_COUNT = FIELD_COUNT + 1;
+
     /**
      * Private constructor to prevent instantiation of this utility class.
      */
@@ -51,42 +76,288 @@ public class TaskDecoder {
      * @throws StorageLoadException If a task cannot be decoded properly.
      */
     public static TaskManager decodeTasks(List<String> encodedTasks) throws StorageLoadException {
-        TaskManager taskManager = new TaskManager();
-
+        List<Task> tasks = new ArrayList<>(encodedTasks.size());
         for (String encodedTask : encodedTasks) {
-            String[] parts = encodedTask.split("\\|", -1);
-            validateParts(parts, encodedTask);
+            tasks.add(decodeTask(encodedTask));
+        }
+        return new TaskManager(tasks);
+    }
+
+    /**
+     * Decodes a single encoded task string into a {@link Task}.
+     *
+     * @param encodedTask The string representing the encoded task.
+     * @return The decoded {@link Task}.
+     * @throws StorageLoadException If the task cannot be decoded properly.
+     */
+    public static Task decodeTask(String encodedTask) throws StorageLoadException {
+        return decodeTask(new StringRecordReader(encodedTask), 0, encodedTask.length());
+    }
 
-            String signature = parts[0];
-            boolean isDone = parts[1].equals(Task.STATUS_DONE_STORAGE);
-            List<String> tags = Arrays.stream(parts[2].split(",")).filter(s -> !s.isEmpty())
-                    .distinct().collect(Collectors.toList());
-            String name = parts[3];
-            List<String> info = Arrays.stream(parts[4].split(",")).filter(s -> !s.isEmpty())
-                    .toList();
+    /**
+     * Decodes the UTF-8 encoded task lines held in a buffer, e.g. a memory-mapped storage file,
+     * into a {@link TaskManager} object. The records are parsed straight from the buffer, so that
+     * strings are only created for the fields kept in the decoded tasks. Lines may be terminated by
+     * either {@code "\n"} or {@code "\r\n"}, and the last line may be unterminated. The lines may
+     * be preceded by the next ID header of a text snapshot.
+     *
+     * @param buffer The buffer holding the encoded tasks between its position and its limit.
+     * @return A {@link TaskManager} containing the decoded tasks.
+     * @throws StorageLoadException If a task or the header cannot be decoded properly.
+     */
+    public static TaskManager decodeTasks(ByteBuffer buffer) throws StorageLoadException {
+        int tasksStart = skipNextIdHeader(buffer, buffer.position(), buffer.limit());
+        TaskManager taskManager = new TaskManager(decodeLines(new BufferReader(buffer), tasksStart,
+                buffer.limit()));
+        taskManager.reserveIds(parseNextIdHeader(buffer, buffer.position(), buffer.limit()));
+        return taskManager;
+    }
 
-            Task task = parseTaskBySignature(signature, name, isDone, tags, info, encodedTask);
-            taskManager.addTask(task);
+    /**
+     * Decodes the UTF-8 encoded task lines held in a buffer into a {@link TaskManager} object,
+     * like {@link #decodeTasks(ByteBuffer)}, but using all available cores. The buffer is split at
+     * line boundaries into chunks of about the specified size, which are decoded concurrently on
+     * the common {@link ForkJoinPool}, and the decoded tasks are then concatenated in file order.
+     * If some lines are invalid, the exception reports the first of them, as in a sequential
+     * decode.
+     *
+     * @param buffer    The buffer holding the encoded tasks between its position and its limit.
+     * @param chunkSize The approximate number of bytes of each chunk.
+     * @return A {@link TaskManager} containing the decoded tasks.
+     * @throws StorageLoadException If a task cannot be decoded properly.
+     */
+    public static TaskManager decodeTasksInParallel(ByteBuffer buffer, int chunkSize)
+            throws StorageLoadException {
+        assert chunkSize > 0 : "Chunk size should be positive";
+        BufferReader boundaryReader = new BufferReader(buffer);
+        List<Callable<List<Task>>> chunks = new ArrayList<>();
+        int chunkStart = skipNextIdHeader(buffer, buffer.position(), buffer.limit());
+        while (chunkStart < buffer.limit()) {
+            int minChunkEnd = (int) Math.min((long) chunkStart + chunkSize, buffer.limit());
+            int lastLineEnd = boundaryReader.indexOf('\n', minChunkEnd - 1, buffer.limit());
+            int chunkEnd = Math.min(lastLineEnd + 1, buffer.limit());
+            int from = chunkStart;
+            chunks.add(() -> decodeLines(new BufferReader(buffer.duplicate()), from, chunkEnd));
+            chunkStart = chunkEnd;
         }
 
+        List<Task> tasks = new ArrayList<>();
+        for (Future<List<Task>> chunk : ForkJoinPool.commonPool().invokeAll(chunks)) {
+            tasks.addAll(getDecodedChunk(chunk));
+        }
+        TaskManager taskManager = new TaskManager(tasks);
+        taskManager.reserveIds(parseNextIdHeader(buffer, buffer.position(), buffer.limit()));
         return taskManager;
     }
 
     /**
-     * Validates the structure of the encoded task string. Checks if there are 5 parts and if the
-     * status is either "1" (done) or "0" (not done).
+     * Returns the index of the first task line of a text snapshot, after its next ID header, if
+     * any.
+     *
+     * @param buffer The buffer holding the snapshot.
+     * @param from   The index of the first byte of the snapshot.
+     * @param to     The index after the last byte of the snapshot.
+     * @return The index of the first byte of the first task line.
+     */
+    static int skipNextIdHeader(ByteBuffer buffer, int from, int to) {
+        if (!hasNextIdHeader(buffer, from, to)) {
+            return from;
+        }
+        return Math.min(new BufferReader(buffer).indexOf('\n', from, to) + 1, to);
+    }
+
+    /**
+     * Parses the next ID header of a text snapshot, i.e. the ID to assign to the next added task.
+     *
+     * @param buffer The buffer holding the snapshot.
+     * @param from   The index of the first byte of the snapshot.
+     * @param to     The index after the last byte of the snapshot.
+     * @return The next ID, or {@link Task#NO_ID} if the snapshot has no header.
+     * @throws StorageLoadException If the next ID is not a positive decimal number.
+     */
+    static int parseNextIdHeader(ByteBuffer buffer, int from, int to)
+            throws StorageLoadException {
+        if (!hasNextIdHeader(buffer, from, to)) {
+            return Task.NO_ID;
+        }
+        RecordReader reader = new BufferReader(buffer);
+        int lineEnd = reader.indexOf('\n', from, to);
+        if (lineEnd > from && reader.get(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+        int headerEnd = lineEnd;
+        return parseId(reader, from + TextTaskCodec.NEXT_ID_HEADER.length(), lineEnd,
+                () -> reader.text(from, headerEnd));
+    }
+
+    /**
+     * Checks whether a text snapshot starts with a next ID header.
+     *
+     * @param buffer The buffer holding the snapshot.
+     * @param from   The index of the first byte of the snapshot.
+     * @param to     The index after the last byte of the snapshot.
+     * @return {@code true} if the first line is a next ID header, {@code false} otherwise.
+     */
+    private static boolean hasNextIdHeader(ByteBuffer buffer, int from, int to) {
+        String header = TextTaskCodec.NEXT_ID_HEADER;
+        if (to - from < header.length()) {
+            return false;
+        }
+        for (int i = 0; i < header.length(); i++) {
+            if (buffer.get(from + i) != header.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the encoded task lines held in a range of a buffer. The range must start at the
+     * beginning of a line and end after a line terminator or at the end of the buffer.
+     *
+     * @param reader The reader of the buffer holding the lines.
+     * @param from   The index of the first byte of the first line.
+     * @param to     The index after the last byte of the last line.
+     * @return The decoded tasks, in order.
+     * @throws StorageLoadException If a task cannot be decoded properly.
+     */
+    private static List<Task> decodeLines(RecordReader reader, int from, int to)
+            throws StorageLoadException {
+        List<Task> tasks = new ArrayList<>();
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = reader.indexOf('\n', lineStart, to);
+            int nextLineStart = lineEnd + 1;
+            if (lineEnd > lineStart && reader.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            tasks.add(decodeTask(reader, lineStart, lineEnd));
+            lineStart = nextLineStart;
+        }
+        return tasks;
+    }
+
+    /**
+     * Waits for a chunk decoded by {@link #decodeTasksInParallel(ByteBuffer, int)} and returns its
+     * tasks.
      *
-     * @param parts       The split parts of the encoded task string.
-     * @param encodedTask The original encoded task string for error reporting.
-     * @throws StorageLoadException If the encoded task string is invalid.
+     * @param chunk The result of decoding the chunk.
+     * @return The decoded tasks of the chunk, in order.
+     * @throws StorageLoadException If a task of the chunk cannot be decoded properly, or the
+     *                              decoding was interrupted.
      */
-    private static void validateParts(String[] parts, String encodedTask)
+    private static List<Task> getDecodedChunk(Future<List<Task>> chunk)
             throws StorageLoadException {
-        if (parts.length != 5 || (!parts[1].equals(Task.STATUS_DONE_STORAGE)
-                && !parts[1].equals(Task.STATUS_NOT_DONE_STORAGE))) {
+        try {
+            return chunk.get();
+        } catch (ExecutionException e) {
+            // The pool may wrap the checked exception of the chunk in a RuntimeException.
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof StorageLoadException storageLoadException) {
+                    throw storageLoadException;
+                }
+            }
+            throw new StorageLoadException(String.valueOf(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageLoadException(e.toString());
+        }
+    }
+
+    /**
+     * Decodes a single UTF-8 encoded task line held in a buffer into a {@link Task}. The buffer is
+     * only read with absolute indices, so it may be shared between threads.
+     *
+     * @param buffer    The buffer holding the line.
+     * @param lineStart The index of the first byte of the line.
+     * @param lineEnd   The index after the last byte of the line, excluding the line terminator.
+     * @return The decoded {@link Task}.
+     * @throws StorageLoadException If the task cannot be decoded properly.
+     */
+    static Task decodeTask(ByteBuffer buffer, int lineStart, int lineEnd)
+            throws StorageLoadException {
+        return decodeTask(new BufferReader(buffer), lineStart, lineEnd);
+    }
+
+    /**
+     * Decodes a single encoded task line into a {@link Task}. The line is tokenized in a single
+     * pass that records where each field starts, without splitting it into intermediate strings, so
+     * that strings are only created for the fields kept in the decoded task.
+     *
+     * @param reader    The reader of the text holding the line.
+     * @param lineStart The index of the first character of the line.
+     * @param lineEnd   The index after the last character of the line, excluding the line
+     *                  terminator.
+     * @return The decoded {@link Task}.
+     * @throws StorageLoadException If the task cannot be decoded properly.
+     */
+    private static Task decodeTask(RecordReader reader, int lineStart, int lineEnd)
+            throws StorageLoadException {
+        Supplier<String> encodedTask = () -> reader.text(lineStart, lineEnd);
+        int[] fieldStarts = new int[MAX_FIELD_COUNT + 1];
+        fieldStarts[0] = lineStart;
+        int fieldCount = 1;
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (reader.get(i) == FIELD_SEPARATOR) {
+                if (fieldCount == MAX_FIELD_COUNT) {
+                    throw new StorageLoadException(String.format(Messages.INVALID_ENCODED_FORMAT,
+                            encodedTask.get()));
+                }
+                fieldStarts[fieldCount++] = i + 1;
+            }
+        }
+        fieldStarts[fieldCount] = lineEnd + 1;
+        if (fieldCount < FIELD_COUNT || fieldStarts[1] - fieldStarts[0] != 2
+                || fieldStarts[2] - fieldStarts[1] != 2) {
+            throw new StorageLoadException(
+                    String.format(Messages.INVALID_ENCODED_FORMAT, encodedTask.get()));
+        }
+
+        char signature = (char) reader.get(fieldStarts[0]);
+        int status = reader.get(fieldStarts[1]);
+        if (status != Task.STATUS_DONE_STORAGE.charAt(0)
+                && status != Task.STATUS_NOT_DONE_STORAGE.charAt(0)) {
             throw new StorageLoadException(
-                    String.format(Messages.INVALID_ENCODED_FORMAT, encodedTask));
+                    String.format(Messages.INVALID_ENCODED_FORMAT, encodedTask.get()));
         }
+        boolean isDone = status == Task.STATUS_DONE_STORAGE.charAt(0);
+        List<String> tags = reader.items(fieldStarts[2], fieldStarts[3] - 1, true);
+        String name = reader.text(fieldStarts[3], fieldStarts[4] - 1);
+        List<String> info = reader.items(fieldStarts[4], fieldStarts[5] - 1, false);
+
+        Task task = parseTaskBySignature(signature, name, isDone, tags, info, encodedTask);
+        if (fieldCount == MAX_FIELD_COUNT) {
+            task.setId(parseId(reader, fieldStarts[5], lineEnd, encodedTask));
+        }
+        return task;
+    }
+
+    /**
+     * Parses the ID field of an encoded task, which must be a positive decimal number.
+     *
+     * @param reader      The reader of the text holding the field.
+     * @param from        The index of the first character of the field.
+     * @param to          The index after the last character of the field.
+     * @param encodedTask Supplies the original encoded task string for error reporting.
+     * @return The parsed ID.
+     * @throws StorageLoadException If the field is not a positive decimal number.
+     */
+    private static int parseId(RecordReader reader, int from, int to,
+                               Supplier<String> encodedTask) throws StorageLoadException {
+        long id = 0;
+        for (int i = from; i < to && id <= Integer.MAX_VALUE; i++) {
+            int digit = reader.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                id = Task.NO_ID;
+                break;
+            }
+            id = id * 10 + digit;
+        }
+        if (id <= Task.NO_ID || id > Integer.MAX_VALUE) {
+            throw new StorageLoadException(String.format(Messages.INVALID_ENCODED_FORMAT,
+                    encodedTask.get()));
+        }
+        return (int) id;
     }
 
     /**
@@ -97,18 +368,18 @@ public class TaskDecoder {
      * @param isDone      The completion status of the task.
      * @param tags        The list of tags associated with the task.
      * @param info        The information associated with the task (e.g., name, date, time).
-     * @param encodedTask The original encoded task string for error reporting.
+     * @param encodedTask Supplies the original encoded task string for error reporting.
      * @return The parsed {@link Task} object.
      * @throws StorageLoadException If the task format is invalid or cannot be parsed.
      */
-    private static Task parseTaskBySignature(String signature, String name, boolean isDone,
+    private static Task parseTaskBySignature(char signature, String name, boolean isDone,
                                              List<String> tags, List<String> info,
-                                             String encodedTask)
+                                             Supplier<String> encodedTask)
             throws StorageLoadException {
         TaskParser parser = TASK_PARSERS.get(signature);
         if (parser == null) {
             throw new StorageLoadException(String.format(Messages.INVALID_ENCODED_FORMAT,
-                    encodedTask));
+                    encodedTask.get()));
         }
         return parser.parse(name, isDone, tags, info, encodedTask);
     }
@@ -120,19 +391,19 @@ public class TaskDecoder {
      * @param isDone      The completion status of the task.
      * @param tags        The list of tags associated with the task.
      * @param info        The information associated with the task, containing the deadline.
-     * @param encodedTask The original encoded task string for error reporting.
+     * @param encodedTask Supplies the original encoded task string for error reporting.
      * @return A {@link Deadline} task object.
      * @throws StorageLoadException If the task is in an invalid format.
      */
     private static Task parseDeadline(String name, boolean isDone, List<String> tags,
-                                      List<String> info, String encodedTask)
+                                      List<String> info, Supplier<String> encodedTask)
             throws StorageLoadException {
         if (info.size() != 1) {
             throw new StorageLoadException(String.format(Messages.INVALID_ENCODED_FORMAT,
-                    encodedTask));
+                    encodedTask.get()));
         }
         try {
-            LocalDateTime dlTime = LocalDateTime.parse(info.get(0), FORMATTER);
+            LocalDateTime dlTime = DateTimeUtils.parse(info.get(0));
             return new Deadline(name, isDone, dlTime, tags);
         } catch (DateTimeParseException e) {
             throw new StorageLoadException(e.getMessage());
@@ -147,15 +418,15 @@ public class TaskDecoder {
      * @param tags        The list of tags associated with the task.
      * @param info        Additional details related to the task, which is empty for a {@link ToDo}
      *                    task.
-     * @param encodedTask The original encoded task string for error reporting.
+     * @param encodedTask Supplies the original encoded task string for error reporting.
      * @return A {@link ToDo} task object.
      */
     private static Task parseToDo(String name, boolean isDone, List<String> tags,
-                                  List<String> info, String encodedTask)
+                                  List<String> info, Supplier<String> encodedTask)
             throws StorageLoadException {
         if (!info.isEmpty()) {
             throw new StorageLoadException(String.format(Messages.INVALID_ENCODED_FORMAT,
-                    encodedTask));
+                    encodedTask.get()));
         }
         return new ToDo(name, isDone, tags);
     }
@@ -168,34 +439,179 @@ public class TaskDecoder {
      * @param tags        The list of tags associated with the task.
      * @param info        Additional details related to the task, containing the start and the end
      *                    time for the event.
-     * @param encodedTask The original encoded task string for error reporting.
+     * @param encodedTask Supplies the original encoded task string for error reporting.
      * @return An {@link Event} task object.
      * @throws StorageLoadException If the task is in an invalid format.
      */
     private static Task parseEvent(String name, boolean isDone, List<String> tags,
-                                   List<String> info, String encodedTask)
+                                   List<String> info, Supplier<String> encodedTask)
             throws StorageLoadException {
         if (info.size() != 2) {
             throw new StorageLoadException(String.format(Messages.INVALID_ENCODED_FORMAT,
-                    encodedTask));
+                    encodedTask.get()));
         }
 
         LocalDateTime startTime;
         LocalDateTime endTime;
         try {
-            startTime = LocalDateTime.parse(info.get(0), FORMATTER);
-            endTime = LocalDateTime.parse(info.get(1), FORMATTER);
+            startTime = DateTimeUtils.parse(info.get(0));
+            endTime = DateTimeUtils.parse(info.get(1));
         } catch (DateTimeParseException e) {
             throw new StorageLoadException(e.getMessage());
         }
         if (endTime.isBefore(startTime)) {
             throw new StorageLoadException(String.format(Messages.INVALID_ENCODED_FORMAT,
-                    encodedTask));
+                    encodedTask.get()));
         }
 
         return new Event(name, isDone, startTime, endTime, tags);
     }
 
+    /**
+     * Reads encoded task lines by index, so that the same tokenizer can decode both strings and
+     * buffers. The separators of the format are ASCII characters, which never occur inside the
+     * encoding of other characters, so they can be located one unit at a time.
+     */
+    private interface RecordReader {
+
+        /**
+         * Returns the unit, i.e. character or byte, at the specified index.
+         *
+         * @param index The index of the unit.
+         * @return The unit at the index.
+         */
+        int get(int index);
+
+        /**
+         * Returns the index of the first occurrence of an ASCII character within a range.
+         *
+         * @param value The ASCII character to search for.
+         * @param from  The index to start searching from, inclusive.
+         * @param to    The index to stop searching at, exclusive.
+         * @return The index of the character, or {@code to} if it does not occur in the range.
+         */
+        int indexOf(char value, int from, int to);
+
+        /**
+         * Returns the text within a range.
+         *
+         * @param from The index of the first unit of the text.
+         * @param to   The index after the last unit of the text.
+         * @return The text.
+         */
+        String text(int from, int to);
+
+        /**
+         * Returns the non-empty comma-separated items within a range, in order.
+         *
+         * @param from       The index of the first unit of the list.
+         * @param to         The index after the last unit of the list.
+         * @param isDistinct Whether repeated items are dropped.
+         * @return A modifiable list of the items.
+         */
+        default List<String> items(int from, int to, boolean isDistinct) {
+            List<String> items = new ArrayList<>();
+            int itemStart = from;
+            while (itemStart < to) {
+                int itemEnd = indexOf(ITEM_SEPARATOR, itemStart, to);
+                if (itemEnd > itemStart) {
+                    String item = text(itemStart, itemEnd);
+                    if (!isDistinct || !items.contains(item)) {
+                        items.add(item);
+                    }
+                }
+                itemStart = itemEnd + 1;
+            }
+            return items;
+        }
+    }
+
+    /**
+     * Reads an encoded task line held in a string.
+     */
+    private static class StringRecordReader implements RecordReader {
+
+        /**
+         * The string holding the encoded task line.
+         */
+        private final String string;
+
+        /**
+         * Constructs a new {@code StringRecordReader} for the specified string.
+         *
+         * @param string The string holding the encoded task line.
+         */
+        StringRecordReader(String string) {
+            this.string = string;
+        }
+
+        @Override
+        public int get(int index) {
+            return string.charAt(index);
+        }
+
+        @Override
+        public int indexOf(char value, int from, int to) {
+            int index = string.indexOf(value, from);
+            return index < 0 || index > to ? to : index;
+        }
+
+        @Override
+        public String text(int from, int to) {
+            return string.substring(from, to);
+        }
+    }
+
+    /**
+     * Reads the bytes of encoded tasks from a buffer, decoding UTF-8 text only on demand.
+     */
+    private static class BufferReader implements RecordReader {
+
+        /**
+         * The buffer holding the encoded tasks.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * A reusable array the bytes of a field are copied into before being decoded.
+         */
+        private byte[] scratch = new byte[64];
+
+        /**
+         * Constructs a new {@code BufferReader} for the specified buffer.
+         *
+         * @param buffer The buffer holding the encoded tasks.
+         */
+        BufferReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int get(int index) {
+            return buffer.get(index);
+        }
+
+        @Override
+        public int indexOf(char value, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (buffer.get(i) == value) {
+                    return i;
+                }
+            }
+            return to;
+        }
+
+        @Override
+        public String text(int from, int to) {
+            int length = to - from;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(from, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
     /**
      * Functional interface for parsing different task types.
      */
@@ -208,11 +624,11 @@ public class TaskDecoder {
          * @param isDone      The completion status of the task.
          * @param tags        The list of tags associated with the task.
          * @param info        The information associated with the task (e.g., name, date, time).
-         * @param encodedTask The original encoded task string for error reporting.
+         * @param encodedTask Supplies the original encoded task string for error reporting.
          * @return The parsed {@link Task}.
          * @throws StorageLoadException If the task cannot be parsed.
          */
         Task parse(String name, boolean isDone, List<String> tags, List<String> info,
-                   String encodedTask) throws StorageLoadException;
+                   Supplier<String> encodedTask) throws StorageLoadException;
     }
 }
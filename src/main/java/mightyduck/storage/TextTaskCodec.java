@@ -0,0 +1,76 @@
+package mightyduck.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import mightyduck.exception.StorageLoadException;
+import mightyduck.task.Task;
+import mightyduck.task.TaskManager;
+import mightyduck.utils.Config;
+
+/**
+ * Represents the human-readable snapshot format, which stores one encoded task per line as produced
+ * by {@link Task#encode()}. The tasks are preceded by a header line holding the ID to assign to the
+ * next added task, which is greater than every ID ever used, so that the IDs of deleted tasks are
+ * not reused. Snapshots without the header can still be read.
+ */
+public class TextTaskCodec implements TaskCodec {
+
+    /**
+     * The file extension of snapshots in this format.
+     */
+    public static final String EXTENSION = ".txt";
+
+    /**
+     * The prefix of the header line holding the ID to assign to the next added task. No encoded
+     * task starts with it.
+     */
+    public static final String NEXT_ID_HEADER = "#|";
+
+    /**
+     * Encodes the next ID header and all the tasks into UTF-8 lines, each terminated by the
+     * platform line separator.
+     *
+     * @param taskManager The {@link TaskManager} containing the tasks to encode.
+     * @return The content of the snapshot file.
+     */
+    @Override
+    public byte[] encode(TaskManager taskManager) {
+        StringBuilder content = new StringBuilder();
+        content.append(NEXT_ID_HEADER).append(taskManager.getNextId())
+                .append(System.lineSeparator());
+        for (String encodedTask : taskManager.encodeTasks()) {
+            content.append(encodedTask).append(System.lineSeparator());
+        }
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the encoded task lines. Contents of at least
+     * {@link Config#PARALLEL_DECODE_MIN_BYTES} bytes are decoded in parallel chunks.
+     *
+     * @param buffer The buffer holding the content between its position and its limit.
+     * @return The {@link TaskManager} containing the decoded tasks.
+     * @throws StorageLoadException If a task cannot be decoded properly.
+     */
+    @Override
+    public TaskManager decode(ByteBuffer buffer) throws StorageLoadException {
+        if (buffer.remaining() >= Config.PARALLEL_DECODE_MIN_BYTES) {
+            return TaskDecoder.decodeTasksInParallel(buffer, Config.PARALLEL_DECODE_CHUNK_BYTES);
+        }
+        return TaskDecoder.decodeTasks(buffer);
+    }
+
+    /**
+     * Indexes the offsets of the encoded task lines, without decoding them. Each line is decoded
+     * on first access, and lines which are never accessed are saved back exactly as they are.
+     *
+     * @param buffer The buffer holding the content between its position and its limit.
+     * @return The {@link TaskManager} containing the tasks.
+     * @throws StorageLoadException If the next ID header is invalid.
+     */
+    @Override
+    public TaskManager decodeLazily(ByteBuffer buffer) throws StorageLoadException {
+        return new TaskManager(new LazyTextTaskSource(buffer));
+    }
+}
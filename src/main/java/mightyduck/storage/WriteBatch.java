@@ -0,0 +1,111 @@
+package mightyduck.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Represents encoded task data waiting to be written by a {@link Storage}. A batch holds an
+ * optional full snapshot followed by journal records to append after it. Batches prepared one after
+ * another can be merged, so that a burst of changes is written at once. A snapshot is only encoded
+ * when it is written, so a snapshot superseded by a later one is never encoded.
+ */
+public class WriteBatch {
+
+    /**
+     * The encoder of the content of a full snapshot, or {@code null} if the snapshot is not
+     * rewritten.
+     */
+    private Supplier<byte[]> snapshot;
+
+    /**
+     * The journal records to append after the snapshot, if any, is written.
+     */
+    private final List<String> journalRecords;
+
+    /**
+     * Constructs a new {@code WriteBatch} with the specified snapshot and journal records.
+     *
+     * @param snapshot       The encoder of the content of a full snapshot, or {@code null} if the
+     *                       snapshot is not rewritten.
+     * @param journalRecords The journal records to append.
+     */
+    private WriteBatch(Supplier<byte[]> snapshot, List<String> journalRecords) {
+        this.snapshot = snapshot;
+        this.journalRecords = new ArrayList<>(journalRecords);
+    }
+
+    /**
+     * Creates a batch that writes nothing.
+     *
+     * @return An empty {@code WriteBatch}.
+     */
+    public static WriteBatch empty() {
+        return new WriteBatch(null, List.of());
+    }
+
+    /**
+     * Creates a batch that rewrites the whole snapshot. The snapshot is encoded when the batch is
+     * written, possibly on another thread, so the encoder must only read data which does not
+     * change meanwhile.
+     *
+     * @param snapshot The encoder of the content of the snapshot, e.g. a {@link TaskCodec}
+     *                 applied to a snapshot of the tasks.
+     * @return A {@code WriteBatch} rewriting the snapshot.
+     */
+    public static WriteBatch ofSnapshot(Supplier<byte[]> snapshot) {
+        assert snapshot != null : "Snapshot should not be null";
+        return new WriteBatch(snapshot, List.of());
+    }
+
+    /**
+     * Creates a batch that appends records to the journal.
+     *
+     * @param journalRecords The journal records to append.
+     * @return A {@code WriteBatch} appending the records.
+     */
+    public static WriteBatch ofJournalRecords(List<String> journalRecords) {
+        return new WriteBatch(null, journalRecords);
+    }
+
+    /**
+     * Merges a batch prepared after this one into this batch. A later snapshot supersedes
+     * everything in this batch, while later journal records are appended after the existing ones.
+     *
+     * @param later The batch prepared after this one.
+     */
+    public void merge(WriteBatch later) {
+        if (later.snapshot != null) {
+            snapshot = later.snapshot;
+            journalRecords.clear();
+        }
+        journalRecords.addAll(later.journalRecords);
+    }
+
+    /**
+     * Checks whether the batch writes nothing.
+     *
+     * @return {@code true} if the batch writes nothing, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return snapshot == null && journalRecords.isEmpty();
+    }
+
+    /**
+     * Encodes the content of the full snapshot. Each call encodes the snapshot again.
+     *
+     * @return The content of the snapshot, or {@code null} if the snapshot is not rewritten.
+     */
+    public byte[] encodeSnapshot() {
+        return snapshot == null ? null : snapshot.get();
+    }
+
+    /**
+     * Returns the journal records to append after the snapshot, if any, is written.
+     *
+     * @return The journal records.
+     */
+    public List<String> getJournalRecords() {
+        return journalRecords;
+    }
+}
@@ -0,0 +1,191 @@
+package mightyduck.task;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Represents a BK-tree over a set of words, which finds the words within a given Levenshtein
+ * distance of a query without computing the distance to every word.
+ *
+ * <p>Each child of a node holds the words at a given distance from the word of the node. As the
+ * Levenshtein distance satisfies the triangle inequality, a word within distance {@code k} of the
+ * query can only be below the children whose distance differs from the distance between the query
+ * and the node by at most {@code k}, so every other child is skipped. Words cannot be removed; the
+ * caller is expected to ignore stale words and to rebuild the tree once they are too many.</p>
+ */
+class BkTree {
+
+    /**
+     * The root of the tree, or {@code null} if the tree is empty.
+     */
+    private Node root;
+
+    /**
+     * The number of words in the tree.
+     */
+    private int size;
+
+    /**
+     * Adds a word to the tree, unless it is already there.
+     *
+     * @param word The word to add.
+     */
+    void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.getChild(distance);
+            if (child == null) {
+                node.setChild(distance, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Returns the number of words in the tree.
+     *
+     * @return The number of words.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Finds the words within the specified distance of a query.
+     *
+     * @param query       The word to search for.
+     * @param maxDistance The maximum Levenshtein distance between the query and a found word.
+     * @param consumer    The consumer receiving each found word.
+     */
+    void search(String query, int maxDistance, Consumer<String> consumer) {
+        if (root == null) {
+            return;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        int[][] rows = new int[2][];
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(node.word, query, rows);
+            if (distance <= maxDistance) {
+                consumer.accept(node.word);
+            }
+            int first = Math.max(1, distance - maxDistance);
+            int last = Math.min(distance + maxDistance, node.children.length - 1);
+            for (int childDistance = first; childDistance <= last; childDistance++) {
+                Node child = node.children[childDistance];
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the Levenshtein distance between two words, which is the minimum number of
+     * insertions, deletions and substitutions of a character turning one word into the other.
+     *
+     * @param first  The first word.
+     * @param second The second word.
+     * @return The distance between the words.
+     */
+    static int distance(String first, String second) {
+        return distance(first, second, new int[2][]);
+    }
+
+    /**
+     * Computes the Levenshtein distance between two words, reusing the rows of a previous call
+     * when they are long enough, as a search computes many distances to the same query.
+     *
+     * @param first  The first word.
+     * @param second The second word.
+     * @param rows   The two rows of the previous call, which are replaced if too short.
+     * @return The distance between the words.
+     */
+    private static int distance(String first, String second, int[][] rows) {
+        if (rows[0] == null || rows[0].length <= second.length()) {
+            rows[0] = new int[second.length() + 1];
+            rows[1] = new int[second.length() + 1];
+        }
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            char character = first.charAt(i - 1);
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (character == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+
+    /**
+     * Represents a node of the tree, holding a single word.
+     */
+    private static class Node {
+
+        /**
+         * The word of the node.
+         */
+        private final String word;
+
+        /**
+         * The children of the node, indexed by the distance between their word and the word of
+         * this node. The child at index 0 is always {@code null}.
+         */
+        private Node[] children = new Node[0];
+
+        /**
+         * Constructs a new leaf node.
+         *
+         * @param word The word of the node.
+         */
+        private Node(String word) {
+            this.word = word;
+        }
+
+        /**
+         * Returns the child holding the words at the specified distance.
+         *
+         * @param distance The distance from the word of this node.
+         * @return The child, or {@code null} if there is none.
+         */
+        private Node getChild(int distance) {
+            return distance < children.length ? children[distance] : null;
+        }
+
+        /**
+         * Sets the child holding the words at the specified distance, growing the array of
+         * children if needed.
+         *
+         * @param distance The distance from the word of this node.
+         * @param child    The child.
+         */
+        private void setChild(int distance, Node child) {
+            if (distance >= children.length) {
+                children = Arrays.copyOf(children, distance + 1);
+            }
+            children[distance] = child;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package mightyduck.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Represents a compact store of tasks, which holds each field of every task in a column shared by
+ * all tasks instead of one object graph per task. A million tasks thus take a few dozen bytes
+ * each besides their names, instead of a {@link Task} object with its name, tags and times.
+ *
+ * <p>Names are stored back to back in a single character arena, and tags as their IDs in the
+ * {@link TagDictionary}, also back to back. Times are stored as minutes since the epoch, so their
+ * seconds are dropped, as in the binary snapshot format. A {@link TaskManager} holding the store
+ * as its {@link TaskSource} does not keep the tasks it decodes, which are created on each access
+ * and are thus only short-lived views of the columns.</p>
+ *
+ * <p>Tasks can only be appended to the store, and the store must not be changed once it is held
+ * by a {@link TaskManager}.</p>
+ */
+public class ColumnarTaskStore implements TaskSource {
+
+    /**
+     * The number of seconds in a minute.
+     */
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    /**
+     * The minimum capacity of a column.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * The number of tasks in the store.
+     */
+    private int size;
+
+    /**
+     * The ID to assign to the next added task, or {@link Task#NO_ID} if none is stored.
+     */
+    private int nextId = Task.NO_ID;
+
+    /**
+     * The first character of the signature of each task.
+     */
+    private byte[] signatures;
+
+    /**
+     * The set of positions of the completed tasks.
+     */
+    private final BitSet doneTasks = new BitSet();
+
+    /**
+     * The stable ID of each task, or {@link Task#NO_ID} if it has none.
+     */
+    private int[] ids;
+
+    /**
+     * The deadline of each {@link Deadline} and the start time of each {@link Event}, in minutes
+     * since the epoch.
+     */
+    private long[] firstTimes;
+
+    /**
+     * The end time of each {@link Event}, in minutes since the epoch.
+     */
+    private long[] secondTimes;
+
+    /**
+     * The offset of the name of each task in {@link #nameArena}, followed by the end of the last
+     * name.
+     */
+    private int[] nameOffsets;
+
+    /**
+     * The characters of the names of all tasks, back to back.
+     */
+    private char[] nameArena;
+
+    /**
+     * The offset of the tags of each task in {@link #tagArena}, followed by the end of the tags
+     * of the last task.
+     */
+    private int[] tagOffsets;
+
+    /**
+     * The IDs of the tags of all tasks, back to back.
+     */
+    private int[] tagArena;
+
+    /**
+     * Constructs a new empty {@code ColumnarTaskStore} with room for the specified number of tasks.
+     *
+     * @param capacity The expected number of tasks.
+     */
+    public ColumnarTaskStore(int capacity) {
+        int columnCapacity = Math.max(capacity, MIN_CAPACITY);
+        signatures = new byte[columnCapacity];
+        ids = new int[columnCapacity];
+        firstTimes = new long[columnCapacity];
+        secondTimes = new long[columnCapacity];
+        nameOffsets = new int[columnCapacity + 1];
+        nameArena = new char[columnCapacity];
+        tagOffsets = new int[columnCapacity + 1];
+        tagArena = new int[MIN_CAPACITY];
+    }
+
+    /**
+     * Appends a task to the store. The task itself is not kept.
+     *
+     * @param task The task to append.
+     */
+    public void add(Task task) {
+        assert task != null : "Task should not be null";
+        if (size == ids.length) {
+            int capacity = Math.max(size * 2, MIN_CAPACITY);
+            signatures = Arrays.copyOf(signatures, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            firstTimes = Arrays.copyOf(firstTimes, capacity);
+            secondTimes = Arrays.copyOf(secondTimes, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+            tagOffsets = Arrays.copyOf(tagOffsets, capacity + 1);
+        }
+
+        signatures[size] = (byte) task.getSignature().charAt(0);
+        doneTasks.set(size, task.isMarked());
+        ids[size] = task.getId();
+        if (task instanceof Deadline deadline) {
+            firstTimes[size] = toMinutes(deadline.getDeadline());
+        } else if (task instanceof Event event) {
+            firstTimes[size] = toMinutes(event.getStartTime());
+            secondTimes[size] = toMinutes(event.getEndTime());
+        }
+
+        String name = task.getName();
+        int nameEnd = nameOffsets[size] + name.length();
+        if (nameEnd > nameArena.length) {
+            nameArena = Arrays.copyOf(nameArena, Math.max(nameEnd, nameArena.length * 2));
+        }
+        name.getChars(0, name.length(), nameArena, nameOffsets[size]);
+        nameOffsets[size + 1] = nameEnd;
+
+        int[] taskTagIds = task.getTagIds();
+        int tagEnd = tagOffsets[size] + taskTagIds.length;
+        if (tagEnd > tagArena.length) {
+            tagArena = Arrays.copyOf(tagArena, Math.max(tagEnd, tagArena.length * 2));
+        }
+        System.arraycopy(taskTagIds, 0, tagArena, tagOffsets[size], taskTagIds.length);
+        tagOffsets[size + 1] = tagEnd;
+
+        size++;
+    }
+
+    /**
+     * Shrinks the columns and arenas to the number of tasks and characters they hold, once every
+     * task has been appended.
+     */
+    public void trimToSize() {
+        signatures = Arrays.copyOf(signatures, size);
+        ids = Arrays.copyOf(ids, size);
+        firstTimes = Arrays.copyOf(firstTimes, size);
+        secondTimes = Arrays.copyOf(secondTimes, size);
+        nameOffsets = Arrays.copyOf(nameOffsets, size + 1);
+        nameArena = Arrays.copyOf(nameArena, nameOffsets[size]);
+        tagOffsets = Arrays.copyOf(tagOffsets, size + 1);
+        tagArena = Arrays.copyOf(tagArena, tagOffsets[size]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Creates the task at the specified index from the columns. Every call creates a new task.
+     *
+     * @param index The index of the task.
+     * @return The task at the specified index.
+     */
+    @Override
+    public Task decode(int index) {
+        String name = getName(index);
+        boolean isDone = doneTasks.get(index);
+        List<String> tags = getTags(index);
+
+        Task task;
+        char signature = (char) signatures[index];
+        if (signature == Deadline.SIGNATURE.charAt(0)) {
+            task = new Deadline(name, isDone, toTime(firstTimes[index]), tags);
+        } else if (signature == Event.SIGNATURE.charAt(0)) {
+            task = new Event(name, isDone, toTime(firstTimes[index]), toTime(secondTimes[index]),
+                    tags);
+        } else {
+            task = new ToDo(name, isDone, tags);
+        }
+        if (ids[index] != Task.NO_ID) {
+            task.setId(ids[index]);
+        }
+        return task;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName(int index) {
+        return new String(nameArena, nameOffsets[index],
+                nameOffsets[index + 1] - nameOffsets[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getTags(int index) {
+        String[] tags = new String[tagOffsets[index + 1] - tagOffsets[index]];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = TagDictionary.getTag(tagArena[tagOffsets[index] + i]);
+        }
+        return List.of(tags);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char getSignature(int index) {
+        return (char) signatures[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDateTime getTime(int index) {
+        char signature = (char) signatures[index];
+        return signature == Deadline.SIGNATURE.charAt(0) || signature == Event.SIGNATURE.charAt(0)
+                ? toTime(firstTimes[index])
+                : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDateTime getEndTime(int index) {
+        return signatures[index] == Event.SIGNATURE.charAt(0) ? toTime(secondTimes[index]) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String encode(int index) {
+        return decode(index).encode();
+    }
+
+    /**
+     * Returns {@code false}, as creating a task from the columns is cheap enough to be done on
+     * every access.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean isRetainingTasks() {
+        return false;
+    }
+
+    /**
+     * Sets the ID to assign to the next added task, as stored with the tasks.
+     *
+     * @param nextId The stored next ID.
+     */
+    public void setNextId(int nextId) {
+        this.nextId = nextId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Converts a time to minutes since the epoch, dropping its seconds.
+     *
+     * @param time The time to convert.
+     * @return The number of minutes since the epoch.
+     */
+    private static long toMinutes(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * Converts minutes since the epoch to a time.
+     *
+     * @param minutes The number of minutes since the epoch.
+     * @return The time.
+     */
+    private static LocalDateTime toTime(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+}
@@ -1,10 +1,10 @@
 package mightyduck.task;
 
-import static mightyduck.utils.DateTimeUtils.FORMATTER;
-
 import java.time.LocalDateTime;
 import java.util.List;
 
+import mightyduck.utils.DateTimeUtils;
+
 /**
  * Represents a deadline task with a specific name and deadline time. The task is identified with
  * the signature "D".
@@ -58,6 +58,15 @@ public class Deadline extends Task {
         this.deadline = deadline;
     }
 
+    /**
+     * Gets the deadline time of the task.
+     *
+     * @return The deadline time.
+     */
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
     /**
      * Returns a string representation of the deadline task, including the task's completion status,
      * name, and formatted deadline time.
@@ -66,7 +75,7 @@ public class Deadline extends Task {
      */
     @Override
     public String toString() {
-        return super.toString() + " (by " + deadline.format(FORMATTER) + ")";
+        return super.toString() + " (by " + DateTimeUtils.format(deadline) + ")";
     }
 
     /**
@@ -76,6 +85,6 @@ public class Deadline extends Task {
      */
     @Override
     public List<String> encodedAddedInfo() {
-        return List.of(deadline.format(FORMATTER));
+        return List.of(DateTimeUtils.format(deadline));
     }
 }
@@ -1,10 +1,10 @@
 package mightyduck.task;
 
-import static mightyduck.utils.DateTimeUtils.FORMATTER;
-
 import java.time.LocalDateTime;
 import java.util.List;
 
+import mightyduck.utils.DateTimeUtils;
+
 /**
  * Represents an event task with a specific name and deadline time. The task is identified with the
  * signature "E".
@@ -70,6 +70,24 @@ public class Event extends Task {
         this.endTime = endTime;
     }
 
+    /**
+     * Gets the start time of the event.
+     *
+     * @return The start time.
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Gets the end time of the event.
+     *
+     * @return The end time.
+     */
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
     /**
      * Returns a string representation of the event task, including the task's completion status,
      * name, and formatted start and end times.
@@ -77,8 +95,8 @@ public class Event extends Task {
      * @return A string representation of the event task.
      */
     public String toString() {
-        return super.toString() + " (from " + startTime.format(FORMATTER)
-                + " to " + endTime.format(FORMATTER) + ")";
+        return super.toString() + " (from " + DateTimeUtils.format(startTime)
+                + " to " + DateTimeUtils.format(endTime) + ")";
     }
 
     /**
@@ -88,6 +106,6 @@ public class Event extends Task {
      */
     @Override
     public List<String> encodedAddedInfo() {
-        return List.of(startTime.format(FORMATTER), endTime.format(FORMATTER));
+        return List.of(DateTimeUtils.format(startTime), DateTimeUtils.format(endTime));
     }
 }
@@ -0,0 +1,369 @@
+package mightyduck.task;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Represents an interval tree over the time spans of {@link Event} tasks, which finds the events
+ * overlapping a time span in {@code O(log n + k)} expected time, where {@code k} is the number of
+ * overlapping events.
+ *
+ * <p>The tree is a treap ordered by start time, then by ID, whose priorities are derived from the
+ * IDs. Each node also holds the latest end time within its subtree, which allows skipping every
+ * subtree ending before the searched time span. Two time spans overlap if each starts before the
+ * other ends, so an event ending at the time another one starts does not overlap it, and neither
+ * does an event lasting no time.</p>
+ */
+class EventIntervalTree {
+
+    /**
+     * The initial capacity of the array of IDs returned by a search.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The multiplier spreading the IDs over the range of priorities.
+     */
+    private static final int PRIORITY_MULTIPLIER = 0x9E3779B9;
+
+    /**
+     * The root of the tree, or {@code null} if the tree is empty.
+     */
+    private Node root;
+
+    /**
+     * Records an event.
+     *
+     * @param id    The ID of the event.
+     * @param event The event to record.
+     */
+    void add(int id, Event event) {
+        add(id, event.getStartTime(), event.getEndTime());
+    }
+
+    /**
+     * Records the time span of an event.
+     *
+     * @param id        The ID of the event.
+     * @param startTime The start time of the event.
+     * @param endTime   The end time of the event.
+     */
+    void add(int id, LocalDateTime startTime, LocalDateTime endTime) {
+        root = insert(root, new Node(id, startTime, endTime));
+    }
+
+    /**
+     * Removes an event.
+     *
+     * @param id    The ID of the event.
+     * @param event The event to remove.
+     */
+    void remove(int id, Event event) {
+        root = delete(root, id, event.getStartTime());
+    }
+
+    /**
+     * Finds the events overlapping a time span.
+     *
+     * @param start The start of the time span.
+     * @param end   The end of the time span.
+     * @return The IDs of the overlapping events, sorted in increasing order.
+     */
+    int[] findOverlapping(LocalDateTime start, LocalDateTime end) {
+        IdCollector collector = new IdCollector();
+        search(root, start, end, collector);
+        int[] ids = Arrays.copyOf(collector.ids, collector.count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Finds the events overlapping at least one other event, by searching the tree once for each
+     * event and stopping at the first overlap.
+     *
+     * @return The IDs of the conflicting events, sorted in increasing order.
+     */
+    int[] findConflicting() {
+        IdCollector conflicting = new IdCollector();
+        collectConflicting(root, conflicting);
+        int[] ids = Arrays.copyOf(conflicting.ids, conflicting.count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Collects the events of a subtree which overlap at least one other event of the tree.
+     *
+     * @param node        The root of the subtree.
+     * @param conflicting The collector of the IDs of the conflicting events.
+     */
+    private void collectConflicting(Node node, IdCollector conflicting) {
+        if (node == null) {
+            return;
+        }
+        collectConflicting(node.left, conflicting);
+        if (hasOverlap(root, node.start, node.end, node.id)) {
+            conflicting.add(node.id);
+        }
+        collectConflicting(node.right, conflicting);
+    }
+
+    /**
+     * Checks whether a subtree holds an event overlapping a time span, other than the specified
+     * event. The search stops at the first overlapping event found.
+     *
+     * @param node      The root of the subtree.
+     * @param start     The start of the time span.
+     * @param end       The end of the time span.
+     * @param excludeId The ID of the event to ignore.
+     * @return {@code true} if another event overlaps the time span, {@code false} otherwise.
+     */
+    private static boolean hasOverlap(Node node, LocalDateTime start, LocalDateTime end,
+                                      int excludeId) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return false;
+        }
+        if (hasOverlap(node.left, start, end, excludeId)) {
+            return true;
+        }
+        if (!node.start.isBefore(end)) {
+            return false;
+        }
+        if (node.end.isAfter(start) && node.id != excludeId) {
+            return true;
+        }
+        return hasOverlap(node.right, start, end, excludeId);
+    }
+
+    /**
+     * Collects the events of a subtree overlapping a time span.
+     *
+     * @param node      The root of the subtree.
+     * @param start     The start of the time span.
+     * @param end       The end of the time span.
+     * @param collector The collector of the IDs of the overlapping events.
+     */
+    private static void search(Node node, LocalDateTime start, LocalDateTime end,
+                               IdCollector collector) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        search(node.left, start, end, collector);
+        if (!node.start.isBefore(end)) {
+            return;
+        }
+        if (node.end.isAfter(start)) {
+            collector.add(node.id);
+        }
+        search(node.right, start, end, collector);
+    }
+
+    /**
+     * Inserts a node into a subtree.
+     *
+     * @param node     The root of the subtree.
+     * @param inserted The node to insert.
+     * @return The new root of the subtree.
+     */
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.compareTo(node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Deletes a node from a subtree.
+     *
+     * @param node  The root of the subtree.
+     * @param id    The ID of the event to delete.
+     * @param start The start time of the event to delete.
+     * @return The new root of the subtree.
+     */
+    private static Node delete(Node node, int id, LocalDateTime start) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = node.compareTo(start, id);
+        if (comparison > 0) {
+            node.left = delete(node.left, id, start);
+        } else if (comparison < 0) {
+            node.right = delete(node.right, id, start);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else if (node.left.priority > node.right.priority) {
+            node = rotateRight(node);
+            node.right = delete(node.right, id, start);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, id, start);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Rotates a subtree to the right, making its left child the new root.
+     *
+     * @param node The root of the subtree.
+     * @return The new root of the subtree.
+     */
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    /**
+     * Rotates a subtree to the left, making its right child the new root.
+     *
+     * @param node The root of the subtree.
+     * @return The new root of the subtree.
+     */
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    /**
+     * Represents a node of the tree, holding a single event.
+     */
+    private static class Node {
+
+        /**
+         * The ID of the event.
+         */
+        private final int id;
+
+        /**
+         * The start time of the event.
+         */
+        private final LocalDateTime start;
+
+        /**
+         * The end time of the event.
+         */
+        private final LocalDateTime end;
+
+        /**
+         * The priority of the node, which is greater than the priorities of its children.
+         */
+        private final int priority;
+
+        /**
+         * The latest end time of the events in the subtree rooted at this node.
+         */
+        private LocalDateTime maxEnd;
+
+        /**
+         * The left child, holding the events ordered before this one.
+         */
+        private Node left;
+
+        /**
+         * The right child, holding the events ordered after this one.
+         */
+        private Node right;
+
+        /**
+         * Constructs a new leaf node.
+         *
+         * @param id    The ID of the event.
+         * @param start The start time of the event.
+         * @param end   The end time of the event.
+         */
+        private Node(int id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = id * PRIORITY_MULTIPLIER;
+            this.maxEnd = end;
+        }
+
+        /**
+         * Compares this node with another node, by start time, then by ID.
+         *
+         * @param other The other node.
+         * @return A negative number, zero or a positive number if this node is ordered before, at
+         *         the same position as or after the other node.
+         */
+        private int compareTo(Node other) {
+            return compareTo(other.start, other.id);
+        }
+
+        /**
+         * Compares this node with the position of an event, by start time, then by ID.
+         *
+         * @param otherStart The start time of the event.
+         * @param otherId    The ID of the event.
+         * @return A negative number, zero or a positive number if this node is ordered before, at
+         *         the same position as or after the event.
+         */
+        private int compareTo(LocalDateTime otherStart, int otherId) {
+            int comparison = start.compareTo(otherStart);
+            return comparison != 0 ? comparison : Integer.compare(id, otherId);
+        }
+
+        /**
+         * Recomputes the latest end time of the subtree from the children.
+         */
+        private void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+
+    /**
+     * Represents a growable array of IDs.
+     */
+    private static class IdCollector {
+
+        /**
+         * The collected IDs.
+         */
+        private int[] ids = new int[INITIAL_CAPACITY];
+
+        /**
+         * The number of collected IDs.
+         */
+        private int count;
+
+        /**
+         * Adds an ID, growing the array if needed.
+         *
+         * @param id The ID to add.
+         */
+        private void add(int id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = id;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package mightyduck.task;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Represents an immutable set of zero-based task indices, stored as sorted and disjoint ranges.
+ * Selecting a whole range of tasks, such as all of them, therefore costs two integers instead of
+ * one boxed {@link Integer} per task.
+ */
+public class IndexSelection {
+
+    /**
+     * The bounds of the ranges, where range {@code r} spans from {@code bounds[2 * r]} inclusive
+     * to {@code bounds[2 * r + 1]} exclusive. Ranges are sorted, disjoint and never adjacent.
+     */
+    private final int[] bounds;
+
+    /**
+     * The total number of selected indices.
+     */
+    private final int size;
+
+    /**
+     * Constructs a new {@code IndexSelection} from normalized range bounds.
+     *
+     * @param bounds The bounds of the sorted, disjoint and non-adjacent ranges.
+     */
+    private IndexSelection(int[] bounds) {
+        this.bounds = bounds;
+        int count = 0;
+        for (int i = 0; i < bounds.length; i += 2) {
+            count += bounds[i + 1] - bounds[i];
+        }
+        this.size = count;
+    }
+
+    /**
+     * Creates a selection of the specified indices. Duplicate indices are selected once.
+     *
+     * @param indices The zero-based indices to select.
+     * @return The selection of the indices.
+     */
+    public static IndexSelection of(int... indices) {
+        int[] bounds = new int[indices.length * 2];
+        for (int i = 0; i < indices.length; i++) {
+            bounds[2 * i] = indices[i];
+            bounds[2 * i + 1] = indices[i] + 1;
+        }
+        return ofRanges(bounds);
+    }
+
+    /**
+     * Creates a selection of the union of the specified ranges, which may overlap and be given in
+     * any order.
+     *
+     * @param bounds The bounds of the ranges, where range {@code r} spans from
+     *               {@code bounds[2 * r]} inclusive to {@code bounds[2 * r + 1]} exclusive.
+     * @return The selection of the indices within any of the ranges.
+     */
+    public static IndexSelection ofRanges(int[] bounds) {
+        assert bounds.length % 2 == 0 : "Range bounds should come in pairs";
+        int rangeCount = bounds.length / 2;
+        long[] ranges = new long[rangeCount];
+        for (int r = 0; r < rangeCount; r++) {
+            assert bounds[2 * r] <= bounds[2 * r + 1] : "Range should not be reversed";
+            ranges[r] = ((long) bounds[2 * r] << Integer.SIZE)
+                    | (bounds[2 * r + 1] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(ranges);
+
+        int[] merged = new int[bounds.length];
+        int length = 0;
+        for (long range : ranges) {
+            int from = (int) (range >> Integer.SIZE);
+            int to = (int) range;
+            if (from == to) {
+                continue;
+            }
+            if (length > 0 && from <= merged[length - 1]) {
+                merged[length - 1] = Math.max(merged[length - 1], to);
+            } else {
+                merged[length++] = from;
+                merged[length++] = to;
+            }
+        }
+        return new IndexSelection(Arrays.copyOf(merged, length));
+    }
+
+    /**
+     * Returns the number of selected indices.
+     *
+     * @return The number of selected indices.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether no index is selected.
+     *
+     * @return {@code true} if no index is selected, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the smallest selected index.
+     *
+     * @return The smallest selected index.
+     * @throws NoSuchElementException If no index is selected.
+     */
+    public int getFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return bounds[0];
+    }
+
+    /**
+     * Returns the largest selected index.
+     *
+     * @return The largest selected index.
+     * @throws NoSuchElementException If no index is selected.
+     */
+    public int getLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return bounds[bounds.length - 1] - 1;
+    }
+
+    /**
+     * Returns an iterator over the selected indices in increasing order.
+     *
+     * @return An iterator over the selected indices.
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int boundIndex;
+            private int next = bounds.length > 0 ? bounds[0] : 0;
+
+            @Override
+            public boolean hasNext() {
+                return boundIndex < bounds.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int index = next++;
+                if (next == bounds[boundIndex + 1]) {
+                    boundIndex += 2;
+                    if (boundIndex < bounds.length) {
+                        next = bounds[boundIndex];
+                    }
+                }
+                return index;
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over the selected indices in decreasing order.
+     *
+     * @return An iterator over the selected indices.
+     */
+    public PrimitiveIterator.OfInt descendingIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int boundIndex = bounds.length - 2;
+            private int next = bounds.length > 0 ? bounds[bounds.length - 1] - 1 : 0;
+
+            @Override
+            public boolean hasNext() {
+                return boundIndex >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int index = next--;
+                if (index == bounds[boundIndex]) {
+                    boundIndex -= 2;
+                    if (boundIndex >= 0) {
+                        next = bounds[boundIndex + 1] - 1;
+                    }
+                }
+                return index;
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package mightyduck.task;
+
+/**
+ * A task paired with its zero-based index in the list of a {@link TaskManager}. Unlike a
+ * {@code Pair<Integer, Task>}, the index is stored as a primitive, so no {@link Integer} is
+ * allocated for it.
+ *
+ * @param index The zero-based index of the task.
+ * @param task  The task.
+ */
+public record IndexedTask(int index, Task task) {
+}
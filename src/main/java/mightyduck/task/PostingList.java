@@ -0,0 +1,186 @@
+package mightyduck.task;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Represents a sorted set of task IDs backed by an {@code int} array, used as the posting list of
+ * a term in the search indices of a {@link TaskManager}. Unlike a {@link java.util.BitSet}, its
+ * size depends only on the number of IDs it holds, which suits terms held by few tasks.
+ */
+class PostingList {
+
+    /**
+     * The initial capacity of the array of IDs.
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * The IDs, sorted in increasing order in the first {@link #size} entries.
+     */
+    private int[] ids = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of IDs.
+     */
+    private int size;
+
+    /**
+     * Adds an ID if it is not present yet. Appending an ID greater than every other ID, which is
+     * the common case as IDs are assigned in increasing order, takes constant time.
+     *
+     * @param id The ID to add.
+     */
+    void add(int id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            insert(-index - 1, id);
+        } else {
+            insert(size, id);
+        }
+    }
+
+    /**
+     * Removes an ID if it is present.
+     *
+     * @param id The ID to remove.
+     */
+    void remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Checks whether the list holds no ID.
+     *
+     * @return {@code true} if the list is empty, {@code false} otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of IDs.
+     *
+     * @return The number of IDs.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list holds an ID.
+     *
+     * @param id The ID to look for.
+     * @return {@code true} if the list holds the ID, {@code false} otherwise.
+     */
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * Copies the IDs into an array.
+     *
+     * @param destination The array to copy into.
+     * @param offset      The position of the first copied ID in the array.
+     */
+    void copyTo(int[] destination, int offset) {
+        System.arraycopy(ids, 0, destination, offset, size);
+    }
+
+    /**
+     * Computes the union of several posting lists.
+     *
+     * @param lists The posting lists.
+     * @return The IDs held by at least one of the lists, sorted in increasing order.
+     */
+    static int[] union(Collection<PostingList> lists) {
+        int total = 0;
+        for (PostingList list : lists) {
+            total += list.size;
+        }
+        int[] union = new int[total];
+        int offset = 0;
+        for (PostingList list : lists) {
+            list.copyTo(union, offset);
+            offset += list.size;
+        }
+        if (lists.size() <= 1) {
+            return union;
+        }
+
+        Arrays.sort(union);
+        int distinctCount = 0;
+        for (int i = 0; i < union.length; i++) {
+            if (i == 0 || union[i] != union[i - 1]) {
+                union[distinctCount++] = union[i];
+            }
+        }
+        return Arrays.copyOf(union, distinctCount);
+    }
+
+    /**
+     * Merges several sorted arrays of IDs.
+     *
+     * @param idArrays The arrays of IDs, each sorted in increasing order.
+     * @return The IDs held by at least one of the arrays, sorted in increasing order.
+     */
+    static int[] merge(List<int[]> idArrays) {
+        if (idArrays.size() == 1) {
+            return idArrays.get(0);
+        }
+        return idArrays.stream().flatMapToInt(Arrays::stream).sorted().distinct().toArray();
+    }
+
+    /**
+     * Computes the intersection of several posting lists, by looking up each ID of the shortest
+     * list in the other lists.
+     *
+     * @param lists The posting lists, of which there must be at least one.
+     * @return The IDs held by all the lists, sorted in increasing order.
+     */
+    static int[] intersect(List<PostingList> lists) {
+        assert !lists.isEmpty() : "Posting lists should not be empty";
+        PostingList shortest = Collections.min(lists, Comparator.comparingInt(PostingList::size));
+        int[] intersection = new int[shortest.size];
+        int count = 0;
+        for (int i = 0; i < shortest.size; i++) {
+            int id = shortest.ids[i];
+            boolean isInAll = true;
+            for (PostingList list : lists) {
+                if (list != shortest && !list.contains(id)) {
+                    isInAll = false;
+                    break;
+                }
+            }
+            if (isInAll) {
+                intersection[count++] = id;
+            }
+        }
+        return Arrays.copyOf(intersection, count);
+    }
+
+    /**
+     * Inserts an ID at the specified position, growing the array if needed.
+     *
+     * @param index The position of the ID.
+     * @param id    The ID to insert.
+     */
+    private void insert(int index, int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+}
@@ -0,0 +1,102 @@
+package mightyduck.task;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A global dictionary assigning a small integer ID to every distinct tag, so that tasks can store
+ * their tags as {@code int} arrays and share a single {@link String} instance per tag. IDs are
+ * assigned in the order tags are first seen and are never reused.
+ *
+ * <p>The dictionary may be used concurrently, e.g. while snapshot chunks are decoded in
+ * parallel.</p>
+ */
+public class TagDictionary {
+
+    /**
+     * The ID returned for a tag which is not in the dictionary.
+     */
+    public static final int NO_TAG = -1;
+
+    /**
+     * The initial capacity of the array of tags.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The ID of each tag in the dictionary.
+     */
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+
+    /**
+     * The lock guarding the assignment of new IDs.
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * The tags in the dictionary, indexed by their ID. The array is replaced when it grows, and an
+     * entry is always written before its ID is published in {@link #IDS}.
+     */
+    private static volatile String[] tags = new String[INITIAL_CAPACITY];
+
+    /**
+     * The number of tags in the dictionary.
+     */
+    private static int size;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private TagDictionary() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Returns the ID of a tag, adding the tag to the dictionary if it is not there yet.
+     *
+     * @param tag The tag.
+     * @return The ID of the tag.
+     */
+    public static int intern(String tag) {
+        assert tag != null : "Tag should not be null";
+        Integer id = IDS.get(tag);
+        if (id != null) {
+            return id;
+        }
+        synchronized (LOCK) {
+            id = IDS.get(tag);
+            if (id != null) {
+                return id;
+            }
+            String[] current = tags;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = tag;
+            tags = current;
+            IDS.put(tag, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Returns the ID of a tag without adding it to the dictionary.
+     *
+     * @param tag The tag.
+     * @return The ID of the tag, or {@link #NO_TAG} if it is not in the dictionary.
+     */
+    public static int find(String tag) {
+        return IDS.getOrDefault(tag, NO_TAG);
+    }
+
+    /**
+     * Returns the tag with the specified ID.
+     *
+     * @param id An ID returned by {@link #intern(String)}.
+     * @return The tag with the ID.
+     */
+    public static String getTag(int id) {
+        return tags[id];
+    }
+}
@@ -1,15 +1,15 @@
 package mightyduck.task;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import mightyduck.exception.InvalidValueException;
 import mightyduck.utils.Messages;
 
 /**
- * Represents an abstract task.
+ * Represents an abstract task. Tags are stored as their IDs in the {@link TagDictionary}.
  */
-public abstract class Task {
+public abstract class Task implements Cloneable {
 
     /**
      * A string representing the completed status of a task in storage.
@@ -21,6 +21,11 @@ public abstract class Task {
      */
     public static final String STATUS_NOT_DONE_STORAGE = "0";
 
+    /**
+     * The ID of a task which has not been added to a {@link TaskManager} yet.
+     */
+    public static final int NO_ID = 0;
+
     /**
      * A string representing the completed status of a task for display.
      */
@@ -47,9 +52,14 @@ public abstract class Task {
     private boolean isDone;
 
     /**
-     * The list of tags associated with the task.
+     * The IDs of the tags associated with the task, in the order they were added.
+     */
+    private int[] tagIds;
+
+    /**
+     * The stable ID of the task, which does not change when other tasks are added or deleted.
      */
-    private final List<String> tags;
+    private int id = NO_ID;
 
     /**
      * Constructs a new {@code Task} with the specified name, signature, completion status, and
@@ -64,7 +74,10 @@ public abstract class Task {
         this.name = name;
         this.signature = signature;
         this.isDone = isDone;
-        this.tags = tags;
+        this.tagIds = new int[tags.size()];
+        for (int i = 0; i < tagIds.length; i++) {
+            tagIds[i] = TagDictionary.intern(tags.get(i));
+        }
     }
 
     /**
@@ -77,7 +90,7 @@ public abstract class Task {
         this.name = name;
         isDone = false;
         this.signature = signature;
-        this.tags = new ArrayList<>();
+        this.tagIds = new int[0];
     }
 
     /**
@@ -90,7 +103,7 @@ public abstract class Task {
     public String toString() {
         return "[" + signature + "]"
                 + "[" + (isDone ? STATUS_DONE_DISPLAY : STATUS_NOT_DONE_DISPLAY) + "]"
-                + "[" + (tags.isEmpty() ? " " : String.join(", ", tags)) + "]\n"
+                + "[" + (tagIds.length == 0 ? " " : String.join(", ", getTags())) + "]\n"
                 + name;
     }
 
@@ -103,6 +116,72 @@ public abstract class Task {
         return name;
     }
 
+    /**
+     * Gets the stable ID of the task.
+     *
+     * @return The ID of the task, or {@link #NO_ID} if it has not been assigned yet.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the stable ID of the task. IDs are assigned by the {@link TaskManager} holding the task,
+     * or restored from storage.
+     *
+     * @param id The ID of the task.
+     */
+    public void setId(int id) {
+        assert id > NO_ID : "Task ID should be positive";
+        this.id = id;
+    }
+
+    /**
+     * Returns a copy of the task, including its ID, which can be changed without affecting this
+     * task. The array of tag IDs is shared, as it is replaced rather than changed in place.
+     *
+     * @return The copy of the task.
+     */
+    public Task copy() {
+        try {
+            return (Task) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Gets the signature representing the type of the task.
+     *
+     * @return The signature of the task.
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * Gets the tags associated with the task, in the order they were added.
+     *
+     * @return An unmodifiable list of the tags of the task.
+     */
+    public List<String> getTags() {
+        String[] tags = new String[tagIds.length];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = TagDictionary.getTag(tagIds[i]);
+        }
+        return List.of(tags);
+    }
+
+    /**
+     * Gets the IDs of the tags associated with the task in the {@link TagDictionary}, in the order
+     * they were added. The array is shared and must not be changed.
+     *
+     * @return The IDs of the tags of the task.
+     */
+    int[] getTagIds() {
+        return tagIds;
+    }
+
     /**
      * Checks if the task contains the specified tag.
      *
@@ -110,7 +189,8 @@ public abstract class Task {
      * @return {@code true} if the tag exists in the task, otherwise {@code false}.
      */
     public boolean hasTag(String tag) {
-        return tags.contains(tag);
+        int tagId = TagDictionary.find(tag);
+        return tagId != TagDictionary.NO_TAG && indexOfTag(tagId) >= 0;
     }
 
     /**
@@ -154,10 +234,12 @@ public abstract class Task {
      */
     public void addTags(List<String> tags) throws InvalidValueException {
         for (String tag: tags) {
-            if (this.tags.contains(tag)) {
+            int tagId = TagDictionary.intern(tag);
+            if (indexOfTag(tagId) >= 0) {
                 throw new InvalidValueException(String.format(Messages.TAG_ALREADY_EXISTED, tag, name));
             }
-            this.tags.add(tag);
+            tagIds = Arrays.copyOf(tagIds, tagIds.length + 1);
+            tagIds[tagIds.length - 1] = tagId;
         }
     }
 
@@ -169,26 +251,47 @@ public abstract class Task {
      */
     public void removeTags(List<String> tags) throws InvalidValueException {
         for (String tag: tags) {
-            if (!this.tags.contains(tag)) {
+            int tagId = TagDictionary.find(tag);
+            int index = tagId == TagDictionary.NO_TAG ? -1 : indexOfTag(tagId);
+            if (index < 0) {
                 throw new InvalidValueException(String.format(Messages.TAG_NOT_FOUND, tag, name));
             }
-            this.tags.remove(tag);
+            int[] remaining = new int[tagIds.length - 1];
+            System.arraycopy(tagIds, 0, remaining, 0, index);
+            System.arraycopy(tagIds, index + 1, remaining, index, remaining.length - index);
+            tagIds = remaining;
+        }
+    }
+
+    /**
+     * Finds the position of a tag among the tags of the task.
+     *
+     * @param tagId The ID of the tag.
+     * @return The position of the tag, or {@code -1} if the task does not have it.
+     */
+    private int indexOfTag(int tagId) {
+        for (int i = 0; i < tagIds.length; i++) {
+            if (tagIds[i] == tagId) {
+                return i;
+            }
         }
+        return -1;
     }
 
     /**
      * Encodes the task into a string representation suitable for storage, including type,
      * completion status, and name. Appends additional encoded information from the subclass
-     * implementation.
+     * implementation, followed by the ID of the task if it has one.
      *
      * @return An encoded string representation of the task.
      */
     public String encode() {
         return signature + "|"
                 + (isDone ? STATUS_DONE_STORAGE : STATUS_NOT_DONE_STORAGE) + "|"
-                + String.join(",", tags) + "|"
+                + String.join(",", getTags()) + "|"
                 + name + "|"
-                + String.join(",", encodedAddedInfo());
+                + String.join(",", encodedAddedInfo())
+                + (id == NO_ID ? "" : "|" + id);
     }
 
     /**
@@ -0,0 +1,13 @@
+package mightyduck.task;
+
+/**
+ * Represents a single modification applied to the task list of a {@link TaskManager}. Changes are
+ * recorded in the order they are applied, so replaying them in that order on the previous state of
+ * the list reproduces the current state.
+ *
+ * @param type  The kind of modification.
+ * @param index The index of the affected task at the time the change was applied.
+ * @param task  The affected task.
+ */
+public record TaskChange(TaskChangeType type, int index, Task task) {
+}
@@ -0,0 +1,23 @@
+package mightyduck.task;
+
+/**
+ * Enum representing the kinds of modifications that can be applied to the task list of a
+ * {@link TaskManager}.
+ */
+public enum TaskChangeType {
+
+    /**
+     * Indicates that a task was appended to the end of the list.
+     */
+    ADD,
+
+    /**
+     * Indicates that the task at an index was modified in place, e.g. marked or tagged.
+     */
+    UPDATE,
+
+    /**
+     * Indicates that the task at an index was removed from the list.
+     */
+    DELETE
+}
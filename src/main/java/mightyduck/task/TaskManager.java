@@ -1,41 +1,235 @@
 package mightyduck.task;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntUnaryOperator;
 
 import mightyduck.exception.InvalidValueException;
+import mightyduck.exception.TaskDecodeException;
 import mightyduck.utils.Messages;
-import mightyduck.utils.Pair;
 
 /**
- * Manages a collection of tasks.
+ * Manages a collection of tasks. Tasks loaded from a {@link TaskSource} are only decoded on first
+ * access, so that tasks which are never accessed cost little more than their stored record.
+ *
+ * <p>Besides its position in the list, every task has a stable ID which does not change when
+ * other tasks are added or deleted. IDs are assigned in increasing order, so the list is always
+ * sorted by ID. The list is a counted B+-tree, so that accessing, adding and deleting the task at
+ * a position, as well as finding the position of an ID, all take {@code O(log n)} time.</p>
+ *
+ * <p>Inverted indices from each tag, and from each word and each trigram of the task names, to
+ * the IDs of the matching tasks answer tag and keyword queries without scanning every task, while a
+ * time index answers time range queries and an interval tree answers event overlap queries. The
+ * name indices are only built by the first keyword query, as they are much larger than the others;
+ * for tasks loaded from a {@link TaskSource}, so are the other indices. Building an index reads
+ * the fields it needs through the slots, so a source which does not retain its tasks, such as a
+ * {@link ColumnarTaskStore}, is read column by column without creating a task per record.</p>
+ *
+ * <p>A {@code TaskManager} may be used from several threads. Changes, including those to several
+ * tasks at once, are applied atomically under a write lock, after which the new version of the
+ * list is published as a persistent snapshot. Reads of tasks by index or ID, copies and pages of
+ * the list and encoding go through the latest snapshot without locking, so they never wait for a
+ * change and always see a single version. Changed tasks are replaced with changed copies, so a
+ * task returned by a read is not affected by later changes either.</p>
+ *
+ * <p>Searches are not lock-free: the search indices are changed in place rather than published
+ * with the snapshot, so every search runs under a read lock and waits for a change in progress,
+ * such as marking every task, to complete. A missing index may be built under the read lock, and
+ * the indices are published through volatile fields, so that concurrent searches building the
+ * same index only duplicate work.</p>
  */
 public class TaskManager {
 
     /**
-     * A list storing all tasks managed by this instance.
+     * A list storing the slots of all tasks managed by this instance.
      */
-    private final List<Task> tasks;
+    private final TaskSlotList tasks;
 
     /**
-     * Constructs a new TaskManager instance. Initializes the tasks list as an empty ArrayList.
+     * The first ID assigned to a task.
+     */
+    private static final int FIRST_ID = 1;
+
+    /**
+     * The read-only snapshot of the list of slots as of the last change, which is read without
+     * locking.
+     */
+    private final AtomicReference<TaskSlotList> published;
+
+    /**
+     * An inverted index from each tag to the set of IDs of the tasks having it, or {@code null} if
+     * it has not been built yet.
+     */
+    private volatile Map<String, BitSet> tasksByTag;
+
+    /**
+     * An inverted index from each word of the task names to the IDs of the tasks having it, or
+     * {@code null} if it has not been built yet.
+     */
+    private volatile WordIndex wordIndex;
+
+    /**
+     * An inverted index from each trigram of the task names to the IDs of the tasks having it, or
+     * {@code null} if it has not been built yet.
+     */
+    private volatile TrigramIndex trigramIndex;
+
+    /**
+     * An index of the tasks ordered by their time, or {@code null} if it has not been built yet.
+     */
+    private volatile TimeIndex timeIndex;
+
+    /**
+     * An interval tree over the time spans of the events, or {@code null} if it has not been built
+     * yet.
+     */
+    private volatile EventIntervalTree eventTree;
+
+    /**
+     * The changes applied to the tasks since they were last drained, in the order they were
+     * applied.
+     */
+    private final List<TaskChange> changes;
+
+    /**
+     * The number of changes applied to the tasks since this instance was constructed.
+     */
+    private volatile long version;
+
+    /**
+     * The ID assigned to the next added task. It is greater than the ID of every task ever added,
+     * including deleted tasks, so that IDs are never reused.
+     */
+    private volatile int nextId = FIRST_ID;
+
+    /**
+     * The lock guarding the tasks, the search indices and the changes. Searches hold the read lock
+     * and every change holds the write lock, so that a change to several tasks is applied
+     * atomically. Other reads go through {@link #published} instead.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Constructs a new TaskManager instance. Initializes the tasks list as an empty list.
      */
     public TaskManager() {
-        tasks = new ArrayList<>();
+        tasks = new TaskSlotList();
+        changes = new ArrayList<>();
+        tasksByTag = new HashMap<>();
+        timeIndex = new TimeIndex();
+        eventTree = new EventIntervalTree();
+        published = new AtomicReference<>(tasks.snapshot());
+    }
+
+    /**
+     * Constructs a new TaskManager instance holding the given tasks. The tasks keep their IDs if
+     * these are strictly increasing; otherwise, all tasks are numbered again in order. The tasks
+     * are considered already persisted, so no changes are recorded for them.
+     *
+     * @param tasks The initial list of tasks.
+     */
+    public TaskManager(List<Task> tasks) {
+        assert tasks != null : "Task list should not be null";
+        this.tasks = new TaskSlotList();
+        changes = new ArrayList<>();
+        tasksByTag = new HashMap<>();
+        timeIndex = new TimeIndex();
+        eventTree = new EventIntervalTree();
+        boolean isRenumbered = !hasIncreasingIds(tasks.size(), i -> tasks.get(i).getId());
+        for (Task task : tasks) {
+            addSlot(new TaskSlot(isRenumbered ? nextId : task.getId(), task));
+        }
+        published = new AtomicReference<>(this.tasks.snapshot());
     }
 
     /**
-     * Adds a task to the task list.
+     * Constructs a new TaskManager instance holding the tasks of the given source. Each task is
+     * only decoded on first access; a task which turns out to be invalid then raises a
+     * {@link TaskDecodeException}. The tasks are considered already persisted, so no changes are
+     * recorded for them.
+     *
+     * @param source The source of the stored tasks.
+     */
+    public TaskManager(TaskSource source) {
+        assert source != null : "Task source should not be null";
+        int size = source.size();
+        tasks = new TaskSlotList();
+        changes = new ArrayList<>();
+        boolean isRenumbered = !hasIncreasingIds(size, source::getId);
+        for (int i = 0; i < size; i++) {
+            addSlot(new TaskSlot(isRenumbered ? nextId : source.getId(i), source, i));
+        }
+        nextId = Math.max(nextId, source.getNextId());
+        published = new AtomicReference<>(tasks.snapshot());
+    }
+
+    /**
+     * Constructs a new read-only TaskManager instance holding a snapshot of the tasks of another
+     * instance. It has no pending changes and its version is zero.
+     *
+     * @param snapshot The read-only snapshot of the list of slots.
+     * @param nextId   The ID assigned to the next added task by the other instance.
+     */
+    private TaskManager(TaskSlotList snapshot, int nextId) {
+        tasks = snapshot;
+        this.nextId = nextId;
+        changes = List.of();
+        published = new AtomicReference<>(snapshot);
+    }
+
+    /**
+     * Adds a task to the task list. The task keeps its ID if it is greater than the ID of every
+     * other task, e.g. when a stored change is replayed; otherwise, it is assigned a new ID.
      *
      * @param task The task to be added.
      * @return The index at which the task was added.
      */
     public int addTask(Task task) {
         assert task != null : "Task should not be null";
-        tasks.add(task);
-        return getTaskCount() - 1;
+        long stamp = lock.writeLock();
+        try {
+            addSlot(new TaskSlot(Math.max(task.getId(), nextId), task));
+            int index = tasks.size() - 1;
+            recordChange(TaskChangeType.ADD, index, task);
+            publish();
+            return index;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replaces the task at the specified index. The new task takes over the ID of the replaced
+     * task.
+     *
+     * @param index The index of the task to replace.
+     * @param task  The new task.
+     * @throws InvalidValueException If the index is out of range.
+     */
+    public void replaceTask(int index, Task task) throws InvalidValueException {
+        assert task != null : "Task should not be null";
+        long stamp = lock.writeLock();
+        try {
+            validateIndices(IndexSelection.of(index));
+            TaskSlot replacedSlot = tasks.get(index);
+            tasks.set(index, new TaskSlot(replacedSlot.getId(), task));
+            if (isIndexed()) {
+                removeFromIndices(replacedSlot.getId(), replacedSlot.get());
+            }
+            addToIndices(replacedSlot.getId(), task);
+            recordChange(TaskChangeType.UPDATE, index, task);
+            publish();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -46,10 +240,42 @@ public class TaskManager {
      * @throws InvalidValueException If the index is out of range.
      */
     public Task getTask(int index) throws InvalidValueException {
-        if (index < 0 || index >= tasks.size()) {
+        TaskSlotList snapshot = published.get();
+        if (index < 0 || index >= snapshot.size()) {
             throw new InvalidValueException(String.format(Messages.OUT_OF_RANGE_INDEX, index));
         }
-        return tasks.get(index);
+        return snapshot.get(index).get();
+    }
+
+    /**
+     * Retrieves the task with the specified ID.
+     *
+     * @param id The ID of the task to retrieve.
+     * @return The {@link Task} with the specified ID.
+     * @throws InvalidValueException If no task has the ID.
+     */
+    public Task getTaskById(int id) throws InvalidValueException {
+        TaskSlot slot = published.get().getById(id);
+        if (slot == null) {
+            throw new InvalidValueException(String.format(Messages.UNKNOWN_TASK_ID, id));
+        }
+        return slot.get();
+    }
+
+    /**
+     * Returns the index of the task with the specified ID. As the list is sorted by ID, the index
+     * is found by searching the tree, without decoding any task.
+     *
+     * @param id The ID of the task.
+     * @return The index of the task with the specified ID.
+     * @throws InvalidValueException If no task has the ID.
+     */
+    public int getIndexOfId(int id) throws InvalidValueException {
+        int index = published.get().indexOfId(id);
+        if (index < 0) {
+            throw new InvalidValueException(String.format(Messages.UNKNOWN_TASK_ID, id));
+        }
+        return index;
     }
 
     /**
@@ -58,199 +284,820 @@ public class TaskManager {
      * @return The number of tasks.
      */
     public int getTaskCount() {
-        return tasks.size();
+        return published.get().size();
     }
 
     /**
-     * Returns a copy of the list of tasks.
+     * Returns the version of the tasks, which is incremented every time a change is applied to
+     * them. Read-only operations and operations that fail validation leave it unchanged.
+     *
+     * @return The current version of the tasks.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns a copy of the list of tasks, taken from the latest snapshot without locking.
      *
      * @return A new {@link List} containing all tasks.
      */
     public List<Task> getTasks() {
-        return new ArrayList<>(tasks);
+        TaskSlotList snapshot = published.get();
+        List<Task> result = new ArrayList<>(snapshot.size());
+        for (TaskSlot slot : snapshot) {
+            result.add(slot.get());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a read-only window over all tasks paired with their index, in the order of the
+     * list, taken from the latest snapshot without locking. Only the tasks accessed through the
+     * window are decoded.
+     *
+     * @return The {@link TaskWindow} over all tasks.
+     */
+    public TaskWindow listTasks() {
+        return listTasks(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a read-only window over at most the specified number of tasks, starting at the
+     * specified index, taken from the latest snapshot without locking. Only the tasks accessed
+     * through the window are decoded.
+     *
+     * @param offset The index of the first task of the window, which may be past the last task.
+     * @param limit  The maximum number of tasks in the window.
+     * @return The {@link TaskWindow} over the tasks.
+     */
+    public TaskWindow listTasks(int offset, int limit) {
+        assert offset >= 0 && limit >= 0 : "Window bounds should not be negative";
+        return new TaskWindow(published.get(), offset, limit);
+    }
+
+    /**
+     * Returns a read-only {@code TaskManager} holding the current version of the tasks, in
+     * constant time. Later changes to this instance do not affect it, so it may be read, e.g.
+     * encoded for storage, while commands keep changing this instance. Changing it throws an
+     * {@link UnsupportedOperationException}.
+     *
+     * @return The read-only snapshot of the tasks.
+     */
+    public TaskManager snapshot() {
+        // The list is read first, so that the next ID is never behind the tasks of the snapshot.
+        TaskSlotList snapshot = published.get();
+        return new TaskManager(snapshot, nextId);
     }
 
     /**
-     * Marks tasks at the specified indices as completed.
+     * Returns the ID assigned to the next added task. It is greater than the ID of every task ever
+     * added, including deleted tasks, so a snapshot stores it to keep IDs from being reused.
      *
-     * @param indices The list of indices of the tasks to mark.
-     * @return A list of {@link Pair} with the index and the marked {@link Task}.
+     * @return The ID of the next added task.
+     */
+    public int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Ensures that the tasks added from now on are assigned IDs no lower than the specified ID,
+     * e.g. to restore the IDs of deleted tasks stored with a snapshot. A lower ID is ignored.
+     *
+     * @param nextId The lowest ID of the next added task.
+     */
+    public void reserveIds(int nextId) {
+        long stamp = lock.writeLock();
+        try {
+            this.nextId = Math.max(this.nextId, nextId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Marks the selected tasks as completed.
+     *
+     * @param indices The selection of indices of the tasks to mark.
+     * @return A list of the marked tasks paired with their index, in the order of the list.
      * @throws InvalidValueException If any of the indices are out of range or if any tasks are
      *                               already marked.
      */
-    public List<Pair<Integer, Task>> markTasks(List<Integer> indices) throws InvalidValueException {
-        validateIndices(indices);
-        for (int index : indices) {
-            Task task = getTask(index);
-            if (task.isMarked()) {
-                throw new InvalidValueException(
-                        String.format(Messages.ALREADY_MARKED, task.getName()));
+    public List<IndexedTask> markTasks(IndexSelection indices)
+            throws InvalidValueException {
+        long stamp = lock.writeLock();
+        try {
+            validateIndices(indices);
+            PrimitiveIterator.OfInt it = indices.iterator();
+            while (it.hasNext()) {
+                Task task = tasks.get(it.nextInt()).get();
+                if (task.isMarked()) {
+                    throw new InvalidValueException(
+                            String.format(Messages.ALREADY_MARKED, task.getName()));
+                }
             }
-        }
 
-        List<Pair<Integer, Task>> result = new ArrayList<>();
-        for (int index : indices) {
-            Task task = getTask(index);
-            task.mark();
-            result.add(new Pair<>(index, task));
+            List<IndexedTask> result = new ArrayList<>(indices.size());
+            it = indices.iterator();
+            while (it.hasNext()) {
+                int index = it.nextInt();
+                Task task = replaceWithCopy(index);
+                task.mark();
+                recordChange(TaskChangeType.UPDATE, index, task);
+                result.add(new IndexedTask(index, task));
+            }
+            publish();
+            return result;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        return result;
     }
 
     /**
-     * Marks tasks at the specified indices as not completed.
+     * Marks the selected tasks as not completed.
      *
-     * @param indices The list of indices of the tasks to unmark.
-     * @return A list of {@link Pair} with the index and the unmarked {@link Task}.
+     * @param indices The selection of indices of the tasks to unmark.
+     * @return A list of the unmarked tasks paired with their index, in the order of the list.
      * @throws InvalidValueException If any of the indices are out of range or if any tasks are
      *                               already unmarked.
      */
-    public List<Pair<Integer, Task>> unmarkTasks(List<Integer> indices)
+    public List<IndexedTask> unmarkTasks(IndexSelection indices)
             throws InvalidValueException {
-        validateIndices(indices);
-        for (int index : indices) {
-            Task task = getTask(index);
-            if (!task.isMarked()) {
-                throw new InvalidValueException(
-                        String.format(Messages.ALREADY_UNMARKED, task.getName()));
+        long stamp = lock.writeLock();
+        try {
+            validateIndices(indices);
+            PrimitiveIterator.OfInt it = indices.iterator();
+            while (it.hasNext()) {
+                Task task = tasks.get(it.nextInt()).get();
+                if (!task.isMarked()) {
+                    throw new InvalidValueException(
+                            String.format(Messages.ALREADY_UNMARKED, task.getName()));
+                }
             }
-        }
 
-        List<Pair<Integer, Task>> result = new ArrayList<>();
-        for (int index : indices) {
-            Task task = getTask(index);
-            task.unmark();
-            result.add(new Pair<>(index, task));
+            List<IndexedTask> result = new ArrayList<>(indices.size());
+            it = indices.iterator();
+            while (it.hasNext()) {
+                int index = it.nextInt();
+                Task task = replaceWithCopy(index);
+                task.unmark();
+                recordChange(TaskChangeType.UPDATE, index, task);
+                result.add(new IndexedTask(index, task));
+            }
+            publish();
+            return result;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        return result;
     }
 
     /**
-     * Assigns the specified tags to tasks at the given indices.
+     * Assigns the specified tags to the selected tasks.
      *
-     * @param indices The list of indices of the tasks to be tagged.
+     * @param indices The selection of indices of the tasks to be tagged.
      * @param tags    The list of tags to be assigned.
-     * @return A list of {@link Pair} with the index and the tagged {@link Task}.
+     * @return A list of the tagged tasks paired with their index, in the order of the list.
      * @throws InvalidValueException If any of the indices are out of range or if any tasks already
      *                               have one of the tags.
      */
-    public List<Pair<Integer, Task>> tagTasks(List<Integer> indices, List<String> tags)
+    public List<IndexedTask> tagTasks(IndexSelection indices, List<String> tags)
             throws InvalidValueException {
-        validateIndices(indices);
-        for (int index : indices) {
-            Task task = getTask(index);
-            for (String tag : tags) {
-                if (task.hasTag(tag)) {
-                    throw new InvalidValueException(
-                            String.format(Messages.TAG_ALREADY_EXISTED, tag, task.getName()));
+        long stamp = lock.writeLock();
+        try {
+            validateIndices(indices);
+            PrimitiveIterator.OfInt it = indices.iterator();
+            while (it.hasNext()) {
+                Task task = tasks.get(it.nextInt()).get();
+                for (String tag : tags) {
+                    if (task.hasTag(tag)) {
+                        throw new InvalidValueException(
+                                String.format(Messages.TAG_ALREADY_EXISTED, tag, task.getName()));
+                    }
                 }
             }
-        }
 
-        List<Pair<Integer, Task>> result = new ArrayList<>();
-        for (int index : indices) {
-            Task task = getTask(index);
-            task.addTags(tags);
-            result.add(new Pair<>(index, task));
+            List<IndexedTask> result = new ArrayList<>(indices.size());
+            it = indices.iterator();
+            while (it.hasNext()) {
+                int index = it.nextInt();
+                Task task = replaceWithCopy(index);
+                task.addTags(tags);
+                addToTagIndex(task.getId(), tags);
+                recordChange(TaskChangeType.UPDATE, index, task);
+                result.add(new IndexedTask(index, task));
+            }
+            publish();
+            return result;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        return result;
     }
 
     /**
-     * Removes the specified tags from tasks at the given indices.
+     * Removes the specified tags from the selected tasks.
      *
-     * @param indices The list of indices of the tasks to be untagged.
+     * @param indices The selection of indices of the tasks to be untagged.
      * @param tags    The list of tags to be removed.
-     * @return A list of {@link Pair} with the index and the untagged {@link Task}.
+     * @return A list of the untagged tasks paired with their index, in the order of the list.
      * @throws InvalidValueException If any of the indices are out of range or if any tasks do not
      *                               have all the tags to remove.
      */
-    public List<Pair<Integer, Task>> untagTasks(List<Integer> indices, List<String> tags)
+    public List<IndexedTask> untagTasks(IndexSelection indices, List<String> tags)
             throws InvalidValueException {
-        validateIndices(indices);
-        for (int index : indices) {
-            Task task = getTask(index);
-            for (String tag : tags) {
-                if (!task.hasTag(tag)) {
-                    throw new InvalidValueException(
-                            String.format(Messages.TAG_NOT_FOUND, tag, task.getName()));
+        long stamp = lock.writeLock();
+        try {
+            validateIndices(indices);
+            PrimitiveIterator.OfInt it = indices.iterator();
+            while (it.hasNext()) {
+                Task task = tasks.get(it.nextInt()).get();
+                for (String tag : tags) {
+                    if (!task.hasTag(tag)) {
+                        throw new InvalidValueException(
+                                String.format(Messages.TAG_NOT_FOUND, tag, task.getName()));
+                    }
                 }
             }
-        }
 
-        List<Pair<Integer, Task>> result = new ArrayList<>();
-        for (int index : indices) {
-            Task task = getTask(index);
-            task.removeTags(tags);
-            result.add(new Pair<>(index, task));
+            List<IndexedTask> result = new ArrayList<>(indices.size());
+            it = indices.iterator();
+            while (it.hasNext()) {
+                int index = it.nextInt();
+                Task task = replaceWithCopy(index);
+                task.removeTags(tags);
+                removeFromTagIndex(task.getId(), tags);
+                recordChange(TaskChangeType.UPDATE, index, task);
+                result.add(new IndexedTask(index, task));
+            }
+            publish();
+            return result;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        return result;
     }
 
-
     /**
-     * Deletes tasks at the specified indices.
+     * Deletes the selected tasks.
      *
-     * @param indices The immutable list of indices of the tasks to delete.
-     * @return A list of {@link Pair} with the index and the deleted {@link Task}.
+     * @param indices The selection of indices of the tasks to delete.
+     * @return A list of the deleted tasks paired with their index, in the reverse order of the
+     *         list.
      * @throws InvalidValueException If any of the indices are out of range.
      */
-    public List<Pair<Integer, Task>> deleteTasks(List<Integer> indices)
+    public List<IndexedTask> deleteTasks(IndexSelection indices)
             throws InvalidValueException {
-        validateIndices(indices);
+        long stamp = lock.writeLock();
+        try {
+            validateIndices(indices);
 
-        List<Pair<Integer, Task>> result = new ArrayList<>();
+            List<IndexedTask> result = new ArrayList<>(indices.size());
 
-        // Sort indices in descending order to prevent index shifting during deletion
-        List<Integer> sortedIndices = new ArrayList<>(indices);
-        sortedIndices.sort(Collections.reverseOrder());
+            // Delete in descending order to prevent index shifting during deletion
+            PrimitiveIterator.OfInt it = indices.descendingIterator();
+            while (it.hasNext()) {
+                int index = it.nextInt();
+                TaskSlot slot = tasks.remove(index);
+                Task task = slot.get();
+                removeFromIndices(slot.getId(), task);
+                recordChange(TaskChangeType.DELETE, index, task);
+                result.add(new IndexedTask(index, task));
+            }
+            publish();
 
-        for (int index : sortedIndices) {
-            Task task = tasks.remove(index);
-            result.add(new Pair<>(index, task));
+            return result;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-
-        return result;
     }
 
     /**
      * Searches for tasks whose names contain at least one of the specified keywords
      * (case-insensitive). It returns a list of tasks paired with the index of the task in the
-     * list.
+     * list, in the order of the list. Keywords of at least three characters are answered by the
+     * trigram index, and shorter keywords made only of letters and digits by the word index; any
+     * other keyword requires scanning every task.
      *
      * @param words The list of keywords to search for in the task names.
-     * @return A list of {@link Pair} objects, where each pair contains the index of the matching
+     * @return A list of {@link IndexedTask} objects, each holding the index of the matching
+     *         task and the task itself.
+     */
+    public List<IndexedTask> searchKeywords(List<String> words) {
+        assert words != null && !words.isEmpty() : "Search keywords should not be null or empty";
+        long stamp = lock.readLock();
+        try {
+            List<String> keywords = words.stream().map(String::toLowerCase).distinct().toList();
+            boolean isIndexed = keywords.stream().allMatch(keyword ->
+                    TrigramIndex.isSearchable(keyword) || WordIndex.isSearchable(keyword));
+            if (isIndexed) {
+                List<int[]> matchingIds = new ArrayList<>();
+                List<String> shortKeywords = new ArrayList<>();
+                for (String keyword : keywords) {
+                    if (TrigramIndex.isSearchable(keyword)) {
+                        matchingIds.add(findIdsContaining(keyword));
+                    } else {
+                        shortKeywords.add(keyword);
+                    }
+                }
+                if (!shortKeywords.isEmpty()) {
+                    matchingIds.add(getWordIndex().search(shortKeywords));
+                }
+                int[] ids = PostingList.merge(matchingIds);
+                List<IndexedTask> result = new ArrayList<>(ids.length);
+                for (int id : ids) {
+                    result.add(getPairOfId(id));
+                }
+                return result;
+            }
+
+            List<IndexedTask> result = new ArrayList<>();
+            int index = 0;
+            for (TaskSlot slot : tasks) {
+                String name = slot.getName().toLowerCase();
+                if (keywords.stream().anyMatch(name::contains)) {
+                    result.add(new IndexedTask(index, slot.get()));
+                }
+                index++;
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Searches for tasks whose names have a word within the specified edit distance of a word of
+     * at least one of the keywords (case-insensitive), using a BK-tree over the words of the word
+     * index. It returns a list of tasks paired with the index of the task in the list, in the
+     * order of the list.
+     *
+     * @param words       The list of keywords, which are split into words like the task names.
+     * @param maxDistance The maximum Levenshtein distance between a word of a keyword and a word
+     *                    of a matching name.
+     * @return A list of {@link IndexedTask} objects, each holding the index of the matching
      *         task and the task itself.
      */
-    public List<Pair<Integer, Task>> searchKeywords(List<String> words) {
+    public List<IndexedTask> searchFuzzy(List<String> words, int maxDistance) {
         assert words != null && !words.isEmpty() : "Search keywords should not be null or empty";
-        return IntStream.range(0, tasks.size())
-                .filter(i -> words.stream().anyMatch(word ->
-                        tasks.get(i).getName().toLowerCase().contains(word.toLowerCase())))
-                .mapToObj(i -> new Pair<>(i, tasks.get(i)))
-                .toList();
+        assert maxDistance >= 0 : "Edit distance should not be negative";
+        long stamp = lock.readLock();
+        try {
+            List<String> keywords = words.stream()
+                    .flatMap(word -> WordIndex.splitWords(word).stream())
+                    .distinct()
+                    .toList();
+            int[] ids = getWordIndex().searchFuzzy(keywords, maxDistance);
+            List<IndexedTask> result = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                result.add(getPairOfId(id));
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     /**
-     * Encodes all tasks into a list of string representations.
+     * Searches for tasks having the specified tags, using the inverted tag index. It returns a list
+     * of tasks paired with the index of the task in the list, in the order of the list.
+     *
+     * @param tags          The list of tags to search for.
+     * @param isMatchingAll {@code true} to find the tasks having all the tags, {@code false} to
+     *                      find the tasks having at least one of them.
+     * @return A list of {@link IndexedTask} objects, each holding the index of the matching
+     *         task and the task itself.
+     */
+    public List<IndexedTask> searchTags(List<String> tags, boolean isMatchingAll) {
+        assert tags != null && !tags.isEmpty() : "Search tags should not be null or empty";
+        long stamp = lock.readLock();
+        try {
+            Map<String, BitSet> index = getTagIndex();
+            BitSet matchingIds = null;
+            for (String tag : tags) {
+                BitSet ids = index.getOrDefault(tag, new BitSet());
+                if (matchingIds == null) {
+                    matchingIds = (BitSet) ids.clone();
+                } else if (isMatchingAll) {
+                    matchingIds.and(ids);
+                } else {
+                    matchingIds.or(ids);
+                }
+            }
+
+            List<IndexedTask> result = new ArrayList<>(matchingIds.cardinality());
+            for (int id = matchingIds.nextSetBit(0); id >= 0; id = matchingIds.nextSetBit(id + 1)) {
+                result.add(getPairOfId(id));
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Searches for the tasks whose time is within a range, using the time index. The time of a
+     * {@link Deadline} is its deadline, and the time of an {@link Event} is its start time. It
+     * returns a list of tasks paired with the index of the task in the list, ordered by time.
+     *
+     * @param from The earliest time of the range, inclusive, or {@code null} for no lower bound.
+     * @param to   The latest time of the range, inclusive.
+     * @return A list of {@link IndexedTask} objects, each holding the index of the matching
+     *         task and the task itself.
+     */
+    public List<IndexedTask> searchBetween(LocalDateTime from, LocalDateTime to) {
+        assert to != null : "End of the time range should not be null";
+        long stamp = lock.readLock();
+        try {
+            int[] ids = getTimeIndex().findBetween(from, to);
+            List<IndexedTask> result = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                result.add(getPairOfId(id));
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Searches for the events overlapping a time span, using the interval tree. Two time spans
+     * overlap if each starts before the other ends. It returns a list of events paired with the
+     * index of the event in the list, in the order of the list.
+     *
+     * @param start The start of the time span.
+     * @param end   The end of the time span.
+     * @return A list of {@link IndexedTask} objects, each holding the index of an overlapping
+     *         event and the event itself.
+     */
+    public List<IndexedTask> searchOverlapping(LocalDateTime start, LocalDateTime end) {
+        assert start != null && end != null : "Time span should not be null";
+        long stamp = lock.readLock();
+        try {
+            int[] ids = getEventTree().findOverlapping(start, end);
+            List<IndexedTask> result = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                result.add(getPairOfId(id));
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Searches for the events overlapping at least one other event, using the interval tree. It
+     * returns a list of events paired with the index of the event in the list, in the order of the
+     * list.
+     *
+     * @return A list of {@link IndexedTask} objects, each holding the index of a conflicting
+     *         event and the event itself.
+     */
+    public List<IndexedTask> searchConflicts() {
+        long stamp = lock.readLock();
+        try {
+            int[] ids = getEventTree().findConflicting();
+            List<IndexedTask> result = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                result.add(getPairOfId(id));
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Encodes all tasks into a list of string representations, taken from the latest snapshot
+     * without locking. Tasks which have not been decoded yet are returned exactly as stored.
      *
      * @return A list of encoded strings representing each task.
      */
     public List<String> encodeTasks() {
-        return tasks.stream().map(Task::encode).toList();
+        return published.get().stream().map(TaskSlot::encode).toList();
+    }
+
+    /**
+     * Returns the changes applied to the tasks since the last call, in the order they were applied,
+     * and clears them.
+     *
+     * @return The list of {@link TaskChange} applied since the last call.
+     */
+    public List<TaskChange> drainChanges() {
+        long stamp = lock.writeLock();
+        try {
+            List<TaskChange> drained = new ArrayList<>(changes);
+            changes.clear();
+            return drained;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Publishes the current version of the list of slots to the readers which do not lock.
+     */
+    private void publish() {
+        published.set(tasks.snapshot());
+    }
+
+    /**
+     * Replaces the task at the specified index with a copy, which can then be changed without
+     * affecting the published snapshots.
+     *
+     * @param index The index of the task.
+     * @return The copy of the task, now held by the list.
+     */
+    private Task replaceWithCopy(int index) {
+        Task copy = tasks.get(index).get().copy();
+        tasks.set(index, new TaskSlot(copy.getId(), copy));
+        return copy;
+    }
+
+    /**
+     * Appends a slot to the list and indexes its ID.
+     *
+     * @param slot The slot to append, whose ID must be at least {@link #nextId}.
+     */
+    private void addSlot(TaskSlot slot) {
+        assert slot.getId() >= nextId : "Task IDs should be increasing";
+        tasks.add(slot);
+        nextId = slot.getId() + 1;
+        if (isIndexed()) {
+            addToIndices(slot.getId(), slot.get());
+        }
+    }
+
+    /**
+     * Returns the task with the specified ID paired with its index.
+     *
+     * @param id The ID of an existing task.
+     * @return The task paired with its index.
+     */
+    private IndexedTask getPairOfId(int id) {
+        int index = tasks.indexOfId(id);
+        assert index >= 0 : "Indexed task should exist";
+        return new IndexedTask(index, tasks.get(index).get());
+    }
+
+    /**
+     * Returns the inverted tag index, building it first if needed. Building the index reads the
+     * tags of every task, which decodes the tasks of a source retaining them.
+     *
+     * @return The inverted index from each tag to the IDs of the tasks having it.
+     * @throws TaskDecodeException If the stored record of a task is invalid.
+     */
+    private Map<String, BitSet> getTagIndex() {
+        if (tasksByTag == null) {
+            Map<String, BitSet> index = new HashMap<>();
+            for (TaskSlot slot : tasks) {
+                for (String tag : slot.getTags()) {
+                    index.computeIfAbsent(tag, t -> new BitSet()).set(slot.getId());
+                }
+            }
+            tasksByTag = index;
+        }
+        return tasksByTag;
+    }
+
+    /**
+     * Returns the word index, building it first if needed. Building the index reads the name of
+     * every task, which decodes the tasks of a source retaining them.
+     *
+     * @return The inverted index from each word of the task names to the IDs of the tasks.
+     * @throws TaskDecodeException If the stored record of a task is invalid.
+     */
+    private WordIndex getWordIndex() {
+        if (wordIndex == null) {
+            WordIndex index = new WordIndex();
+            for (TaskSlot slot : tasks) {
+                index.add(slot.getId(), slot.getName());
+            }
+            wordIndex = index;
+        }
+        return wordIndex;
+    }
+
+    /**
+     * Returns the trigram index, building it first if needed. Building the index reads the name of
+     * every task, which decodes the tasks of a source retaining them.
+     *
+     * @return The inverted index from each trigram of the task names to the IDs of the tasks.
+     * @throws TaskDecodeException If the stored record of a task is invalid.
+     */
+    private TrigramIndex getTrigramIndex() {
+        if (trigramIndex == null) {
+            TrigramIndex index = new TrigramIndex();
+            for (TaskSlot slot : tasks) {
+                index.add(slot.getId(), slot.getName());
+            }
+            trigramIndex = index;
+        }
+        return trigramIndex;
+    }
+
+    /**
+     * Finds the tasks whose name contains a keyword, by checking the candidates given by the
+     * trigram index.
+     *
+     * @param keyword The lower-cased keyword, of at least three characters.
+     * @return The IDs of the matching tasks, sorted in increasing order.
+     */
+    private int[] findIdsContaining(String keyword) {
+        int[] ids = getTrigramIndex().findCandidates(keyword);
+        if (keyword.length() == TrigramIndex.TRIGRAM_LENGTH) {
+            return ids;
+        }
+        int count = 0;
+        for (int id : ids) {
+            if (tasks.getById(id).getName().toLowerCase().contains(keyword)) {
+                ids[count++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Returns the time index, building it first if needed. Building the index reads the signature
+     * of every task and the time of those which are not {@link ToDo} tasks, which decodes the
+     * latter if their source retains them.
+     *
+     * @return The index of the tasks ordered by their time.
+     * @throws TaskDecodeException If the stored record of a task is invalid.
+     */
+    private TimeIndex getTimeIndex() {
+        if (timeIndex == null) {
+            TimeIndex index = new TimeIndex();
+            for (TaskSlot slot : tasks) {
+                if (slot.getSignature() != ToDo.SIGNATURE.charAt(0)) {
+                    index.add(slot.getId(), slot.getTime());
+                }
+            }
+            timeIndex = index;
+        }
+        return timeIndex;
+    }
+
+    /**
+     * Returns the interval tree, building it first if needed. Building the tree only reads the
+     * signature of the tasks which have not been decoded yet, and decodes the events among them,
+     * unless their source can provide their times without decoding them.
+     *
+     * @return The interval tree over the time spans of the events.
+     * @throws TaskDecodeException If the stored record of a task is invalid.
+     */
+    private EventIntervalTree getEventTree() {
+        if (eventTree == null) {
+            EventIntervalTree tree = new EventIntervalTree();
+            for (TaskSlot slot : tasks) {
+                if (slot.getSignature() == Event.SIGNATURE.charAt(0)) {
+                    tree.add(slot.getId(), slot.getTime(), slot.getEndTime());
+                }
+            }
+            eventTree = tree;
+        }
+        return eventTree;
+    }
+
+    /**
+     * Checks whether any of the search indices has been built, in which case the tasks are
+     * already decoded.
+     *
+     * @return {@code true} if any of the search indices has been built, {@code false} otherwise.
+     */
+    private boolean isIndexed() {
+        return tasksByTag != null || wordIndex != null || trigramIndex != null
+                || timeIndex != null || eventTree != null;
+    }
+
+    /**
+     * Records a task in the search indices which have been built.
+     *
+     * @param id   The ID of the task.
+     * @param task The task to record.
+     */
+    private void addToIndices(int id, Task task) {
+        addToTagIndex(id, task.getTags());
+        if (wordIndex != null) {
+            wordIndex.add(id, task.getName());
+        }
+        if (trigramIndex != null) {
+            trigramIndex.add(id, task.getName());
+        }
+        if (timeIndex != null) {
+            timeIndex.add(id, task);
+        }
+        if (eventTree != null && task instanceof Event event) {
+            eventTree.add(id, event);
+        }
+    }
+
+    /**
+     * Removes a task from the search indices which have been built.
+     *
+     * @param id   The ID of the task.
+     * @param task The task to remove.
+     */
+    private void removeFromIndices(int id, Task task) {
+        removeFromTagIndex(id, task.getTags());
+        if (wordIndex != null) {
+            wordIndex.remove(id, task.getName());
+        }
+        if (trigramIndex != null) {
+            trigramIndex.remove(id, task.getName());
+        }
+        if (timeIndex != null) {
+            timeIndex.remove(id, task);
+        }
+        if (eventTree != null && task instanceof Event event) {
+            eventTree.remove(id, event);
+        }
+    }
+
+    /**
+     * Records in the inverted tag index that a task has the specified tags, if the index has been
+     * built.
+     *
+     * @param id   The ID of the task.
+     * @param tags The tags of the task to record.
+     */
+    private void addToTagIndex(int id, List<String> tags) {
+        if (tasksByTag == null) {
+            return;
+        }
+        for (String tag : tags) {
+            tasksByTag.computeIfAbsent(tag, t -> new BitSet()).set(id);
+        }
+    }
+
+    /**
+     * Records in the inverted tag index that a task no longer has the specified tags, if the index
+     * has been built. Tags left without any task are removed from the index.
+     *
+     * @param id   The ID of the task.
+     * @param tags The tags removed from the task.
+     */
+    private void removeFromTagIndex(int id, List<String> tags) {
+        if (tasksByTag == null) {
+            return;
+        }
+        for (String tag : tags) {
+            BitSet ids = tasksByTag.get(tag);
+            if (ids != null) {
+                ids.clear(id);
+                if (ids.isEmpty()) {
+                    tasksByTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the IDs of a sequence of tasks are all assigned and strictly increasing.
+     *
+     * @param size The number of tasks.
+     * @param ids  The function returning the ID of the task at an index.
+     * @return {@code true} if the IDs are assigned and strictly increasing, {@code false}
+     *         otherwise.
+     */
+    private static boolean hasIncreasingIds(int size, IntUnaryOperator ids) {
+        int previousId = Task.NO_ID;
+        for (int i = 0; i < size; i++) {
+            int id = ids.applyAsInt(i);
+            if (id <= previousId) {
+                return false;
+            }
+            previousId = id;
+        }
+        return true;
+    }
+
+    /**
+     * Records a change applied to the tasks and increments the version.
+     *
+     * @param type  The kind of change.
+     * @param index The index of the affected task.
+     * @param task  The affected task.
+     */
+    private void recordChange(TaskChangeType type, int index, Task task) {
+        changes.add(new TaskChange(type, index, task));
+        version++;
     }
 
     /**
      * Checks if the indices are at least 0 and smaller than the number of tasks
      *
-     * @param indices The list of indices to validate.
+     * @param indices The selection of indices to validate.
      * @throws InvalidValueException If at least one of the indices is invalid.
      */
-    private void validateIndices(List<Integer> indices) throws InvalidValueException {
-        for (int index : indices) {
-            if (index < 0 || index >= tasks.size()) {
-                throw new InvalidValueException(String.format(Messages.OUT_OF_RANGE_INDEX, index));
-            }
+    private void validateIndices(IndexSelection indices) throws InvalidValueException {
+        if (indices.isEmpty()) {
+            return;
+        }
+        if (indices.getFirst() < 0) {
+            throw new InvalidValueException(String.format(Messages.OUT_OF_RANGE_INDEX,
+                    indices.getFirst()));
+        }
+        if (indices.getLast() >= tasks.size()) {
+            throw new InvalidValueException(String.format(Messages.OUT_OF_RANGE_INDEX,
+                    indices.getLast()));
         }
     }
 }
@@ -0,0 +1,244 @@
+package mightyduck.task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import mightyduck.exception.StorageLoadException;
+import mightyduck.exception.TaskDecodeException;
+
+/**
+ * Represents a position in the list of a {@link TaskManager}, holding the stable ID of the task and
+ * either the {@link Task} itself or a reference to a stored record which is only decoded on first
+ * access.
+ */
+class TaskSlot {
+
+    /**
+     * The separator between the fields of an encoded task.
+     */
+    private static final String FIELD_SEPARATOR = "|";
+
+    /**
+     * The stable ID of the task.
+     */
+    private final int id;
+
+    /**
+     * The source of the stored record, or {@code null} if the slot was created from a task.
+     */
+    private final TaskSource source;
+
+    /**
+     * The index of the stored record in the source.
+     */
+    private final int sourceIndex;
+
+    /**
+     * The task of the slot, or {@code null} if the stored record has not been decoded yet.
+     */
+    private volatile Task task;
+
+    /**
+     * Constructs a new {@code TaskSlot} holding the specified task, and assigns the ID to the task.
+     *
+     * @param id   The stable ID of the task.
+     * @param task The task of the slot.
+     */
+    TaskSlot(int id, Task task) {
+        assert task != null : "Task should not be null";
+        this.id = id;
+        this.source = null;
+        this.sourceIndex = -1;
+        this.task = task;
+        task.setId(id);
+    }
+
+    /**
+     * Constructs a new {@code TaskSlot} referring to a stored record.
+     *
+     * @param id          The stable ID of the task.
+     * @param source      The source of the stored record.
+     * @param sourceIndex The index of the stored record in the source.
+     */
+    TaskSlot(int id, TaskSource source, int sourceIndex) {
+        assert source != null : "Task source should not be null";
+        this.id = id;
+        this.source = source;
+        this.sourceIndex = sourceIndex;
+    }
+
+    /**
+     * Returns the stable ID of the task, without decoding the stored record.
+     *
+     * @return The ID of the task.
+     */
+    int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the task of the slot, decoding the stored record on first access. The record is
+     * decoded at most once, even if several threads access the slot at the same time, unless the
+     * source does not retain its tasks, in which case it is decoded on every access.
+     *
+     * @return The task of the slot.
+     * @throws TaskDecodeException If the stored record is invalid.
+     */
+    Task get() {
+        Task decoded = task;
+        if (decoded == null && !source.isRetainingTasks()) {
+            return decode();
+        }
+        if (decoded == null) {
+            synchronized (this) {
+                decoded = task;
+                if (decoded == null) {
+                    decoded = decode();
+                    task = decoded;
+                }
+            }
+        }
+        return decoded;
+    }
+
+    /**
+     * Returns the first character of the signature of the task, reading it from the stored record
+     * if it has not been decoded, so that no task is decoded merely to find its type.
+     *
+     * @return The first character of the signature of the task.
+     * @throws TaskDecodeException If the stored record is invalid.
+     */
+    char getSignature() {
+        Task decoded = task;
+        if (decoded != null) {
+            return decoded.getSignature().charAt(0);
+        }
+        try {
+            return source.getSignature(sourceIndex);
+        } catch (StorageLoadException e) {
+            throw new TaskDecodeException(e);
+        }
+    }
+
+    /**
+     * Returns the name of the task. A source which does not retain its tasks is read directly,
+     * without creating the task.
+     *
+     * @return The name of the task.
+     * @throws TaskDecodeException If the stored record is invalid.
+     */
+    String getName() {
+        if (!isReadFromSource()) {
+            return get().getName();
+        }
+        try {
+            return source.getName(sourceIndex);
+        } catch (StorageLoadException e) {
+            throw new TaskDecodeException(e);
+        }
+    }
+
+    /**
+     * Returns the tags of the task. A source which does not retain its tasks is read directly,
+     * without creating the task.
+     *
+     * @return The tags of the task.
+     * @throws TaskDecodeException If the stored record is invalid.
+     */
+    List<String> getTags() {
+        if (!isReadFromSource()) {
+            return get().getTags();
+        }
+        try {
+            return source.getTags(sourceIndex);
+        } catch (StorageLoadException e) {
+            throw new TaskDecodeException(e);
+        }
+    }
+
+    /**
+     * Returns the time of the task, as indexed by a {@link TimeIndex}. A source which does not
+     * retain its tasks is read directly, without creating the task.
+     *
+     * @return The deadline of a {@link Deadline}, the start time of an {@link Event}, or
+     *         {@code null} for a task without time.
+     * @throws TaskDecodeException If the stored record is invalid.
+     */
+    LocalDateTime getTime() {
+        if (!isReadFromSource()) {
+            return TimeIndex.getTime(get());
+        }
+        try {
+            return source.getTime(sourceIndex);
+        } catch (StorageLoadException e) {
+            throw new TaskDecodeException(e);
+        }
+    }
+
+    /**
+     * Returns the end time of the task if it is an {@link Event}. A source which does not retain
+     * its tasks is read directly, without creating the task.
+     *
+     * @return The end time of the event, or {@code null} for a task which is not an event.
+     * @throws TaskDecodeException If the stored record is invalid.
+     */
+    LocalDateTime getEndTime() {
+        if (!isReadFromSource()) {
+            return get() instanceof Event event ? event.getEndTime() : null;
+        }
+        try {
+            return source.getEndTime(sourceIndex);
+        } catch (StorageLoadException e) {
+            throw new TaskDecodeException(e);
+        }
+    }
+
+    /**
+     * Checks whether the fields of the task are read from the source rather than from a task, which
+     * is the case when the record has not been decoded and the source does not retain its tasks.
+     *
+     * @return {@code true} if the fields are read from the source, {@code false} otherwise.
+     */
+    private boolean isReadFromSource() {
+        return task == null && !source.isRetainingTasks();
+    }
+
+    /**
+     * Decodes the stored record and assigns the ID of the slot to the task.
+     *
+     * @return The decoded task.
+     * @throws TaskDecodeException If the stored record is invalid.
+     */
+    private Task decode() {
+        Task decoded;
+        try {
+            decoded = source.decode(sourceIndex);
+        } catch (StorageLoadException e) {
+            throw new TaskDecodeException(e);
+        }
+        decoded.setId(id);
+        return decoded;
+    }
+
+    /**
+     * Encodes the task of the slot. A stored record which has not been decoded is returned as
+     * stored, except for its ID field, which is added or replaced if it differs from the ID of the
+     * slot.
+     *
+     * @return The encoded task.
+     */
+    String encode() {
+        if (task != null) {
+            return task.encode();
+        }
+
+        String record = source.encode(sourceIndex);
+        int storedId = source.getId(sourceIndex);
+        if (storedId == id) {
+            return record;
+        } else if (storedId == Task.NO_ID) {
+            return record + FIELD_SEPARATOR + id;
+        }
+        return record.substring(0, record.lastIndexOf(FIELD_SEPARATOR) + 1) + id;
+    }
+}
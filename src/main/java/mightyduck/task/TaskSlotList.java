@@ -0,0 +1,676 @@
+package mightyduck.task;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Represents the list of slots of a {@link TaskManager} as a counted B+-tree, in which every node
+ * knows the number of slots below it. Accessing, inserting and removing the slot at a position all
+ * take {@code O(log n)} time, so deleting {@code k} scattered tasks costs {@code O(k log n)}
+ * instead of shifting the whole list {@code k} times.
+ *
+ * <p>The slots are stored in leaves of at most {@link #NODE_CAPACITY} slots. A node which becomes
+ * small after a removal is merged with a neighbour if both fit in a single node, and appending at
+ * the end fills each leaf completely before starting a new one. As the list is sorted by ID,
+ * {@link #indexOfId(int)} also finds the position of an ID in {@code O(log n)} time.</p>
+ *
+ * <p>The tree is persistent: {@link #snapshot()} freezes the current nodes and returns a read-only
+ * list sharing them, in {@code O(1)} time. Every node is owned by the list which created it, and a
+ * list only edits the nodes it owns in place; any other node on the path to a change is copied
+ * first. A change after a snapshot thus copies {@code O(log n)} nodes, and the following changes
+ * to the same nodes are applied in place again.</p>
+ */
+class TaskSlotList extends AbstractList<TaskSlot> {
+
+    /**
+     * The maximum number of slots of a leaf, and of children of an inner node.
+     */
+    private static final int NODE_CAPACITY = 64;
+
+    /**
+     * The number of entries below which a node is merged with a neighbour if possible.
+     */
+    private static final int MERGE_THRESHOLD = NODE_CAPACITY / 4;
+
+    /**
+     * The token identifying the nodes this list may edit in place, or {@code null} if the list is
+     * a read-only snapshot.
+     */
+    private Object owner;
+
+    /**
+     * The root of the tree, which is an empty leaf if the list is empty.
+     */
+    private Node root;
+
+    /**
+     * Constructs a new empty {@code TaskSlotList}.
+     */
+    TaskSlotList() {
+        owner = new Object();
+        root = new Leaf(owner);
+    }
+
+    /**
+     * Constructs a new read-only {@code TaskSlotList} over frozen nodes.
+     *
+     * @param root The root of the frozen tree.
+     */
+    private TaskSlotList(Node root) {
+        this.owner = null;
+        this.root = root;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TaskSlot get(int index) {
+        Objects.checkIndex(index, size());
+        return root.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TaskSlot set(int index, TaskSlot slot) {
+        Objects.checkIndex(index, size());
+        return getEditableRoot().set(index, slot, owner);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int index, TaskSlot slot) {
+        Objects.checkIndex(index, size() + 1);
+        Node split = getEditableRoot().insert(index, slot, owner);
+        if (split != null) {
+            Inner newRoot = new Inner(owner);
+            newRoot.insertChild(0, root, owner);
+            newRoot.insertChild(1, split, owner);
+            root = newRoot;
+        }
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TaskSlot remove(int index) {
+        Objects.checkIndex(index, size());
+        TaskSlot removed = getEditableRoot().remove(index, owner);
+        while (root instanceof Inner inner && inner.childCount <= 1) {
+            root = inner.childCount == 0 ? new Leaf(owner) : inner.children[0];
+        }
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        checkEditable();
+        root = new Leaf(owner);
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the slots in order, which looks up each leaf only once.
+     *
+     * @return An iterator over the slots.
+     */
+    @Override
+    public Iterator<TaskSlot> iterator() {
+        return new Iterator<>() {
+            private final int expectedModCount = modCount;
+            private int index;
+            private Leaf leaf;
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public TaskSlot next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (leaf == null || offset == leaf.size) {
+                    Node node = root;
+                    offset = index;
+                    while (node instanceof Inner inner) {
+                        int child = 0;
+                        while (offset >= inner.children[child].size) {
+                            offset -= inner.children[child].size;
+                            child++;
+                        }
+                        node = inner.children[child];
+                    }
+                    leaf = (Leaf) node;
+                }
+                index++;
+                return leaf.slots[offset++];
+            }
+        };
+    }
+
+    /**
+     * Finds the position of the slot with the specified ID, relying on the list being sorted by ID.
+     *
+     * @param id The ID of the task.
+     * @return The position of the slot, or {@code -1} if no slot has the ID.
+     */
+    int indexOfId(int id) {
+        return size() == 0 ? -1 : root.indexOfId(id);
+    }
+
+    /**
+     * Finds the slot with the specified ID, relying on the list being sorted by ID.
+     *
+     * @param id The ID of the task.
+     * @return The slot, or {@code null} if no slot has the ID.
+     */
+    TaskSlot getById(int id) {
+        int index = indexOfId(id);
+        return index < 0 ? null : root.get(index);
+    }
+
+    /**
+     * Returns a read-only snapshot of the list, which later changes to this list do not affect.
+     * The snapshot shares every node with this list, which copies a node before its next change.
+     *
+     * @return The snapshot of the list.
+     */
+    TaskSlotList snapshot() {
+        if (owner == null) {
+            return this;
+        }
+        owner = new Object();
+        return new TaskSlotList(root);
+    }
+
+    /**
+     * Checks whether the list may be changed.
+     *
+     * @throws UnsupportedOperationException If the list is a read-only snapshot.
+     */
+    private void checkEditable() {
+        if (owner == null) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Returns the root of the tree, copying it first if this list does not own it.
+     *
+     * @return The root, owned by this list.
+     * @throws UnsupportedOperationException If the list is a read-only snapshot.
+     */
+    private Node getEditableRoot() {
+        checkEditable();
+        root = root.getEditable(owner);
+        return root;
+    }
+
+    /**
+     * Represents a node of the tree.
+     */
+    private abstract static class Node {
+
+        /**
+         * The token of the list which may edit this node in place.
+         */
+        protected final Object owner;
+
+        /**
+         * The number of slots below this node.
+         */
+        protected int size;
+
+        /**
+         * Constructs a new empty {@code Node}.
+         *
+         * @param owner The token of the list which may edit the node in place.
+         */
+        Node(Object owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * Returns this node if it is owned by the specified list, or a copy owned by it otherwise.
+         *
+         * @param owner The token of the list about to edit the node.
+         * @return A node with the same entries, which the list may edit in place.
+         */
+        Node getEditable(Object owner) {
+            return this.owner == owner ? this : copy(owner);
+        }
+
+        /**
+         * Returns a copy of this node, sharing its children.
+         *
+         * @param owner The token of the list owning the copy.
+         * @return The copy of the node.
+         */
+        abstract Node copy(Object owner);
+
+        /**
+         * Returns the number of direct entries of this node, which are slots for a leaf and
+         * children for an inner node.
+         *
+         * @return The number of entries.
+         */
+        abstract int count();
+
+        /**
+         * Returns the ID of the first slot below this node, which must not be empty.
+         *
+         * @return The ID of the first slot.
+         */
+        abstract int firstId();
+
+        /**
+         * Returns the slot at a position relative to this node.
+         *
+         * @param index The position of the slot.
+         * @return The slot.
+         */
+        abstract TaskSlot get(int index);
+
+        /**
+         * Replaces the slot at a position relative to this node, which must be owned by the list.
+         *
+         * @param index The position of the slot.
+         * @param slot  The new slot.
+         * @param owner The token of the list.
+         * @return The replaced slot.
+         */
+        abstract TaskSlot set(int index, TaskSlot slot, Object owner);
+
+        /**
+         * Inserts a slot at a position relative to this node, which must be owned by the list,
+         * splitting the node if it is full.
+         *
+         * @param index The position of the slot.
+         * @param slot  The slot to insert.
+         * @param owner The token of the list.
+         * @return The new node holding the entries after the split, or {@code null} if the node
+         *         was not split.
+         */
+        abstract Node insert(int index, TaskSlot slot, Object owner);
+
+        /**
+         * Removes the slot at a position relative to this node, which must be owned by the list.
+         *
+         * @param index The position of the slot.
+         * @param owner The token of the list.
+         * @return The removed slot.
+         */
+        abstract TaskSlot remove(int index, Object owner);
+
+        /**
+         * Appends the entries of the following node of the same kind to this node, which must be
+         * owned by the list. The following node is left unchanged.
+         *
+         * @param next The following node, whose entries fit in this node.
+         */
+        abstract void absorb(Node next);
+
+        /**
+         * Finds the position of the slot with the specified ID below this node.
+         *
+         * @param id The ID of the task.
+         * @return The position of the slot relative to this node, or {@code -1} if no slot has
+         *         the ID.
+         */
+        abstract int indexOfId(int id);
+
+        /**
+         * Returns the position at which a node is split when an entry is inserted into it while
+         * full. Inserting after the last entry keeps the node full, so that appending fills every
+         * node; otherwise the node is split in halves.
+         *
+         * @param index The position of the inserted entry.
+         * @return The number of entries kept in the node.
+         */
+        static int getSplitPoint(int index) {
+            return index == NODE_CAPACITY ? NODE_CAPACITY : NODE_CAPACITY / 2;
+        }
+    }
+
+    /**
+     * Represents a leaf of the tree, holding the slots themselves.
+     */
+    private static class Leaf extends Node {
+
+        /**
+         * The slots of the leaf, of which the first {@link #size} are used.
+         */
+        private final TaskSlot[] slots = new TaskSlot[NODE_CAPACITY];
+
+        /**
+         * Constructs a new empty {@code Leaf}.
+         *
+         * @param owner The token of the list which may edit the leaf in place.
+         */
+        private Leaf(Object owner) {
+            super(owner);
+        }
+
+        @Override
+        Leaf copy(Object owner) {
+            Leaf copy = new Leaf(owner);
+            System.arraycopy(slots, 0, copy.slots, 0, size);
+            copy.size = size;
+            return copy;
+        }
+
+        @Override
+        int count() {
+            return size;
+        }
+
+        @Override
+        int firstId() {
+            return slots[0].getId();
+        }
+
+        @Override
+        TaskSlot get(int index) {
+            return slots[index];
+        }
+
+        @Override
+        TaskSlot set(int index, TaskSlot slot, Object owner) {
+            TaskSlot replaced = slots[index];
+            slots[index] = slot;
+            return replaced;
+        }
+
+        @Override
+        Node insert(int index, TaskSlot slot, Object owner) {
+            if (size < NODE_CAPACITY) {
+                System.arraycopy(slots, index, slots, index + 1, size - index);
+                slots[index] = slot;
+                size++;
+                return null;
+            }
+            int splitPoint = getSplitPoint(index);
+            Leaf next = new Leaf(owner);
+            next.size = size - splitPoint;
+            System.arraycopy(slots, splitPoint, next.slots, 0, next.size);
+            Arrays.fill(slots, splitPoint, size, null);
+            size = splitPoint;
+            if (index < splitPoint) {
+                insert(index, slot, owner);
+            } else {
+                next.insert(index - splitPoint, slot, owner);
+            }
+            return next;
+        }
+
+        @Override
+        TaskSlot remove(int index, Object owner) {
+            TaskSlot removed = slots[index];
+            System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+            slots[--size] = null;
+            return removed;
+        }
+
+        @Override
+        void absorb(Node next) {
+            Leaf leaf = (Leaf) next;
+            System.arraycopy(leaf.slots, 0, slots, size, leaf.size);
+            size += leaf.size;
+        }
+
+        @Override
+        int indexOfId(int id) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int middleId = slots[middle].getId();
+                if (middleId < id) {
+                    low = middle + 1;
+                } else if (middleId > id) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Represents an inner node of the tree, holding the number of slots below each child through
+     * the children themselves.
+     */
+    private static class Inner extends Node {
+
+        /**
+         * The children of the node, of which the first {@link #childCount} are used. No child is
+         * ever empty.
+         */
+        private final Node[] children = new Node[NODE_CAPACITY];
+
+        /**
+         * The number of children of the node.
+         */
+        private int childCount;
+
+        /**
+         * Constructs a new {@code Inner} node without children.
+         *
+         * @param owner The token of the list which may edit the node in place.
+         */
+        private Inner(Object owner) {
+            super(owner);
+        }
+
+        @Override
+        Inner copy(Object owner) {
+            Inner copy = new Inner(owner);
+            System.arraycopy(children, 0, copy.children, 0, childCount);
+            copy.childCount = childCount;
+            copy.size = size;
+            return copy;
+        }
+
+        @Override
+        int count() {
+            return childCount;
+        }
+
+        @Override
+        int firstId() {
+            return children[0].firstId();
+        }
+
+        @Override
+        TaskSlot get(int index) {
+            int child = 0;
+            while (index >= children[child].size) {
+                index -= children[child].size;
+                child++;
+            }
+            return children[child].get(index);
+        }
+
+        @Override
+        TaskSlot set(int index, TaskSlot slot, Object owner) {
+            int child = 0;
+            while (index >= children[child].size) {
+                index -= children[child].size;
+                child++;
+            }
+            return getEditableChild(child, owner).set(index, slot, owner);
+        }
+
+        @Override
+        Node insert(int index, TaskSlot slot, Object owner) {
+            int child = 0;
+            while (child < childCount - 1 && index > children[child].size) {
+                index -= children[child].size;
+                child++;
+            }
+            size++;
+            Node split = getEditableChild(child, owner).insert(index, slot, owner);
+            if (split == null) {
+                return null;
+            }
+            size -= split.size;
+            return insertChild(child + 1, split, owner);
+        }
+
+        @Override
+        TaskSlot remove(int index, Object owner) {
+            int child = 0;
+            while (index >= children[child].size) {
+                index -= children[child].size;
+                child++;
+            }
+            size--;
+            TaskSlot removed = getEditableChild(child, owner).remove(index, owner);
+            if (children[child].size == 0) {
+                removeChild(child);
+            } else if (children[child].count() < MERGE_THRESHOLD) {
+                mergeWithNeighbour(child, owner);
+            }
+            return removed;
+        }
+
+        @Override
+        void absorb(Node next) {
+            Inner inner = (Inner) next;
+            System.arraycopy(inner.children, 0, children, childCount, inner.childCount);
+            childCount += inner.childCount;
+            size += inner.size;
+        }
+
+        @Override
+        int indexOfId(int id) {
+            if (id < children[0].firstId()) {
+                return -1;
+            }
+            int low = 0;
+            int high = childCount - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (children[middle].firstId() <= id) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            int index = children[low].indexOfId(id);
+            if (index < 0) {
+                return -1;
+            }
+            for (int child = 0; child < low; child++) {
+                index += children[child].size;
+            }
+            return index;
+        }
+
+        /**
+         * Returns the child at a position, replacing it first with a copy if the list does not own
+         * it.
+         *
+         * @param index The position of the child.
+         * @param owner The token of the list.
+         * @return The child, owned by the list.
+         */
+        private Node getEditableChild(int index, Object owner) {
+            children[index] = children[index].getEditable(owner);
+            return children[index];
+        }
+
+        /**
+         * Inserts a child, splitting this node if it is full.
+         *
+         * @param index The position of the child.
+         * @param node  The child to insert.
+         * @param owner The token of the list.
+         * @return The new node holding the children after the split, or {@code null} if this node
+         *         was not split.
+         */
+        private Inner insertChild(int index, Node node, Object owner) {
+            if (childCount < NODE_CAPACITY) {
+                System.arraycopy(children, index, children, index + 1, childCount - index);
+                children[index] = node;
+                childCount++;
+                size += node.size;
+                return null;
+            }
+            int splitPoint = getSplitPoint(index);
+            Inner next = new Inner(owner);
+            next.childCount = childCount - splitPoint;
+            System.arraycopy(children, splitPoint, next.children, 0, next.childCount);
+            Arrays.fill(children, splitPoint, childCount, null);
+            childCount = splitPoint;
+            for (int child = 0; child < next.childCount; child++) {
+                next.size += next.children[child].size;
+            }
+            size -= next.size;
+            if (index < splitPoint) {
+                insertChild(index, node, owner);
+            } else {
+                next.insertChild(index - splitPoint, node, owner);
+            }
+            return next;
+        }
+
+        /**
+         * Removes a child, along with the slots below it.
+         *
+         * @param index The position of the child.
+         */
+        private void removeChild(int index) {
+            size -= children[index].size;
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        /**
+         * Merges a small child with its next or previous neighbour, if both fit in a single node.
+         *
+         * @param index The position of the small child.
+         * @param owner The token of the list.
+         */
+        private void mergeWithNeighbour(int index, Object owner) {
+            int first = index + 1 < childCount ? index : index - 1;
+            if (first < 0
+                    || children[first].count() + children[first + 1].count() > NODE_CAPACITY) {
+                return;
+            }
+            Node next = children[first + 1];
+            removeChild(first + 1);
+            getEditableChild(first, owner).absorb(next);
+            size += next.size;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package mightyduck.task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import mightyduck.exception.StorageLoadException;
+
+/**
+ * Represents a sequence of stored task records which can be decoded one at a time, so that a
+ * {@link TaskManager} only decodes the tasks that are actually accessed.
+ */
+public interface TaskSource {
+
+    /**
+     * Returns the number of task records.
+     *
+     * @return The number of task records.
+     */
+    int size();
+
+    /**
+     * Returns the stable ID stored in the task record at the specified index, without decoding the
+     * rest of the record.
+     *
+     * @param index The index of the task record.
+     * @return The ID of the task, or {@link Task#NO_ID} if the record holds no valid ID.
+     */
+    int getId(int index);
+
+    /**
+     * Decodes the task record at the specified index.
+     *
+     * @param index The index of the task record.
+     * @return The decoded {@link Task}.
+     * @throws StorageLoadException If the task record is invalid.
+     */
+    Task decode(int index) throws StorageLoadException;
+
+    /**
+     * Returns the first character of the signature of the task record at the specified index. A
+     * source which can read it without decoding the rest of the record should override this
+     * method, so that the events can be told apart without decoding every task.
+     *
+     * @param index The index of the task record.
+     * @return The first character of the signature of the task.
+     * @throws StorageLoadException If the task record is invalid.
+     */
+    default char getSignature(int index) throws StorageLoadException {
+        return decode(index).getSignature().charAt(0);
+    }
+
+    /**
+     * Returns the name of the task record at the specified index. A source which can read it
+     * without creating the task should override this method.
+     *
+     * @param index The index of the task record.
+     * @return The name of the task.
+     * @throws StorageLoadException If the task record is invalid.
+     */
+    default String getName(int index) throws StorageLoadException {
+        return decode(index).getName();
+    }
+
+    /**
+     * Returns the tags of the task record at the specified index. A source which can read them
+     * without creating the task should override this method.
+     *
+     * @param index The index of the task record.
+     * @return The tags of the task.
+     * @throws StorageLoadException If the task record is invalid.
+     */
+    default List<String> getTags(int index) throws StorageLoadException {
+        return decode(index).getTags();
+    }
+
+    /**
+     * Returns the time of the task record at the specified index: the deadline of a
+     * {@link Deadline} or the start time of an {@link Event}. A source which can read it without
+     * creating the task should override this method.
+     *
+     * @param index The index of the task record.
+     * @return The time of the task, or {@code null} for a task without time.
+     * @throws StorageLoadException If the task record is invalid.
+     */
+    default LocalDateTime getTime(int index) throws StorageLoadException {
+        return TimeIndex.getTime(decode(index));
+    }
+
+    /**
+     * Returns the end time of the task record at the specified index, if it is an {@link Event}. A
+     * source which can read it without creating the task should override this method.
+     *
+     * @param index The index of the task record.
+     * @return The end time of the event, or {@code null} for a task which is not an event.
+     * @throws StorageLoadException If the task record is invalid.
+     */
+    default LocalDateTime getEndTime(int index) throws StorageLoadException {
+        return decode(index) instanceof Event event ? event.getEndTime() : null;
+    }
+
+    /**
+     * Returns the task record at the specified index exactly as stored, in the format of
+     * {@link Task#encode()}.
+     *
+     * @param index The index of the task record.
+     * @return The stored task record.
+     */
+    String encode(int index);
+
+    /**
+     * Returns the ID to assign to the next added task, as stored with the task records. It may be
+     * greater than every stored ID, when the tasks with the highest IDs were deleted.
+     *
+     * @return The stored next ID, or {@link Task#NO_ID} if none is stored.
+     */
+    default int getNextId() {
+        return Task.NO_ID;
+    }
+
+    /**
+     * Checks whether a {@link TaskManager} should keep the tasks it decodes from this source. A
+     * source which decodes tasks cheaply may return {@code false}, so that tasks only take space
+     * while they are in use; each access then decodes the task again.
+     *
+     * @return {@code true} if decoded tasks should be kept, {@code false} otherwise.
+     */
+    default boolean isRetainingTasks() {
+        return true;
+    }
+}
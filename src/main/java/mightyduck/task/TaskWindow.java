@@ -0,0 +1,83 @@
+package mightyduck.task;
+
+import java.util.AbstractList;
+
+/**
+ * Represents a read-only window over consecutive tasks of a snapshot of a {@link TaskManager},
+ * each paired with its index. Tasks are only decoded when they are accessed, so a window over a
+ * few tasks of a large list costs no more than those tasks. Later changes to the
+ * {@link TaskManager} do not affect the window.
+ */
+public class TaskWindow extends AbstractList<IndexedTask> {
+
+    /**
+     * The snapshot of the list of slots.
+     */
+    private final TaskSlotList snapshot;
+
+    /**
+     * The index of the first task of the window.
+     */
+    private final int offset;
+
+    /**
+     * The number of tasks in the window.
+     */
+    private final int size;
+
+    /**
+     * Constructs a new {@code TaskWindow} over at most the specified number of tasks of a snapshot,
+     * starting at the specified index.
+     *
+     * @param snapshot The read-only snapshot of the list of slots.
+     * @param offset   The index of the first task of the window, which may be past the end of
+     *                 the list.
+     * @param limit    The maximum number of tasks in the window.
+     */
+    TaskWindow(TaskSlotList snapshot, int offset, int limit) {
+        assert offset >= 0 && limit >= 0 : "Window bounds should not be negative";
+        this.snapshot = snapshot;
+        this.offset = offset;
+        this.size = Math.max(0, Math.min(limit, snapshot.size() - offset));
+    }
+
+    /**
+     * Returns the task at a position of the window paired with its index in the list.
+     *
+     * @param index The position of the task in the window.
+     * @return The task paired with its index in the list.
+     */
+    @Override
+    public IndexedTask get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return new IndexedTask(offset + index, snapshot.get(offset + index).get());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index in the list of the first task of the window.
+     *
+     * @return The index of the first task.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of tasks in the snapshot, including those outside the window.
+     *
+     * @return The total number of tasks.
+     */
+    public int getTotalCount() {
+        return snapshot.size();
+    }
+}
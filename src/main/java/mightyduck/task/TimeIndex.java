@@ -0,0 +1,109 @@
+package mightyduck.task;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Represents an index of the tasks having a time, ordered by that time: the deadline of a
+ * {@link Deadline} and the start time of an {@link Event}. A range of times is found in
+ * {@code O(log n + k)} time, where {@code k} is the number of tasks in the range.
+ */
+class TimeIndex {
+
+    /**
+     * The initial capacity of the array of IDs returned by a range query.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The IDs of the tasks at each time.
+     */
+    private final NavigableMap<LocalDateTime, PostingList> idsByTime = new TreeMap<>();
+
+    /**
+     * The number of tasks in the index.
+     */
+    private int size;
+
+    /**
+     * Records a task if it has a time.
+     *
+     * @param id   The ID of the task.
+     * @param task The task to record.
+     */
+    void add(int id, Task task) {
+        add(id, getTime(task));
+    }
+
+    /**
+     * Records a task by its time, if it has one.
+     *
+     * @param id   The ID of the task.
+     * @param time The time of the task, or {@code null} for a task without time.
+     */
+    void add(int id, LocalDateTime time) {
+        if (time != null) {
+            idsByTime.computeIfAbsent(time, t -> new PostingList()).add(id);
+            size++;
+        }
+    }
+
+    /**
+     * Removes a task if it has a time.
+     *
+     * @param id   The ID of the task.
+     * @param task The task to remove.
+     */
+    void remove(int id, Task task) {
+        LocalDateTime time = getTime(task);
+        PostingList ids = time == null ? null : idsByTime.get(time);
+        if (ids != null && ids.contains(id)) {
+            ids.remove(id);
+            size--;
+            if (ids.isEmpty()) {
+                idsByTime.remove(time);
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks whose time is within a range.
+     *
+     * @param from The earliest time of the range, inclusive, or {@code null} for no lower bound.
+     * @param to   The latest time of the range, inclusive.
+     * @return The IDs of the tasks in the range, ordered by time, then by ID.
+     */
+    int[] findBetween(LocalDateTime from, LocalDateTime to) {
+        NavigableMap<LocalDateTime, PostingList> range = from == null
+                ? idsByTime.headMap(to, true)
+                : idsByTime.subMap(from, true, to, true);
+        int[] ids = new int[Math.min(size, INITIAL_CAPACITY)];
+        int count = 0;
+        for (PostingList timeIds : range.values()) {
+            if (count + timeIds.size() > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, count + timeIds.size()));
+            }
+            timeIds.copyTo(ids, count);
+            count += timeIds.size();
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Returns the time by which a task is indexed.
+     *
+     * @param task The task.
+     * @return The deadline of a {@link Deadline}, the start time of an {@link Event}, or
+     *         {@code null} for a task without time.
+     */
+    static LocalDateTime getTime(Task task) {
+        if (task instanceof Deadline deadline) {
+            return deadline.getDeadline();
+        } else if (task instanceof Event event) {
+            return event.getStartTime();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,119 @@
+package mightyduck.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an inverted index from each trigram, i.e. each sequence of three consecutive
+ * characters, of the lower-cased task names to the IDs of the tasks whose name contains it.
+ *
+ * <p>A name containing a keyword of at least three characters contains every trigram of the
+ * keyword, so intersecting the posting lists of these trigrams gives a small set of candidates,
+ * which only have to be checked with {@link String#contains}. Shorter keywords cannot be
+ * answered by this index.</p>
+ */
+class TrigramIndex {
+
+    /**
+     * The number of characters of a trigram.
+     */
+    static final int TRIGRAM_LENGTH = 3;
+
+    /**
+     * The IDs of the tasks having each trigram in their name. A trigram is packed into a
+     * {@code long} holding its three characters.
+     */
+    private final Map<Long, PostingList> postingsByTrigram = new HashMap<>();
+
+    /**
+     * Records the trigrams of the name of a task.
+     *
+     * @param id   The ID of the task.
+     * @param name The name of the task.
+     */
+    void add(int id, String name) {
+        for (long trigram : getTrigrams(name.toLowerCase())) {
+            postingsByTrigram.computeIfAbsent(trigram, t -> new PostingList()).add(id);
+        }
+    }
+
+    /**
+     * Removes the trigrams of the name of a task. Trigrams left without any task are removed from
+     * the index.
+     *
+     * @param id   The ID of the task.
+     * @param name The name of the task.
+     */
+    void remove(int id, String name) {
+        for (long trigram : getTrigrams(name.toLowerCase())) {
+            PostingList ids = postingsByTrigram.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postingsByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a keyword can be answered by this index.
+     *
+     * @param keyword The lower-cased keyword.
+     * @return {@code true} if the keyword has at least {@value #TRIGRAM_LENGTH} characters,
+     *         {@code false} otherwise.
+     */
+    static boolean isSearchable(String keyword) {
+        return keyword.length() >= TRIGRAM_LENGTH;
+    }
+
+    /**
+     * Finds the candidate tasks whose name may contain a keyword. Every task whose name contains
+     * the keyword is a candidate, but not every candidate contains it, unless the keyword is a
+     * single trigram.
+     *
+     * @param keyword The lower-cased keyword, which must be {@linkplain #isSearchable searchable}.
+     * @return The IDs of the candidate tasks, sorted in increasing order.
+     */
+    int[] findCandidates(String keyword) {
+        assert isSearchable(keyword) : "Keyword should be searchable";
+        List<PostingList> lists = new ArrayList<>();
+        for (long trigram : getTrigrams(keyword)) {
+            PostingList ids = postingsByTrigram.get(trigram);
+            if (ids == null) {
+                return new int[0];
+            }
+            lists.add(ids);
+        }
+        return PostingList.intersect(lists);
+    }
+
+    /**
+     * Returns the distinct trigrams of a text.
+     *
+     * @param text The lower-cased text.
+     * @return The distinct trigrams of the text, each packed into a {@code long}.
+     */
+    private static long[] getTrigrams(String text) {
+        if (text.length() < TRIGRAM_LENGTH) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - TRIGRAM_LENGTH + 1];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = (long) text.charAt(i) << (2 * Character.SIZE)
+                    | (long) text.charAt(i + 1) << Character.SIZE
+                    | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinctCount = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinctCount++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinctCount);
+    }
+}
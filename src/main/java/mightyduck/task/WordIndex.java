@@ -0,0 +1,180 @@
+package mightyduck.task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an inverted index from each word of the task names to the IDs of the tasks whose name
+ * contains it. Names are lower-cased and split into words at every character which is not a
+ * letter or a digit.
+ *
+ * <p>A keyword made only of letters and digits can only occur within a single word of a name, so
+ * the tasks whose name contains it are exactly the tasks having a word which contains it. Such a
+ * keyword is answered from the posting list of the matching word, plus those of the other words
+ * containing it, found by going through the distinct words rather than through every task. Other
+ * keywords cannot be answered by this index.</p>
+ *
+ * <p>Fuzzy searches, which match the words within a small edit distance of a keyword, are
+ * answered by a {@link BkTree} over the distinct words, built by the first fuzzy search. Words
+ * removed from the index are left in the tree and ignored, until they make up most of it and the
+ * tree is built again.</p>
+ */
+class WordIndex {
+
+    /**
+     * The IDs of the tasks having each word in their name.
+     */
+    private final Map<String, PostingList> postingsByWord = new HashMap<>();
+
+    /**
+     * A BK-tree over the words of the index and possibly some removed words, or {@code null} if
+     * no fuzzy search has been run yet.
+     */
+    private volatile BkTree vocabulary;
+
+    /**
+     * Records the words of the name of a task.
+     *
+     * @param id   The ID of the task.
+     * @param name The name of the task.
+     */
+    void add(int id, String name) {
+        for (String word : splitWords(name)) {
+            PostingList ids = postingsByWord.get(word);
+            if (ids == null) {
+                ids = new PostingList();
+                postingsByWord.put(word, ids);
+                if (vocabulary != null) {
+                    vocabulary.add(word);
+                }
+            }
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Removes the words of the name of a task. Words left without any task are removed from the
+     * index.
+     *
+     * @param id   The ID of the task.
+     * @param name The name of the task.
+     */
+    void remove(int id, String name) {
+        for (String word : splitWords(name)) {
+            PostingList ids = postingsByWord.get(word);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postingsByWord.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a keyword can be answered by this index.
+     *
+     * @param keyword The lower-cased keyword.
+     * @return {@code true} if the keyword is non-empty and made only of letters and digits,
+     *         {@code false} otherwise.
+     */
+    static boolean isSearchable(String keyword) {
+        if (keyword.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (!Character.isLetterOrDigit(keyword.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the tasks whose name contains at least one of the keywords.
+     *
+     * @param keywords The lower-cased keywords, which must all be
+     *                 {@linkplain #isSearchable searchable}.
+     * @return The IDs of the matching tasks, sorted in increasing order.
+     */
+    int[] search(List<String> keywords) {
+        List<PostingList> matches = new ArrayList<>();
+        for (String keyword : keywords) {
+            assert isSearchable(keyword) : "Keyword should be searchable";
+            PostingList exactMatch = postingsByWord.get(keyword);
+            if (exactMatch != null) {
+                matches.add(exactMatch);
+            }
+        }
+        for (Map.Entry<String, PostingList> entry : postingsByWord.entrySet()) {
+            String word = entry.getKey();
+            for (String keyword : keywords) {
+                if (word.length() > keyword.length() && word.contains(keyword)) {
+                    matches.add(entry.getValue());
+                    break;
+                }
+            }
+        }
+        return PostingList.union(matches);
+    }
+
+    /**
+     * Finds the tasks whose name has a word within the specified edit distance of at least one of
+     * the keywords. The BK-tree is built first if needed, or built again if most of its words have
+     * been removed from the index; concurrent searches building it only duplicate work.
+     *
+     * @param keywords    The lower-cased keywords, which must all be
+     *                    {@linkplain #isSearchable searchable}.
+     * @param maxDistance The maximum Levenshtein distance between a keyword and a matching word.
+     * @return The IDs of the matching tasks, sorted in increasing order.
+     */
+    int[] searchFuzzy(List<String> keywords, int maxDistance) {
+        BkTree tree = vocabulary;
+        if (tree == null || tree.size() > 2 * postingsByWord.size()) {
+            tree = new BkTree();
+            for (String word : postingsByWord.keySet()) {
+                tree.add(word);
+            }
+            vocabulary = tree;
+        }
+
+        List<PostingList> matches = new ArrayList<>();
+        for (String keyword : keywords) {
+            assert isSearchable(keyword) : "Keyword should be searchable";
+            tree.search(keyword, maxDistance, word -> {
+                PostingList ids = postingsByWord.get(word);
+                if (ids != null) {
+                    matches.add(ids);
+                }
+            });
+        }
+        return PostingList.union(matches);
+    }
+
+    /**
+     * Splits a name into its distinct lower-cased words.
+     *
+     * @param name The name to split.
+     * @return The distinct words of the name.
+     */
+    static Set<String> splitWords(String name) {
+        String lowerCaseName = name.toLowerCase();
+        Set<String> words = new LinkedHashSet<>();
+        int wordStart = -1;
+        for (int i = 0; i <= lowerCaseName.length(); i++) {
+            boolean isWordCharacter = i < lowerCaseName.length()
+                    && Character.isLetterOrDigit(lowerCaseName.charAt(i));
+            if (isWordCharacter && wordStart < 0) {
+                wordStart = i;
+            } else if (!isWordCharacter && wordStart >= 0) {
+                words.add(lowerCaseName.substring(wordStart, i));
+                wordStart = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -15,6 +15,70 @@ public class Config {
      */
     public static final String STORAGE_PATH = "./data/mightyduck.txt";
 
+    /**
+     * Whether saving appends changes to a journal instead of rewriting the whole data file.
+     */
+    public static final boolean IS_JOURNALED = true;
+
+    /**
+     * The maximum delay, in milliseconds, between a change to the tasks and its write to the data
+     * file. Changes made within this delay are written together.
+     */
+    public static final long SAVE_MAX_DELAY_MILLIS = 200;
+
+    /**
+     * Whether adding an event warns about the existing events it overlaps.
+     */
+    public static final boolean IS_WARNING_EVENT_CONFLICTS = true;
+
+    /**
+     * The maximum edit distance of a fuzzy search, unless another distance is requested.
+     */
+    public static final int FUZZY_FIND_DISTANCE = 1;
+
+    /**
+     * The largest edit distance a fuzzy search may request, beyond which nearly every word matches
+     * and the search is slow.
+     */
+    public static final int MAX_FUZZY_FIND_DISTANCE = 3;
+
+    /**
+     * The number of tasks shown on each page of the task list, unless another size is requested.
+     */
+    public static final int LIST_PAGE_SIZE = 100;
+
+    /**
+     * Whether the tasks of the data file are only decoded on first access instead of at startup.
+     */
+    public static final boolean IS_LAZY_LOADING = true;
+
+    /**
+     * The size, in bytes, below which the journal is never compacted into the data file.
+     */
+    public static final long COMPACTION_MIN_JOURNAL_BYTES = 64 << 10;
+
+    /**
+     * The size, in bytes, at which the journal is always compacted into the data file.
+     */
+    public static final long COMPACTION_MAX_JOURNAL_BYTES = 8 << 20;
+
+    /**
+     * The ratio of the journal size to the data file size at which the journal is compacted into
+     * the data file, once it reaches {@link #COMPACTION_MIN_JOURNAL_BYTES}.
+     */
+    public static final double COMPACTION_JOURNAL_RATIO = 0.5;
+
+    /**
+     * The minimum size, in bytes, of a text data file for it to be decoded on all available cores.
+     * Smaller files are decoded faster on a single thread.
+     */
+    public static final int PARALLEL_DECODE_MIN_BYTES = 1 << 20;
+
+    /**
+     * The approximate size, in bytes, of each chunk of a text data file decoded in parallel.
+     */
+    public static final int PARALLEL_DECODE_CHUNK_BYTES = 1 << 18;
+
     /**
      * Private constructor to prevent instantiation of this utility class.
      */
@@ -1,9 +1,16 @@
 package mightyduck.utils;
 
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 /**
  * Utility class for handling date-time formatting.
+ *
+ * <p>{@link #parse(CharSequence)} and {@link #format(LocalDateTime)} handle the fixed-width
+ * {@link #PATTERN} with plain digit arithmetic, which is much cheaper than going through
+ * {@link #FORMATTER} on the hot paths of loading, saving and displaying tasks.</p>
  */
 public class DateTimeUtils {
 
@@ -15,8 +22,47 @@ public class DateTimeUtils {
     /**
      * The common datetime formatter used throughout the application.
      */
-    public static final DateTimeFormatter FORMATTER =
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+
+    /**
+     * The number of characters of a datetime in the common format.
+     */
+    private static final int LENGTH = PATTERN.length();
+
+    /**
+     * The index of the first digit of the year in the common format.
+     */
+    private static final int YEAR_INDEX = PATTERN.indexOf('y');
+
+    /**
+     * The index of the first digit of the month in the common format.
+     */
+    private static final int MONTH_INDEX = PATTERN.indexOf('M');
+
+    /**
+     * The index of the first digit of the day in the common format.
+     */
+    private static final int DAY_INDEX = PATTERN.indexOf('d');
+
+    /**
+     * The index of the first digit of the hour in the common format.
+     */
+    private static final int HOUR_INDEX = PATTERN.indexOf('H');
+
+    /**
+     * The index of the first digit of the minute in the common format.
+     */
+    private static final int MINUTE_INDEX = PATTERN.indexOf('m');
+
+    /**
+     * The smallest year that can be written with four digits of year-of-era.
+     */
+    private static final int MIN_YEAR = 1;
+
+    /**
+     * The largest year that can be written with four digits of year-of-era.
+     */
+    private static final int MAX_YEAR = 9999;
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -24,4 +70,96 @@ public class DateTimeUtils {
     private DateTimeUtils() {
         throw new UnsupportedOperationException("Utility class should not be instantiated.");
     }
+
+    /**
+     * Parses a datetime in the common format. The text must match the format exactly and denote
+     * an existing date and time; for example, "2025-02-30 12:00" is rejected.
+     *
+     * @param text The text to parse.
+     * @return The parsed {@link LocalDateTime}.
+     * @throws DateTimeParseException If the text is not a valid datetime in the common format.
+     */
+    public static LocalDateTime parse(CharSequence text) throws DateTimeParseException {
+        if (text.length() != LENGTH) {
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed at index "
+                    + Math.min(text.length(), LENGTH), text, Math.min(text.length(), LENGTH));
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char expected = PATTERN.charAt(i);
+            char actual = text.charAt(i);
+            boolean isValid = Character.isLetter(expected)
+                    ? actual >= '0' && actual <= '9'
+                    : actual == expected;
+            if (!isValid) {
+                throw new DateTimeParseException("Text '" + text + "' could not be parsed at index "
+                        + i, text, i);
+            }
+        }
+
+        int year = readNumber(text, YEAR_INDEX, MONTH_INDEX - 1);
+        try {
+            if (year < MIN_YEAR) {
+                throw new DateTimeException("Invalid value for YearOfEra: " + year);
+            }
+            return LocalDateTime.of(year, readNumber(text, MONTH_INDEX, DAY_INDEX - 1),
+                    readNumber(text, DAY_INDEX, HOUR_INDEX - 1),
+                    readNumber(text, HOUR_INDEX, MINUTE_INDEX - 1),
+                    readNumber(text, MINUTE_INDEX, LENGTH));
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed: "
+                    + e.getMessage(), text, 0, e);
+        }
+    }
+
+    /**
+     * Formats a datetime in the common format.
+     *
+     * @param time The datetime to format.
+     * @return The formatted datetime.
+     */
+    public static String format(LocalDateTime time) {
+        int year = time.getYear();
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return time.format(FORMATTER);
+        }
+
+        char[] chars = PATTERN.toCharArray();
+        writeNumber(chars, YEAR_INDEX, MONTH_INDEX - 1, year);
+        writeNumber(chars, MONTH_INDEX, DAY_INDEX - 1, time.getMonthValue());
+        writeNumber(chars, DAY_INDEX, HOUR_INDEX - 1, time.getDayOfMonth());
+        writeNumber(chars, HOUR_INDEX, MINUTE_INDEX - 1, time.getHour());
+        writeNumber(chars, MINUTE_INDEX, LENGTH, time.getMinute());
+        return new String(chars);
+    }
+
+    /**
+     * Reads the non-negative decimal number within a range of digits.
+     *
+     * @param text The text holding the digits.
+     * @param from The index of the first digit.
+     * @param to   The index after the last digit.
+     * @return The number.
+     */
+    private static int readNumber(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Writes a non-negative decimal number into a range of characters, padded with leading zeros.
+     *
+     * @param chars The characters to write into.
+     * @param from  The index of the first digit.
+     * @param to    The index after the last digit.
+     * @param value The number, which must fit in the range.
+     */
+    private static void writeNumber(char[] chars, int from, int to, int value) {
+        for (int i = to - 1; i >= from; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
 }
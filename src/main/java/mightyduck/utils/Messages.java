@@ -18,6 +18,22 @@ public class Messages {
      */
     public static final String LIST = "Here's what's on your agen-duck:";
 
+    /**
+     * Message displayed below the tasks when the task list spans several pages.
+     */
+    public static final String LIST_PAGE = "Showing tasks %d-%d of %d (page %d of %d).";
+
+    /**
+     * Message displayed when the requested page of the task list does not exist.
+     */
+    public static final String OUT_OF_RANGE_PAGE = "There is no page %d, the list has %d page(s).";
+
+    /**
+     * Message displayed when a page number or page size is not a positive integer.
+     */
+    public static final String INVALID_PAGE_NUMBER =
+            "The page number and size must be positive integers: %s";
+
     /**
      * Message displayed when a task is marked as completed.
      */
@@ -76,11 +92,21 @@ public class Messages {
      */
     public static final String EXCEPTION = "Something's a-fowl! ";
 
+    /**
+     * Message displayed when a range of tasks ends before it starts.
+     */
+    public static final String REVERSED_INDEX_RANGE = "The range of tasks is reversed: %s";
+
     /**
      * Message displayed when the task index is out of range.
      */
     public static final String OUT_OF_RANGE_INDEX = "The task number is out of range: %s";
 
+    /**
+     * Message displayed when no task has the given ID.
+     */
+    public static final String UNKNOWN_TASK_ID = "There is no task with ID #%d";
+
     /**
      * Message displayed when the end time of a task is before its start time.
      */
@@ -98,6 +124,11 @@ public class Messages {
      */
     public static final String INVALID_ENCODED_FORMAT = "Invalid encoded task format: %s";
 
+    /**
+     * Message displayed when a journal record is invalid.
+     */
+    public static final String INVALID_JOURNAL_RECORD = "Invalid journal record: %s";
+
     /**
      * Message displayed when at least one matching task was found.
      */
@@ -108,16 +139,75 @@ public class Messages {
      */
     public static final String EMPTY_FIND = "This is a wild goose chase! I cannot find anything.";
 
+    /**
+     * Message displayed when the edit distance of a fuzzy search is invalid.
+     */
+    public static final String INVALID_FUZZY_DISTANCE =
+            "The distance must be an integer from 0 to %d: %s";
+
+    /**
+     * Message displayed when at least one task was found within a time range.
+     */
+    public static final String TIME_RANGE = "Here's what's on the calendar:";
+
+    /**
+     * Message displayed when no task was found within a time range.
+     */
+    public static final String EMPTY_TIME_RANGE = "Nothing on the calendar! Time for a swim.";
+
+    /**
+     * Message displayed when at least one overlapping event was found.
+     */
+    public static final String CONFLICTS = "These events are fighting over the same pond:";
+
+    /**
+     * Message displayed when no overlapping events were found.
+     */
+    public static final String EMPTY_CONFLICTS = "No overlapping events. Smooth sailing!";
+
+    /**
+     * Message displayed when a newly added event overlaps existing events.
+     */
+    public static final String EVENT_CONFLICT_WARNING =
+            "Watch out! This event overlaps %d other event(s). Use 'conflicts #%d' to see them.";
+
+    /**
+     * Message displayed when a task expected to be an event is not an event.
+     */
+    public static final String NOT_AN_EVENT = "This task is not an event: %s";
+
     /**
      * Message displayed when the storage file path is invalid.
      */
-    public static final String INVALID_STORAGE_PATH = "Storage file should end with '.txt'.";
+    public static final String INVALID_STORAGE_PATH =
+            "Storage file should end with '.txt' or '.bin'.";
+
+    /**
+     * Message displayed when a binary storage snapshot cannot be decoded.
+     */
+    public static final String INVALID_BINARY_SNAPSHOT = "Invalid binary storage file: %s";
+
+    /**
+     * Message displayed when the storage converter is run with the wrong arguments.
+     */
+    public static final String CONVERTER_USAGE =
+            "Usage: StorageConverter <source.txt|source.bin> <target.txt|target.bin>";
+
+    /**
+     * Message displayed when the storage converter has converted a storage file.
+     */
+    public static final String CONVERTED = "Converted %d tasks from %s to %s.";
 
     /**
      * Message displayed when an error occurs while writing to the storage.
      */
     public static final String WRITE_ERROR = "Error writing to file: %s";
 
+    /**
+     * Message displayed when an error occurs while compacting the journal into the storage.
+     */
+    public static final String COMPACTION_ERROR = "Error compacting file: %s";
+
     /**
      * Message displayed when an error occurs while loading data from storage.
      */
@@ -157,7 +247,7 @@ public class Messages {
             "This task is already duck-umented as not done: %s";
 
     /**
-     * Message displayed when attempting to add a numeric tag.
+     * Message displayed when attempting to add a tag that looks like a task selector.
      */
     public static final String INVALID_TAG_FORMAT = "The tag cannot be numeric: %s";
 
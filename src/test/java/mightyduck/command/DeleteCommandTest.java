@@ -9,6 +9,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import mightyduck.exception.InvalidValueException;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.TaskManager;
 import mightyduck.task.ToDo;
 import mightyduck.utils.Messages;
@@ -25,7 +26,7 @@ public class DeleteCommandTest {
     @Test
     void execute_validArguments_deletesTask() throws InvalidValueException {
         assertEquals(1, taskManager.getTasks().size());
-        DeleteCommand command = new DeleteCommand(taskManager, List.of(0));
+        DeleteCommand command = new DeleteCommand(taskManager, IndexSelection.of(0));
         command.execute();
 
         assertEquals(0, taskManager.getTasks().size());
@@ -34,7 +35,7 @@ public class DeleteCommandTest {
     @Test
     void execute_invalidArguments_throwsException() {
         assertEquals(1, taskManager.getTasks().size());
-        DeleteCommand command = new DeleteCommand(taskManager, List.of(1));
+        DeleteCommand command = new DeleteCommand(taskManager, IndexSelection.of(1));
         InvalidValueException exception = assertThrows(InvalidValueException.class,
                 command::execute);
         assertEquals(String.format(Messages.OUT_OF_RANGE_INDEX, 1), exception.getMessage());
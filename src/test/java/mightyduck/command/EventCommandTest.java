@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import mightyduck.exception.InvalidValueException;
 import mightyduck.task.Event;
 import mightyduck.task.TaskManager;
+import mightyduck.utils.Messages;
 
 public class EventCommandTest {
     private TaskManager taskManager;
@@ -32,4 +33,18 @@ public class EventCommandTest {
         assertEquals(1, taskManager.getTasks().size());
         assertInstanceOf(Event.class, taskManager.getTask(0));
     }
+
+    @Test
+    void execute_overlappingEvent_warnsAboutConflicts() throws InvalidValueException {
+        LocalDateTime noon = LocalDateTime.of(2025, 1, 18, 12, 0);
+        new EventCommand(taskManager, "lunch", noon, noon.plusHours(1), List.of()).execute();
+        CommandResult first = new EventCommand(taskManager, "nap", noon.plusHours(1),
+                noon.plusHours(2), List.of()).execute();
+        CommandResult second = new EventCommand(taskManager, "meeting", noon.plusMinutes(30),
+                noon.plusMinutes(90), List.of()).execute();
+
+        assertEquals(Messages.ADD_TASK, first.feedback());
+        assertEquals(Messages.ADD_TASK + "\n" + String.format(Messages.EVENT_CONFLICT_WARNING, 2,
+                taskManager.getTask(2).getId()), second.feedback());
+    }
 }
@@ -0,0 +1,52 @@
+package mightyduck.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import mightyduck.task.TaskManager;
+import mightyduck.task.ToDo;
+import mightyduck.utils.Messages;
+
+public class FindTagsCommandTest {
+    private TaskManager taskManager;
+
+    @BeforeEach
+    void setUp() {
+        taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("hello", List.of("greeting")));
+        taskManager.addTask(new ToDo("apple", List.of("fruit", "food")));
+        taskManager.addTask(new ToDo("llama", List.of("animal", "food")));
+    }
+
+    @Test
+    void execute_allTags_findTagged() {
+        FindTagsCommand command = new FindTagsCommand(taskManager, List.of("animal", "food"), true);
+        CommandResult commandResult = command.execute();
+
+        assertEquals(1, commandResult.tasks().size());
+        assertEquals(Messages.FIND, commandResult.feedback());
+    }
+
+    @Test
+    void execute_anyTags_findTagged() {
+        FindTagsCommand command = new FindTagsCommand(taskManager, List.of("animal", "greeting"),
+                false);
+        CommandResult commandResult = command.execute();
+
+        assertEquals(2, commandResult.tasks().size());
+        assertEquals(Messages.FIND, commandResult.feedback());
+    }
+
+    @Test
+    void execute_unknownTag_emptyFind() {
+        FindTagsCommand command = new FindTagsCommand(taskManager, List.of("plant"), true);
+        CommandResult commandResult = command.execute();
+
+        assertEquals(0, commandResult.tasks().size());
+        assertEquals(Messages.EMPTY_FIND, commandResult.feedback());
+    }
+}
@@ -0,0 +1,59 @@
+package mightyduck.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import mightyduck.exception.InvalidValueException;
+import mightyduck.task.IndexedTask;
+import mightyduck.task.TaskManager;
+import mightyduck.task.ToDo;
+import mightyduck.utils.Messages;
+
+public class ListCommandTest {
+    private TaskManager taskManager;
+
+    @BeforeEach
+    void setUp() {
+        taskManager = new TaskManager();
+        for (int i = 1; i <= 5; i++) {
+            taskManager.addTask(new ToDo("task " + i));
+        }
+    }
+
+    @Test
+    void execute_singlePage_allTasks() throws InvalidValueException {
+        CommandResult commandResult = new ListCommand(taskManager, 1, 10).execute();
+
+        assertEquals(5, commandResult.tasks().size());
+        assertEquals(Messages.LIST, commandResult.feedback());
+    }
+
+    @Test
+    void execute_lastPage_remainingTasks() throws InvalidValueException {
+        CommandResult commandResult = new ListCommand(taskManager, 3, 2).execute();
+
+        assertEquals(List.of(4), commandResult.tasks().stream().map(IndexedTask::index).toList());
+        assertEquals(Messages.LIST + "\n" + String.format(Messages.LIST_PAGE, 5, 5, 5, 3, 3),
+                commandResult.feedback());
+    }
+
+    @Test
+    void execute_pagePastEnd_throwsException() {
+        InvalidValueException exception = assertThrows(InvalidValueException.class, () ->
+                new ListCommand(taskManager, 4, 2).execute());
+        assertEquals(String.format(Messages.OUT_OF_RANGE_PAGE, 4, 3), exception.getMessage());
+    }
+
+    @Test
+    void execute_emptyList_emptyMessage() throws InvalidValueException {
+        CommandResult commandResult = new ListCommand(new TaskManager(), 1, 10).execute();
+
+        assertEquals(0, commandResult.tasks().size());
+        assertEquals(Messages.EMPTY_LIST, commandResult.feedback());
+    }
+}
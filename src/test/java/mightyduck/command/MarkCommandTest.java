@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import mightyduck.exception.InvalidValueException;
 import mightyduck.task.Deadline;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.TaskManager;
 import mightyduck.task.ToDo;
 import mightyduck.utils.Messages;
@@ -30,7 +31,7 @@ public class MarkCommandTest {
     @Test
     void execute_validArguments_addsEventTask() throws InvalidValueException {
         assertFalse(taskManager.getTask(1).isMarked());
-        MarkCommand command = new MarkCommand(taskManager, List.of(1));
+        MarkCommand command = new MarkCommand(taskManager, IndexSelection.of(1));
         command.execute();
         assertTrue(taskManager.getTask(1).isMarked());
     }
@@ -38,7 +39,7 @@ public class MarkCommandTest {
     @Test
     void execute_invalidTimes_throwsException() {
         assertEquals(2, taskManager.getTaskCount());
-        MarkCommand command = new MarkCommand(taskManager, List.of(2));
+        MarkCommand command = new MarkCommand(taskManager, IndexSelection.of(2));
         InvalidValueException exception =
                 assertThrows(InvalidValueException.class, command::execute);
         assertEquals(String.format(Messages.OUT_OF_RANGE_INDEX, 2), exception.getMessage());
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import mightyduck.exception.InvalidValueException;
 import mightyduck.task.Deadline;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.Task;
 import mightyduck.task.TaskManager;
 import mightyduck.task.ToDo;
@@ -33,7 +34,7 @@ public class UnmarkCommandTest {
     @Test
     void execute_validArguments_addsEventTask() throws InvalidValueException {
         assertTrue(taskManager.getTask(0).isMarked());
-        UnmarkCommand command = new UnmarkCommand(taskManager, List.of(0));
+        UnmarkCommand command = new UnmarkCommand(taskManager, IndexSelection.of(0));
         command.execute();
         assertFalse(taskManager.getTask(0).isMarked());
     }
@@ -41,7 +42,7 @@ public class UnmarkCommandTest {
     @Test
     void execute_invalidTimes_throwsException() {
         assertEquals(2, taskManager.getTaskCount());
-        UnmarkCommand command = new UnmarkCommand(taskManager, List.of(2));
+        UnmarkCommand command = new UnmarkCommand(taskManager, IndexSelection.of(2));
         InvalidValueException exception =
                 assertThrows(InvalidValueException.class, command::execute);
         assertEquals(String.format(Messages.OUT_OF_RANGE_INDEX, 2), exception.getMessage());
@@ -4,13 +4,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import mightyduck.command.DeleteCommand;
 import mightyduck.exception.InvalidCommandException;
 import mightyduck.exception.InvalidValueException;
+import mightyduck.task.Task;
 import mightyduck.task.TaskManager;
+import mightyduck.task.ToDo;
 import mightyduck.utils.Messages;
 
 public class DeleteBuilderTest {
@@ -43,4 +47,36 @@ public class DeleteBuilderTest {
                 deleteBuilder.fromInput(input));
         assertEquals(Messages.WRONG_NUMBER_FORMAT, exception.getMessage());
     }
+
+    @Test
+    void fromInput_rangesAndSets_deletesSelectedTasks() throws InvalidValueException,
+            InvalidCommandException {
+        TaskManager taskManager = new TaskManager();
+        for (int i = 1; i <= 10; i++) {
+            taskManager.addTask(new ToDo("task " + i));
+        }
+
+        new DeleteBuilder(taskManager).fromInput("2-4,9 3 #7").execute();
+
+        assertEquals(List.of("task 1", "task 5", "task 6", "task 8", "task 10"),
+                taskManager.getTasks().stream().map(Task::getName).toList());
+    }
+
+    @Test
+    void fromInput_all_deletesEveryTask() throws InvalidValueException, InvalidCommandException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1"));
+        taskManager.addTask(new ToDo("task 2"));
+
+        new DeleteBuilder(taskManager).fromInput("all").execute();
+
+        assertEquals(0, taskManager.getTaskCount());
+    }
+
+    @Test
+    void fromInput_reversedRange_throwsException() {
+        Exception exception = assertThrows(InvalidValueException.class, () ->
+                deleteBuilder.fromInput("5-3"));
+        assertEquals(String.format(Messages.REVERSED_INDEX_RANGE, "5-3"), exception.getMessage());
+    }
 }
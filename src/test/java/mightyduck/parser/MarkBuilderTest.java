@@ -3,6 +3,9 @@ package mightyduck.parser;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,7 +13,9 @@ import org.junit.jupiter.api.Test;
 import mightyduck.command.MarkCommand;
 import mightyduck.exception.InvalidCommandException;
 import mightyduck.exception.InvalidValueException;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.TaskManager;
+import mightyduck.task.ToDo;
 import mightyduck.utils.Messages;
 
 public class MarkBuilderTest {
@@ -43,4 +48,25 @@ public class MarkBuilderTest {
                 markBuilder.fromInput(input));
         assertEquals(Messages.WRONG_NUMBER_FORMAT, exception.getMessage());
     }
+
+    @Test
+    void fromInput_idReference_createsMarkCommand() throws InvalidValueException,
+            InvalidCommandException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1"));
+        taskManager.addTask(new ToDo("task 2"));
+        taskManager.deleteTasks(IndexSelection.of(0));
+
+        new MarkBuilder(taskManager).fromInput("#2").execute();
+
+        assertTrue(taskManager.getTask(0).isMarked());
+    }
+
+    @Test
+    void fromInput_unknownId_throwsException() {
+        String input = "#1";
+        Exception exception = assertThrows(InvalidValueException.class, () ->
+                markBuilder.fromInput(input));
+        assertEquals(String.format(Messages.UNKNOWN_TASK_ID, 1), exception.getMessage());
+    }
 }
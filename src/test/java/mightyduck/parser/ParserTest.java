@@ -7,12 +7,17 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import mightyduck.command.BetweenCommand;
 import mightyduck.command.ByeCommand;
 import mightyduck.command.Command;
+import mightyduck.command.ConflictsCommand;
 import mightyduck.command.DeadlineCommand;
 import mightyduck.command.DeleteCommand;
+import mightyduck.command.DueCommand;
 import mightyduck.command.EventCommand;
 import mightyduck.command.FindCommand;
+import mightyduck.command.FindTagsCommand;
+import mightyduck.command.FuzzyFindCommand;
 import mightyduck.command.ListCommand;
 import mightyduck.command.MarkCommand;
 import mightyduck.command.ToDoCommand;
@@ -42,6 +47,37 @@ public class ParserTest {
         assertInstanceOf(ListCommand.class, command);
     }
 
+    @Test
+    void parse_listCommandWithPage_success() throws InvalidCommandException,
+            InvalidValueException {
+        Command command = parser.parse("list /page 2 /size 50");
+        assertInstanceOf(ListCommand.class, command);
+    }
+
+    @Test
+    void parse_listCommandInvalidPage_throwsException() {
+        assertThrows(InvalidValueException.class, () -> parser.parse("list /page 0"));
+        assertThrows(InvalidValueException.class, () -> parser.parse("list /size many"));
+        assertThrows(InvalidCommandException.class, () -> parser.parse("list /page"));
+        assertThrows(InvalidCommandException.class, () -> parser.parse("list /page 1 /page 2"));
+    }
+
+    @Test
+    void parse_fuzzyFindCommand_success() throws InvalidCommandException,
+            InvalidValueException {
+        assertInstanceOf(FuzzyFindCommand.class, parser.parse("find /fuzzy reprot"));
+        assertInstanceOf(FuzzyFindCommand.class, parser.parse("find /fuzzy reprot /distance 2"));
+    }
+
+    @Test
+    void parse_fuzzyFindCommandInvalidDistance_throwsException() {
+        assertThrows(InvalidValueException.class, () ->
+                parser.parse("find /fuzzy reprot /distance 9"));
+        assertThrows(InvalidCommandException.class, () -> parser.parse("find /fuzzy /distance 1"));
+        assertThrows(InvalidCommandException.class, () ->
+                parser.parse("find /fuzzy reprot /distance 1 bug"));
+    }
+
     @Test
     void parse_markCommand_success() throws InvalidCommandException, InvalidValueException {
         Command command = parser.parse("mark 1");
@@ -167,6 +203,48 @@ public class ParserTest {
         assertEquals(Messages.END_TIME_BEFORE_START_TIME, exception.getMessage());
     }
 
+    @Test
+    void parse_findTagsCommand_success() throws InvalidCommandException, InvalidValueException {
+        assertInstanceOf(FindTagsCommand.class, parser.parse("find /tags school urgent"));
+        assertInstanceOf(FindTagsCommand.class, parser.parse("find /anytags school"));
+    }
+
+    @Test
+    void parse_findTagsCommandMissingTags_throwsException() {
+        Exception exception = assertThrows(InvalidCommandException.class, () ->
+                parser.parse("find /tags"));
+        assertEquals(String.format(Messages.WRONG_COMMAND_FORMAT,
+                FindBuilder.COMMAND_FORMAT), exception.getMessage());
+    }
+
+    @Test
+    void parse_timeRangeCommands_success() throws InvalidCommandException, InvalidValueException {
+        assertInstanceOf(DueCommand.class, parser.parse("due 2025-01-18 12:00"));
+        assertInstanceOf(BetweenCommand.class,
+                parser.parse("between 2025-01-18 12:00 /to 2025-01-19 12:00"));
+    }
+
+    @Test
+    void parse_conflictsCommand_success() throws InvalidCommandException, InvalidValueException {
+        assertInstanceOf(ConflictsCommand.class, parser.parse("conflicts"));
+        assertInstanceOf(ConflictsCommand.class, parser.parse("conflicts 1"));
+    }
+
+    @Test
+    void parse_conflictsCommandTooManyIndices_throwsException() {
+        Exception exception = assertThrows(InvalidCommandException.class, () ->
+                parser.parse("conflicts 1 2"));
+        assertEquals(String.format(Messages.WRONG_COMMAND_FORMAT,
+                ConflictsBuilder.COMMAND_FORMAT), exception.getMessage());
+    }
+
+    @Test
+    void parse_betweenCommandReversedRange_throwsException() {
+        Exception exception = assertThrows(InvalidValueException.class, () ->
+                parser.parse("between 2025-01-19 12:00 /to 2025-01-18 12:00"));
+        assertEquals(Messages.END_TIME_BEFORE_START_TIME, exception.getMessage());
+    }
+
     @Test
     void parse_findCommandMissingWord_throwsException() {
         Exception exception = assertThrows(InvalidCommandException.class, () ->
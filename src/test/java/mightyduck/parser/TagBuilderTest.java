@@ -62,4 +62,11 @@ public class TagBuilderTest {
                 tagBuilder.fromInput(input));
         assertEquals(String.format(Messages.DUPLICATE_TAG, "tag"), exception.getMessage());
     }
+
+    @Test
+    public void fromInput_selectorTagAfterTag_createsTagCommand() throws InvalidValueException,
+            InvalidCommandException {
+        String input = "all tag 1-2";
+        assertInstanceOf(TagCommand.class, tagBuilder.fromInput(input));
+    }
 }
@@ -4,12 +4,16 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import mightyduck.command.UntagCommand;
 import mightyduck.exception.InvalidCommandException;
 import mightyduck.exception.InvalidValueException;
+import mightyduck.exception.StorageLoadException;
+import mightyduck.storage.TaskDecoder;
 import mightyduck.task.TaskManager;
 import mightyduck.utils.Messages;
 
@@ -62,4 +66,14 @@ public class UntagBuilderTest {
                 untagBuilder.fromInput(input));
         assertEquals(String.format(Messages.DUPLICATE_TAG, "untag"), exception.getMessage());
     }
+
+    @Test
+    public void fromInput_storedSelectorTag_removesTag() throws InvalidValueException,
+            InvalidCommandException, StorageLoadException {
+        TaskManager taskManager = TaskDecoder.decodeTasks(List.of("T|0|all,urgent|task||1"));
+
+        new UntagBuilder(taskManager).fromInput("1 all").execute();
+
+        assertEquals(List.of("urgent"), taskManager.getTask(0).getTags());
+    }
 }
@@ -0,0 +1,75 @@
+package mightyduck.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mightyduck.exception.InvalidValueException;
+import mightyduck.exception.StorageLoadException;
+import mightyduck.task.Deadline;
+import mightyduck.task.Event;
+import mightyduck.task.TaskManager;
+import mightyduck.task.ToDo;
+
+public class BinaryTaskCodecTest {
+    private final BinaryTaskCodec codec = new BinaryTaskCodec();
+
+    private TaskManager createTaskManager() throws InvalidValueException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("read book", List.of("leisure", "home")));
+        taskManager.addTask(new Deadline("return bók", true,
+                LocalDateTime.of(2025, 1, 18, 12, 0), List.of("home")));
+        taskManager.addTask(new Event("meeting | notes", LocalDateTime.of(1969, 12, 31, 23, 59),
+                LocalDateTime.of(2025, 1, 18, 12, 30)));
+        taskManager.getTask(0).mark();
+        return taskManager;
+    }
+
+    @Test
+    void decode_encodedTasks_sameTasks() throws InvalidValueException, StorageLoadException {
+        TaskManager taskManager = createTaskManager();
+
+        TaskManager decoded = codec.decode(ByteBuffer.wrap(codec.encode(taskManager)));
+
+        assertEquals(taskManager.encodeTasks(), decoded.encodeTasks());
+    }
+
+    @Test
+    void encode_repeatedTags_smallerThanText() throws InvalidValueException {
+        TaskManager taskManager = new TaskManager();
+        for (int i = 0; i < 100; i++) {
+            taskManager.addTask(new Deadline("task " + i, LocalDateTime.of(2025, 1, 18, 12, 0),
+                    List.of("school", "urgent")));
+        }
+
+        assertTrue(codec.encode(taskManager).length
+                < new TextTaskCodec().encode(taskManager).length / 2);
+    }
+
+    @Test
+    void decode_emptyBuffer_emptyTaskManager() throws StorageLoadException {
+        assertEquals(0, codec.decode(ByteBuffer.allocate(0)).getTaskCount());
+    }
+
+    @Test
+    void decode_textContent_throwsStorageLoadException() throws InvalidValueException {
+        byte[] text = new TextTaskCodec().encode(createTaskManager());
+
+        assertThrows(StorageLoadException.class, () -> codec.decode(ByteBuffer.wrap(text)));
+    }
+
+    @Test
+    void decode_truncatedContent_throwsStorageLoadException() throws InvalidValueException {
+        byte[] content = codec.encode(createTaskManager());
+        byte[] truncated = Arrays.copyOf(content, content.length - 1);
+
+        assertThrows(StorageLoadException.class, () -> codec.decode(ByteBuffer.wrap(truncated)));
+    }
+}
@@ -0,0 +1,113 @@
+package mightyduck.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import mightyduck.exception.InvalidStoragePathException;
+import mightyduck.exception.StorageLoadException;
+import mightyduck.exception.StorageWriteException;
+import mightyduck.task.TaskManager;
+import mightyduck.task.ToDo;
+
+public class PersistenceServiceTest {
+    private static final String TEST_FILE_PATH = "./data/persistence-test.txt";
+    private static final String TEST_JOURNAL_PATH = TEST_FILE_PATH + Storage.JOURNAL_EXTENSION;
+    private static final String BLOCKING_FILE_PATH = "./data/persistence-blocker";
+    private static final long LONG_DELAY_MILLIS = 60_000;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH));
+        Files.deleteIfExists(Path.of(TEST_JOURNAL_PATH));
+        Files.deleteIfExists(Path.of(BLOCKING_FILE_PATH));
+    }
+
+    @Test
+    void flush_submittedChanges_written() throws InvalidStoragePathException,
+            StorageWriteException, StorageLoadException {
+        Storage storage = new Storage(TEST_FILE_PATH, true);
+        PersistenceService service = new PersistenceService(storage, LONG_DELAY_MILLIS);
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task"));
+
+        service.submit(taskManager);
+        service.shutdown();
+
+        assertEquals(1, storage.load().getTaskCount());
+    }
+
+    @Test
+    void submit_burstOfChanges_coalescedIntoOneWrite() throws InvalidStoragePathException,
+            StorageWriteException, IOException {
+        CountingStorage storage = new CountingStorage(TEST_FILE_PATH);
+        PersistenceService service = new PersistenceService(storage, LONG_DELAY_MILLIS);
+        TaskManager taskManager = new TaskManager();
+        for (int i = 0; i < 3; i++) {
+            taskManager.addTask(new ToDo("task " + i));
+            service.submit(taskManager);
+        }
+
+        service.shutdown();
+
+        assertEquals(1, storage.writeCount);
+        List<String> records = Files.readAllLines(Path.of(TEST_JOURNAL_PATH));
+        assertEquals(4, records.size());
+    }
+
+    @Test
+    void submit_afterFailedWrite_throwsStorageWriteException() throws IOException,
+            InvalidStoragePathException {
+        Files.createDirectories(Path.of(BLOCKING_FILE_PATH).getParent());
+        Files.writeString(Path.of(BLOCKING_FILE_PATH), "");
+        Storage storage = new Storage(BLOCKING_FILE_PATH + "/test.txt", true);
+        PersistenceService service = new PersistenceService(storage, LONG_DELAY_MILLIS);
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task"));
+
+        assertThrows(StorageWriteException.class, () -> {
+            service.submit(taskManager);
+            service.flush();
+        });
+        taskManager.addTask(new ToDo("another task"));
+        assertThrows(StorageWriteException.class, () -> service.submit(taskManager));
+    }
+
+    @Test
+    void flush_journalPastThreshold_compactedInBackground() throws InvalidStoragePathException,
+            StorageWriteException, StorageLoadException {
+        Storage storage = new Storage(TEST_FILE_PATH, true, new CompactionPolicy(1, 1, 0));
+        PersistenceService service = new PersistenceService(storage, LONG_DELAY_MILLIS);
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task"));
+
+        service.submit(taskManager);
+        service.flush();
+
+        assertFalse(Files.exists(Path.of(TEST_JOURNAL_PATH)));
+        assertEquals(1, service.getCompactionStats().compactionCount());
+        assertEquals(1, storage.load().getTaskCount());
+    }
+
+    private static class CountingStorage extends Storage {
+        private int writeCount;
+
+        CountingStorage(String filePath) throws InvalidStoragePathException {
+            super(filePath, true);
+        }
+
+        @Override
+        public void write(WriteBatch batch) throws StorageWriteException {
+            writeCount++;
+            super.write(batch);
+        }
+    }
+}
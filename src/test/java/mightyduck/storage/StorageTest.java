@@ -2,12 +2,15 @@ package mightyduck.storage;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -20,11 +23,15 @@ import mightyduck.exception.InvalidStoragePathException;
 import mightyduck.exception.InvalidValueException;
 import mightyduck.exception.StorageLoadException;
 import mightyduck.exception.StorageWriteException;
+import mightyduck.exception.TaskDecodeException;
+import mightyduck.task.IndexSelection;
 import mightyduck.task.TaskManager;
 import mightyduck.task.ToDo;
 
 class StorageTest {
     private static final String TEST_FILE_PATH = "./data/test.txt";
+    private static final String TEST_JOURNAL_PATH = TEST_FILE_PATH + Storage.JOURNAL_EXTENSION;
+    private static final String TEST_BINARY_FILE_PATH = "./data/test.bin";
     private Storage storage;
 
     @BeforeEach
@@ -35,6 +42,8 @@ class StorageTest {
     @AfterEach
     void tearDown() throws IOException {
         Files.deleteIfExists(Path.of(TEST_FILE_PATH));
+        Files.deleteIfExists(Path.of(TEST_JOURNAL_PATH));
+        Files.deleteIfExists(Path.of(TEST_BINARY_FILE_PATH));
     }
 
     @Test
@@ -50,8 +59,7 @@ class StorageTest {
         assertDoesNotThrow(() -> storage.save(taskManager));
         List<String> lines = Files.readAllLines(Path.of(TEST_FILE_PATH));
 
-        assertEquals(1, lines.size());
-        assertTrue(lines.get(0).contains("task"));
+        assertEquals(List.of(TextTaskCodec.NEXT_ID_HEADER + 2, "T|0||task||1"), lines);
     }
 
     @Test
@@ -89,5 +97,297 @@ class StorageTest {
         assertEquals("task 1", loadedTaskManager.getTask(0).getName());
         assertEquals("task 2", loadedTaskManager.getTask(1).getName());
     }
-}
 
+    @Test
+    void save_journaled_appendsOnlyChanges() throws InvalidStoragePathException,
+            StorageWriteException, IOException {
+        Storage journaledStorage = new Storage(TEST_FILE_PATH, true);
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1"));
+        journaledStorage.save(taskManager);
+        taskManager.addTask(new ToDo("task 2"));
+        journaledStorage.save(taskManager);
+
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH)));
+        List<String> records = Files.readAllLines(Path.of(TEST_JOURNAL_PATH));
+        assertEquals(3, records.size());
+        assertTrue(records.get(0).startsWith(Journal.HEADER_MARKER));
+        assertTrue(records.get(2).contains("task 2"));
+    }
+
+    @Test
+    void load_journaled_replaysJournalOnSnapshot() throws InvalidStoragePathException,
+            StorageWriteException, StorageLoadException, InvalidValueException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1"));
+        taskManager.addTask(new ToDo("task 2"));
+        storage.save(taskManager);
+
+        Storage journaledStorage = new Storage(TEST_FILE_PATH, true);
+        taskManager.markTasks(IndexSelection.of(1));
+        taskManager.deleteTasks(IndexSelection.of(0));
+        taskManager.addTask(new ToDo("task 3"));
+        journaledStorage.save(taskManager);
+
+        TaskManager loadedTaskManager = journaledStorage.load();
+        assertEquals(2, loadedTaskManager.getTaskCount());
+        assertEquals("task 2", loadedTaskManager.getTask(0).getName());
+        assertTrue(loadedTaskManager.getTask(0).isMarked());
+        assertEquals("task 3", loadedTaskManager.getTask(1).getName());
+    }
+
+    @Test
+    void save_notJournaled_discardsJournal() throws InvalidStoragePathException,
+            StorageWriteException, StorageLoadException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1"));
+        new Storage(TEST_FILE_PATH, true).save(taskManager);
+        assertTrue(Files.exists(Path.of(TEST_JOURNAL_PATH)));
+
+        taskManager.addTask(new ToDo("task 2"));
+        storage.save(taskManager);
+
+        assertFalse(Files.exists(Path.of(TEST_JOURNAL_PATH)));
+        assertEquals(2, storage.load().getTaskCount());
+    }
+
+    @Test
+    void load_invalidJournalRecord_throwsStorageLoadException() throws IOException {
+        Files.createDirectories(Path.of(TEST_JOURNAL_PATH).getParent());
+        Files.write(Path.of(TEST_JOURNAL_PATH), List.of("-|0"));
+
+        assertThrows(StorageLoadException.class, () -> storage.load());
+    }
+
+    @Test
+    void save_noChanges_doesNotWrite() throws StorageWriteException, IOException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task"));
+        storage.save(taskManager);
+        Files.delete(Path.of(TEST_FILE_PATH));
+
+        storage.save(taskManager);
+
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH)));
+    }
+
+    @Test
+    void load_binaryFile_success() throws InvalidStoragePathException, StorageWriteException,
+            StorageLoadException, InvalidValueException {
+        Storage binaryStorage = new Storage(TEST_BINARY_FILE_PATH);
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1", List.of("tag")));
+        binaryStorage.save(taskManager);
+
+        TaskManager loadedTaskManager = binaryStorage.load();
+        assertEquals(1, loadedTaskManager.getTaskCount());
+        assertEquals(taskManager.getTask(0).encode(), loadedTaskManager.getTask(0).encode());
+    }
+
+    @Test
+    void convert_textToBinaryAndBack_sameTasks() throws InvalidStoragePathException,
+            StorageWriteException, StorageLoadException, IOException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1", List.of("tag")));
+        taskManager.addTask(new ToDo("task 2"));
+        storage.save(taskManager);
+        List<String> original = Files.readAllLines(Path.of(TEST_FILE_PATH));
+
+        assertEquals(2, StorageConverter.convert(TEST_FILE_PATH, TEST_BINARY_FILE_PATH));
+        Files.delete(Path.of(TEST_FILE_PATH));
+        assertEquals(2, StorageConverter.convert(TEST_BINARY_FILE_PATH, TEST_FILE_PATH));
+
+        assertEquals(original, Files.readAllLines(Path.of(TEST_FILE_PATH)));
+    }
+
+    @Test
+    void compact_journalPastThreshold_foldedIntoSnapshot() throws InvalidStoragePathException,
+            StorageWriteException, StorageLoadException {
+        Storage journaledStorage = new Storage(TEST_FILE_PATH, true, new CompactionPolicy(1, 1, 0));
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1"));
+        taskManager.addTask(new ToDo("task 2"));
+        journaledStorage.save(taskManager);
+        assertTrue(journaledStorage.isCompactionDue());
+
+        journaledStorage.compact();
+
+        assertFalse(Files.exists(Path.of(TEST_JOURNAL_PATH)));
+        assertFalse(journaledStorage.isCompactionDue());
+        assertEquals(taskManager.encodeTasks(), journaledStorage.load().encodeTasks());
+        assertEquals(1, journaledStorage.getCompactionStats().compactionCount());
+    }
+
+    @Test
+    void compact_snapshotGrows_noBytesReclaimed() throws InvalidStoragePathException,
+            StorageWriteException, IOException {
+        Files.createDirectories(Path.of(TEST_FILE_PATH).getParent());
+        Files.write(Path.of(TEST_FILE_PATH), List.of("T|0||task|"));
+        Storage journaledStorage = new Storage(TEST_FILE_PATH, true);
+
+        journaledStorage.compact();
+
+        assertEquals(List.of("#|2", "T|0||task||1"), Files.readAllLines(Path.of(TEST_FILE_PATH)));
+        assertEquals(0, journaledStorage.getCompactionStats().bytesReclaimed());
+    }
+
+    @Test
+    void compact_highestIdDeleted_idNotReused() throws InvalidStoragePathException,
+            StorageWriteException, StorageLoadException, InvalidValueException {
+        Storage journaledStorage = new Storage(TEST_FILE_PATH, true);
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1"));
+        taskManager.addTask(new ToDo("task 2"));
+        taskManager.addTask(new ToDo("task 3"));
+        journaledStorage.save(taskManager);
+        taskManager.deleteTasks(IndexSelection.of(2));
+        journaledStorage.save(taskManager);
+
+        journaledStorage.compact();
+        TaskManager loadedTaskManager = journaledStorage.load();
+        loadedTaskManager.addTask(new ToDo("task 4"));
+
+        assertEquals(4, loadedTaskManager.getTask(2).getId());
+        assertEquals(4, journaledStorage.loadLazily().getNextId());
+    }
+
+    @Test
+    void save_highestIdDeleted_idNotReused() throws InvalidStoragePathException,
+            StorageWriteException, StorageLoadException, InvalidValueException {
+        Storage binaryStorage = new Storage(TEST_BINARY_FILE_PATH);
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1"));
+        taskManager.addTask(new ToDo("task 2"));
+        taskManager.deleteTasks(IndexSelection.of(1));
+        storage.save(taskManager);
+        binaryStorage.saveSnapshot(taskManager);
+
+        assertEquals(3, storage.load().getNextId());
+        assertEquals(3, storage.loadLazily().getNextId());
+        assertEquals(3, binaryStorage.load().getNextId());
+    }
+
+    @Test
+    void load_snapshotWithoutNextId_nextIdAfterHighestId() throws StorageLoadException,
+            IOException {
+        Files.createDirectories(Path.of(TEST_FILE_PATH).getParent());
+        Files.write(Path.of(TEST_FILE_PATH), List.of("T|0||task||5"));
+
+        assertEquals(6, storage.load().getNextId());
+        assertEquals(6, storage.loadLazily().getNextId());
+    }
+
+    @Test
+    void isCompactionDue_smallJournal_false() throws InvalidStoragePathException,
+            StorageWriteException {
+        Storage journaledStorage = new Storage(TEST_FILE_PATH, true,
+                new CompactionPolicy(1 << 20, 1 << 30, 0));
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task"));
+        journaledStorage.save(taskManager);
+
+        assertFalse(journaledStorage.isCompactionDue());
+    }
+
+    @Test
+    void load_journalOfOtherSnapshot_ignored() throws InvalidStoragePathException,
+            StorageWriteException, StorageLoadException, IOException {
+        Storage journaledStorage = new Storage(TEST_FILE_PATH, true);
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new ToDo("task 1"));
+        storage.save(taskManager);
+        taskManager.addTask(new ToDo("task 2"));
+        journaledStorage.save(taskManager);
+        Files.write(Path.of(TEST_FILE_PATH), List.of("T|0||edited task|"));
+
+        TaskManager loadedTaskManager = new Storage(TEST_FILE_PATH, true).load();
+
+        assertEquals(List.of("T|0||edited task||1"), loadedTaskManager.encodeTasks());
+    }
+
+    @Test
+    void loadLazily_untouchedTasks_savedAsStored() throws StorageWriteException,
+            StorageLoadException, InvalidValueException, IOException {
+        Files.createDirectories(Path.of(TEST_FILE_PATH).getParent());
+        Files.write(Path.of(TEST_FILE_PATH),
+                List.of("T|0|a,b,a|kept as is||3", "T|0||changed||7"));
+
+        TaskManager taskManager = storage.loadLazily();
+        taskManager.markTasks(IndexSelection.of(1));
+        storage.save(taskManager);
+
+        assertEquals(List.of("#|8", "T|0|a,b,a|kept as is||3", "T|1||changed||7"),
+                Files.readAllLines(Path.of(TEST_FILE_PATH)));
+    }
+
+    @Test
+    void loadLazily_snapshotReplaced_untouchedTasksUnchanged() throws StorageWriteException,
+            StorageLoadException, InvalidValueException, IOException {
+        Files.createDirectories(Path.of(TEST_FILE_PATH).getParent());
+        Files.write(Path.of(TEST_FILE_PATH), List.of("T|0||first||1", "T|0||second||2"));
+
+        TaskManager taskManager = storage.loadLazily();
+        taskManager.addTask(new ToDo("third"));
+        storage.save(taskManager);
+        Files.write(Path.of(TEST_FILE_PATH), List.of("T|0||overwritten||1"));
+
+        assertEquals("first", taskManager.getTask(0).getName());
+        assertEquals("second", taskManager.getTask(1).getName());
+    }
+
+    @Test
+    void loadLazily_savedAndCompacted_noMappingKept() throws InvalidStoragePathException,
+            StorageWriteException, StorageLoadException, InvalidValueException, IOException {
+        Files.createDirectories(Path.of(TEST_FILE_PATH).getParent());
+        Files.write(Path.of(TEST_FILE_PATH), List.of("T|0||first||1", "T|0||second||2"));
+        Storage journaledStorage = new Storage(TEST_FILE_PATH, true);
+        long mappedCount = getMappedBufferCount();
+
+        TaskManager taskManager = journaledStorage.loadLazily();
+        assertEquals(mappedCount, getMappedBufferCount());
+        taskManager.addTask(new ToDo("third"));
+        journaledStorage.saveSnapshot(taskManager);
+        taskManager.markTasks(IndexSelection.of(2));
+        journaledStorage.save(taskManager);
+        journaledStorage.compact();
+        taskManager.deleteTasks(IndexSelection.of(0));
+        journaledStorage.save(taskManager);
+
+        assertEquals(mappedCount, getMappedBufferCount());
+        assertEquals("second", taskManager.getTask(0).getName());
+        assertEquals(taskManager.encodeTasks(), journaledStorage.load().encodeTasks());
+    }
+
+    @Test
+    void loadLazily_tasksWithoutIds_numberedInOrder() throws StorageWriteException,
+            StorageLoadException, InvalidValueException, IOException {
+        Files.createDirectories(Path.of(TEST_FILE_PATH).getParent());
+        Files.write(Path.of(TEST_FILE_PATH), List.of("T|0||first|", "T|0||second||1"));
+
+        TaskManager taskManager = storage.loadLazily();
+        storage.saveSnapshot(taskManager);
+
+        assertEquals(List.of("#|3", "T|0||first||1", "T|0||second||2"),
+                Files.readAllLines(Path.of(TEST_FILE_PATH)));
+        assertEquals(1, taskManager.getIndexOfId(2));
+    }
+
+    @Test
+    void loadLazily_invalidTask_throwsOnFirstAccess() throws StorageLoadException, IOException {
+        Files.createDirectories(Path.of(TEST_FILE_PATH).getParent());
+        Files.write(Path.of(TEST_FILE_PATH), List.of("T|0||valid|", "X|0||invalid|"));
+
+        TaskManager taskManager = storage.loadLazily();
+
+        assertEquals(2, taskManager.getTaskCount());
+        assertDoesNotThrow(() -> taskManager.getTask(0));
+        assertThrows(TaskDecodeException.class, () -> taskManager.getTask(1));
+    }
+
+    private static long getMappedBufferCount() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("mapped"))
+                .mapToLong(BufferPoolMXBean::getCount)
+                .sum();
+    }
+}
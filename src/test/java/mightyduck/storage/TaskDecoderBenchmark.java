@@ -0,0 +1,96 @@
+package mightyduck.storage;
+
+import static mightyduck.utils.DateTimeUtils.FORMATTER;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import mightyduck.exception.StorageLoadException;
+import mightyduck.task.Deadline;
+import mightyduck.task.Event;
+import mightyduck.task.Task;
+import mightyduck.task.ToDo;
+
+/**
+ * Measures the decode throughput of {@link TaskDecoder#decodeTask(String)} against the previous
+ * regex and stream based tokenizer, which is reproduced here as a reference. This is not run as
+ * part of the test suite; run its {@code main} method with an optional task count argument.
+ */
+public class TaskDecoderBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 200_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) throws StorageLoadException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        List<String> encodedTasks = createEncodedTasks(taskCount);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            decodeWithSplit(encodedTasks);
+            decodeWithTokenizer(encodedTasks);
+        }
+        long splitNanos = 0;
+        long tokenizerNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            decodeWithSplit(encodedTasks);
+            splitNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            decodeWithTokenizer(encodedTasks);
+            tokenizerNanos += System.nanoTime() - start;
+        }
+
+        System.out.printf("split:     %,.0f tasks/s%n", throughput(taskCount, splitNanos));
+        System.out.printf("tokenizer: %,.0f tasks/s%n", throughput(taskCount, tokenizerNanos));
+        System.out.printf("speed-up:  %.2fx%n", (double) splitNanos / tokenizerNanos);
+    }
+
+    private static List<String> createEncodedTasks(int taskCount) {
+        List<String> encodedTasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            encodedTasks.add(switch (i % 3) {
+            case 0 -> "T|" + (i % 2) + "|home,leisure|read chapter " + i + "|";
+            case 1 -> "D|" + (i % 2) + "|school|assignment " + i + "|2025-01-26 12:20";
+            default -> "E|" + (i % 2) + "|work,urgent,team|meeting " + i
+                    + "|2025-01-26 12:20,2025-01-26 14:00";
+            });
+        }
+        return encodedTasks;
+    }
+
+    private static double throughput(int taskCount, long nanos) {
+        return (double) taskCount * MEASURED_ROUNDS / nanos * 1e9;
+    }
+
+    private static List<Task> decodeWithTokenizer(List<String> encodedTasks)
+            throws StorageLoadException {
+        List<Task> tasks = new ArrayList<>(encodedTasks.size());
+        for (String encodedTask : encodedTasks) {
+            tasks.add(TaskDecoder.decodeTask(encodedTask));
+        }
+        return tasks;
+    }
+
+    private static List<Task> decodeWithSplit(List<String> encodedTasks) {
+        List<Task> tasks = new ArrayList<>(encodedTasks.size());
+        for (String encodedTask : encodedTasks) {
+            String[] parts = encodedTask.split("\\|", -1);
+            boolean isDone = parts[1].equals(Task.STATUS_DONE_STORAGE);
+            List<String> tags = Arrays.stream(parts[2].split(",")).filter(s -> !s.isEmpty())
+                    .distinct().collect(Collectors.toList());
+            List<String> info = Arrays.stream(parts[4].split(",")).filter(s -> !s.isEmpty())
+                    .toList();
+            tasks.add(switch (parts[0]) {
+            case ToDo.SIGNATURE -> new ToDo(parts[3], isDone, tags);
+            case Deadline.SIGNATURE -> new Deadline(parts[3], isDone,
+                    LocalDateTime.parse(info.get(0), FORMATTER), tags);
+            default -> new Event(parts[3], isDone, LocalDateTime.parse(info.get(0), FORMATTER),
+                    LocalDateTime.parse(info.get(1), FORMATTER), tags);
+            });
+        }
+        return tasks;
+    }
+}
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -18,6 +20,7 @@ import mightyduck.task.Event;
 import mightyduck.task.Task;
 import mightyduck.task.TaskManager;
 import mightyduck.task.ToDo;
+import mightyduck.utils.Messages;
 
 public class TaskDecoderTest {
     @Test
@@ -60,6 +63,27 @@ public class TaskDecoderTest {
         assertThrows(StorageLoadException.class, () -> TaskDecoder.decodeTasks(encodedTasks));
     }
 
+    @Test
+    void testDecodeTasks_withIds_idsKept() throws StorageLoadException, InvalidValueException {
+        List<String> encodedTasks = List.of("T|1||hello||4", "D|0||dltest|2025-01-26 12:20|9");
+
+        TaskManager taskManager = TaskDecoder.decodeTasks(encodedTasks);
+
+        assertEquals(4, taskManager.getTask(0).getId());
+        assertEquals(9, taskManager.getTask(1).getId());
+        assertEquals(encodedTasks, taskManager.encodeTasks());
+    }
+
+    @Test
+    void testDecodeTasks_invalidId() {
+        assertThrows(StorageLoadException.class, () ->
+                TaskDecoder.decodeTasks(List.of("T|1||hello||0")));
+        assertThrows(StorageLoadException.class, () ->
+                TaskDecoder.decodeTasks(List.of("T|1||hello||x1")));
+        assertThrows(StorageLoadException.class, () ->
+                TaskDecoder.decodeTasks(List.of("T|1||hello||1|2")));
+    }
+
     @Test
     void testDecodeTasks_invalidSignature() {
         List<String> encodedTasks = List.of("X|1||Unknown|");
@@ -80,5 +104,73 @@ public class TaskDecoderTest {
 
         assertThrows(StorageLoadException.class, () -> TaskDecoder.decodeTasks(encodedTasks));
     }
-}
 
+    @Test
+    void testDecodeTasks_buffer_sameAsLines() throws StorageLoadException,
+            InvalidValueException {
+        List<String> encodedTasks = Arrays.asList(
+                "T|1|a,b,a|héllo wörld|",
+                "D|0||dltest|2025-01-26 12:20",
+                "E|1|ba|eventtest|2025-01-26 12:20,2025-01-26 12:20"
+        );
+        ByteBuffer buffer = ByteBuffer.wrap((String.join("\r\n", encodedTasks) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        TaskManager fromLines = TaskDecoder.decodeTasks(encodedTasks);
+        TaskManager fromBuffer = TaskDecoder.decodeTasks(buffer);
+
+        assertEquals(3, fromBuffer.getTaskCount());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(fromLines.getTask(i).encode(), fromBuffer.getTask(i).encode());
+        }
+        assertEquals("héllo wörld", fromBuffer.getTask(0).getName());
+        assertTrue(fromBuffer.getTask(0).hasTag("b"));
+    }
+
+    @Test
+    void testDecodeTasks_bufferInvalidLine_throwsWithLine() {
+        ByteBuffer buffer = ByteBuffer.wrap("T|1||ok|\nTT|1||bad|\n"
+                .getBytes(StandardCharsets.UTF_8));
+
+        StorageLoadException exception = assertThrows(StorageLoadException.class, () ->
+                TaskDecoder.decodeTasks(buffer));
+        assertEquals(String.format(Messages.INVALID_ENCODED_FORMAT, "TT|1||bad|"),
+                exception.getMessage());
+    }
+
+    @Test
+    void testDecodeTasks_emptyBuffer_noTasks() throws StorageLoadException {
+        assertEquals(0, TaskDecoder.decodeTasks(ByteBuffer.allocate(0)).getTaskCount());
+    }
+
+    @Test
+    void testDecodeTasksInParallel_smallChunks_sameAsSequential() throws StorageLoadException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append("D|").append(i % 2).append("|t").append(i % 7).append("|task ")
+                    .append(i).append("|2025-01-26 12:20").append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        content.append("T|0||unterminated|");
+        ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+
+        TaskManager sequential = TaskDecoder.decodeTasks(buffer);
+        for (int chunkSize : new int[] {1, 37, 1 << 20}) {
+            TaskManager parallel = TaskDecoder.decodeTasksInParallel(buffer, chunkSize);
+            assertEquals(sequential.encodeTasks(), parallel.encodeTasks());
+        }
+    }
+
+    @Test
+    void testDecodeTasksInParallel_invalidLines_throwsWithFirstLine() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append(i == 40 || i == 90 ? "X|1||bad " + i + "|\n" : "T|1||ok|\n");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+
+        StorageLoadException exception = assertThrows(StorageLoadException.class, () ->
+                TaskDecoder.decodeTasksInParallel(buffer, 16));
+        assertEquals(String.format(Messages.INVALID_ENCODED_FORMAT, "X|1||bad 40|"),
+                exception.getMessage());
+    }
+}
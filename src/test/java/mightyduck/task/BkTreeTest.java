@@ -0,0 +1,51 @@
+package mightyduck.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BkTreeTest {
+    @Test
+    void distance_typicalTypos_editCount() {
+        assertEquals(0, BkTree.distance("report", "report"));
+        assertEquals(2, BkTree.distance("report", "reprot"));
+        assertEquals(1, BkTree.distance("report", "repor"));
+        assertEquals(1, BkTree.distance("report", "reeport"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(4, BkTree.distance("", "word"));
+    }
+
+    @Test
+    void search_randomWords_sameAsBruteForce() {
+        Random random = new Random(11);
+        List<String> words = new ArrayList<>();
+        BkTree tree = new BkTree();
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(6)));
+            }
+            words.add(word.toString());
+            tree.add(word.toString());
+        }
+        List<String> distinctWords = words.stream().distinct().toList();
+        assertEquals(distinctWords.size(), tree.size());
+
+        for (String query : List.of("abc", "fedcba", "a", "abcdefab")) {
+            for (int maxDistance = 0; maxDistance <= 2; maxDistance++) {
+                int distance = maxDistance;
+                List<String> expected = distinctWords.stream()
+                        .filter(word -> BkTree.distance(query, word) <= distance)
+                        .sorted().toList();
+                List<String> found = new ArrayList<>();
+                tree.search(query, maxDistance, found::add);
+                assertEquals(expected, found.stream().sorted().toList());
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package mightyduck.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mightyduck.exception.InvalidValueException;
+
+public class ColumnarTaskStoreTest {
+    private static List<Task> createTasks() {
+        Task deadline = new Deadline("return bók", true, LocalDateTime.of(2025, 1, 18, 12, 0),
+                List.of("home"));
+        deadline.setId(7);
+        return List.of(
+                new ToDo("read book", List.of("leisure", "home")),
+                deadline,
+                new Event("meeting | notes", LocalDateTime.of(1969, 12, 31, 23, 59),
+                        LocalDateTime.of(2025, 1, 18, 12, 30), List.of()));
+    }
+
+    @Test
+    void decode_addedTasks_sameEncoding() {
+        ColumnarTaskStore store = new ColumnarTaskStore(0);
+        for (int i = 0; i < 100; i++) {
+            createTasks().forEach(store::add);
+        }
+        store.trimToSize();
+
+        assertEquals(300, store.size());
+        List<Task> tasks = createTasks();
+        for (int i = 0; i < store.size(); i++) {
+            Task expected = tasks.get(i % tasks.size());
+            assertEquals(expected.encode(), store.decode(i).encode());
+            assertEquals(expected.encode(), store.encode(i));
+            assertEquals(expected.getId(), store.getId(i));
+        }
+    }
+
+    @Test
+    void taskManager_columnarSource_tasksNotRetained() throws InvalidValueException {
+        ColumnarTaskStore store = new ColumnarTaskStore(3);
+        createTasks().forEach(store::add);
+        TaskManager taskManager = new TaskManager(store);
+
+        assertNotSame(taskManager.getTask(0), taskManager.getTask(0));
+        assertEquals(List.of(0), taskManager.searchTags(List.of("leisure"), false).stream()
+                .map(IndexedTask::index).toList());
+
+        taskManager.markTasks(IndexSelection.of(0));
+        taskManager.deleteTasks(IndexSelection.of(2));
+        assertTrue(taskManager.getTask(0).isMarked());
+        assertEquals(List.of(0), taskManager.searchTags(List.of("leisure"), false).stream()
+                .map(IndexedTask::index).toList());
+        assertFalse(taskManager.searchTags(List.of("home"), true).isEmpty());
+    }
+}
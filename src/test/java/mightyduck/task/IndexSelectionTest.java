@@ -0,0 +1,39 @@
+package mightyduck.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.Test;
+
+public class IndexSelectionTest {
+    private static List<Integer> toList(PrimitiveIterator.OfInt iterator) {
+        List<Integer> indices = new ArrayList<>();
+        iterator.forEachRemaining((int index) -> indices.add(index));
+        return indices;
+    }
+
+    @Test
+    void ofRanges_overlappingAndAdjacentRanges_mergedInOrder() {
+        IndexSelection selection = IndexSelection.ofRanges(
+                new int[] {7, 9, 0, 2, 1, 3, 3, 4, 5, 5});
+
+        assertEquals(6, selection.size());
+        assertEquals(0, selection.getFirst());
+        assertEquals(8, selection.getLast());
+        assertEquals(List.of(0, 1, 2, 3, 7, 8), toList(selection.iterator()));
+        assertEquals(List.of(8, 7, 3, 2, 1, 0), toList(selection.descendingIterator()));
+    }
+
+    @Test
+    void of_duplicateIndices_selectedOnce() {
+        IndexSelection selection = IndexSelection.of(4, 1, 4);
+
+        assertEquals(List.of(1, 4), toList(selection.iterator()));
+        assertTrue(IndexSelection.of().isEmpty());
+        assertEquals(List.of(), toList(IndexSelection.of().descendingIterator()));
+    }
+}
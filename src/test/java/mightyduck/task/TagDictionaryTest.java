@@ -0,0 +1,42 @@
+package mightyduck.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mightyduck.exception.InvalidValueException;
+
+public class TagDictionaryTest {
+    @Test
+    void intern_equalTags_sameIdAndInstance() {
+        int id = TagDictionary.intern(new String("dictionary-test"));
+
+        assertEquals(id, TagDictionary.intern(new String("dictionary-test")));
+        assertEquals(id, TagDictionary.find("dictionary-test"));
+        assertSame(TagDictionary.getTag(id), new ToDo("task", List.of("dictionary-test"))
+                .getTags().get(0));
+    }
+
+    @Test
+    void find_unknownTag_noTag() {
+        assertEquals(TagDictionary.NO_TAG, TagDictionary.find("dictionary-unknown"));
+    }
+
+    @Test
+    void addAndRemoveTags_keepsOrderOfTags() throws InvalidValueException {
+        Task task = new ToDo("task", List.of("b", "a"));
+
+        task.addTags(List.of("c"));
+        task.removeTags(List.of("a"));
+
+        assertEquals(List.of("b", "c"), task.getTags());
+        assertTrue(task.hasTag("c"));
+        assertFalse(task.hasTag("a"));
+        assertEquals("T|0|b,c|task|", task.encode());
+    }
+}
@@ -5,14 +5,18 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import mightyduck.exception.InvalidValueException;
 import mightyduck.utils.Messages;
-import mightyduck.utils.Pair;
 
 public class TaskManagerTest {
     private TaskManager taskManager;
@@ -53,10 +57,10 @@ public class TaskManagerTest {
         taskManager.addTask(task1);
         taskManager.addTask(task2);
 
-        List<Pair<Integer, Task>> markedTasks = taskManager.markTasks(List.of(0, 1));
+        List<IndexedTask> markedTasks = taskManager.markTasks(IndexSelection.of(0, 1));
 
-        assertTrue(markedTasks.get(0).value().isMarked());
-        assertTrue(markedTasks.get(1).value().isMarked());
+        assertTrue(markedTasks.get(0).task().isMarked());
+        assertTrue(markedTasks.get(1).task().isMarked());
     }
 
     @Test
@@ -68,10 +72,10 @@ public class TaskManagerTest {
         taskManager.addTask(task1);
         taskManager.addTask(task2);
 
-        List<Pair<Integer, Task>> markedTasks = taskManager.unmarkTasks(List.of(0, 1));
+        List<IndexedTask> markedTasks = taskManager.unmarkTasks(IndexSelection.of(0, 1));
 
-        assertFalse(markedTasks.get(0).value().isMarked());
-        assertFalse(markedTasks.get(1).value().isMarked());
+        assertFalse(markedTasks.get(0).task().isMarked());
+        assertFalse(markedTasks.get(1).task().isMarked());
     }
 
     @Test
@@ -79,7 +83,7 @@ public class TaskManagerTest {
         taskManager.addTask(new ToDo("Task"));
 
         Exception exception = assertThrows(InvalidValueException.class, () ->
-                taskManager.markTasks(List.of(0, 1)));
+                taskManager.markTasks(IndexSelection.of(0, 1)));
         assertEquals(String.format(Messages.OUT_OF_RANGE_INDEX, 1), exception.getMessage());
     }
 
@@ -88,7 +92,7 @@ public class TaskManagerTest {
         taskManager.addTask(new ToDo("Task"));
 
         Exception exception = assertThrows(InvalidValueException.class, () ->
-                taskManager.unmarkTasks(List.of(0, 1)));
+                taskManager.unmarkTasks(IndexSelection.of(0, 1)));
         assertEquals(String.format(Messages.OUT_OF_RANGE_INDEX, 1), exception.getMessage());
     }
 
@@ -101,7 +105,7 @@ public class TaskManagerTest {
         taskManager.addTask(task2);
 
         Exception exception = assertThrows(InvalidValueException.class, () ->
-                taskManager.markTasks(List.of(0, 1)));
+                taskManager.markTasks(IndexSelection.of(0, 1)));
         assertEquals(String.format(Messages.ALREADY_MARKED, "Task 2"), exception.getMessage());
 
         assertFalse(task1.isMarked());
@@ -117,7 +121,7 @@ public class TaskManagerTest {
         taskManager.addTask(task2);
 
         Exception exception = assertThrows(InvalidValueException.class, () ->
-                taskManager.unmarkTasks(List.of(0, 1)));
+                taskManager.unmarkTasks(IndexSelection.of(0, 1)));
         assertEquals(String.format(Messages.ALREADY_UNMARKED, "Task 2"), exception.getMessage());
 
         assertTrue(task1.isMarked());
@@ -131,12 +135,13 @@ public class TaskManagerTest {
         taskManager.addTask(task1);
         taskManager.addTask(task2);
 
-        List<Pair<Integer, Task>> tasks = taskManager.tagTasks(List.of(0, 1), List.of("tp", "ip"));
+        List<IndexedTask> tasks = taskManager.tagTasks(IndexSelection.of(0, 1),
+                List.of("tp", "ip"));
 
-        assertTrue(tasks.get(0).value().hasTag("tp"));
-        assertTrue(tasks.get(0).value().hasTag("ip"));
-        assertTrue(tasks.get(1).value().hasTag("tp"));
-        assertTrue(tasks.get(1).value().hasTag("ip"));
+        assertTrue(tasks.get(0).task().hasTag("tp"));
+        assertTrue(tasks.get(0).task().hasTag("ip"));
+        assertTrue(tasks.get(1).task().hasTag("tp"));
+        assertTrue(tasks.get(1).task().hasTag("ip"));
     }
 
     @Test
@@ -148,7 +153,7 @@ public class TaskManagerTest {
         taskManager.addTask(task2);
 
         Exception exception = assertThrows(InvalidValueException.class, () ->
-                taskManager.tagTasks(List.of(0, 1), List.of("ip", "tp")));
+                taskManager.tagTasks(IndexSelection.of(0, 1), List.of("ip", "tp")));
         assertEquals(String.format(Messages.TAG_ALREADY_EXISTED, "ip", "Task 2"),
                 exception.getMessage());
 
@@ -167,13 +172,13 @@ public class TaskManagerTest {
         taskManager.addTask(task1);
         taskManager.addTask(task2);
 
-        List<Pair<Integer, Task>> tasks = taskManager.untagTasks(List.of(0, 1),
+        List<IndexedTask> tasks = taskManager.untagTasks(IndexSelection.of(0, 1),
                 List.of("tp", "ip"));
 
-        assertFalse(tasks.get(0).value().hasTag("tp"));
-        assertFalse(tasks.get(0).value().hasTag("ip"));
-        assertFalse(tasks.get(1).value().hasTag("tp"));
-        assertFalse(tasks.get(1).value().hasTag("ip"));
+        assertFalse(tasks.get(0).task().hasTag("tp"));
+        assertFalse(tasks.get(0).task().hasTag("ip"));
+        assertFalse(tasks.get(1).task().hasTag("tp"));
+        assertFalse(tasks.get(1).task().hasTag("ip"));
     }
 
     @Test
@@ -186,7 +191,7 @@ public class TaskManagerTest {
         taskManager.addTask(task2);
 
         Exception exception = assertThrows(InvalidValueException.class, () ->
-                taskManager.untagTasks(List.of(0, 1), List.of("tp", "ip")));
+                taskManager.untagTasks(IndexSelection.of(0, 1), List.of("tp", "ip")));
         assertEquals(String.format(Messages.TAG_NOT_FOUND, "tp", "Task 2"),
                 exception.getMessage());
 
@@ -203,7 +208,7 @@ public class TaskManagerTest {
         taskManager.addTask(task1);
         taskManager.addTask(task2);
 
-        taskManager.deleteTasks(List.of(0, 1));
+        taskManager.deleteTasks(IndexSelection.of(0, 1));
         assertEquals(0, taskManager.getTaskCount());
     }
 
@@ -212,7 +217,7 @@ public class TaskManagerTest {
         Task task1 = new ToDo("Task 1");
         taskManager.addTask(task1);
         Exception exception = assertThrows(InvalidValueException.class, () ->
-                taskManager.deleteTasks(List.of(0, 1)));
+                taskManager.deleteTasks(IndexSelection.of(0, 1)));
         assertEquals(String.format(Messages.OUT_OF_RANGE_INDEX, 1), exception.getMessage());
         assertEquals(1, taskManager.getTaskCount());
     }
@@ -264,4 +269,377 @@ public class TaskManagerTest {
         tasks.add(new ToDo("New task"));
         assertEquals(1, taskManager.getTaskCount());
     }
+
+    @Test
+    void drainChanges_returnsChangesInOrder() throws InvalidValueException {
+        Task task1 = new ToDo("task 1");
+        Task task2 = new ToDo("task 2");
+        taskManager.addTask(task1);
+        taskManager.addTask(task2);
+        Task markedTask2 = taskManager.markTasks(IndexSelection.of(1)).get(0).task();
+        taskManager.deleteTasks(IndexSelection.of(0));
+
+        List<TaskChange> changes = taskManager.drainChanges();
+        assertEquals(List.of(
+                new TaskChange(TaskChangeType.ADD, 0, task1),
+                new TaskChange(TaskChangeType.ADD, 1, task2),
+                new TaskChange(TaskChangeType.UPDATE, 1, markedTask2),
+                new TaskChange(TaskChangeType.DELETE, 0, task1)
+        ), changes);
+        assertTrue(taskManager.drainChanges().isEmpty());
+    }
+
+    @Test
+    void drainChanges_failedCommand_recordsNothing() {
+        taskManager.addTask(new ToDo("task"));
+        taskManager.drainChanges();
+
+        assertThrows(InvalidValueException.class, () ->
+                taskManager.deleteTasks(IndexSelection.of(0, 1)));
+        assertTrue(taskManager.drainChanges().isEmpty());
+    }
+
+    @Test
+    void getVersion_readsAndFailedChanges_unchanged() throws InvalidValueException {
+        taskManager.addTask(new ToDo("task"));
+        long version = taskManager.getVersion();
+
+        taskManager.getTasks();
+        taskManager.searchKeywords(List.of("task"));
+        assertThrows(InvalidValueException.class, () ->
+                taskManager.unmarkTasks(IndexSelection.of(0)));
+        assertEquals(version, taskManager.getVersion());
+
+        taskManager.markTasks(IndexSelection.of(0));
+        assertEquals(version + 1, taskManager.getVersion());
+    }
+
+    @Test
+    void addTask_afterDelete_idsStable() throws InvalidValueException {
+        taskManager.addTask(new ToDo("task 1"));
+        taskManager.addTask(new ToDo("task 2"));
+        taskManager.addTask(new ToDo("task 3"));
+
+        taskManager.deleteTasks(IndexSelection.of(0));
+        int index = taskManager.addTask(new ToDo("task 4"));
+
+        assertEquals(4, taskManager.getTask(index).getId());
+        assertEquals("task 2", taskManager.getTaskById(2).getName());
+        assertEquals(1, taskManager.getIndexOfId(3));
+    }
+
+    @Test
+    void getTaskById_deletedId_throwsException() throws InvalidValueException {
+        taskManager.addTask(new ToDo("task"));
+        taskManager.deleteTasks(IndexSelection.of(0));
+
+        Exception exception = assertThrows(InvalidValueException.class, () ->
+                taskManager.getTaskById(1));
+        assertEquals(String.format(Messages.UNKNOWN_TASK_ID, 1), exception.getMessage());
+        assertThrows(InvalidValueException.class, () -> taskManager.getIndexOfId(1));
+    }
+
+    @Test
+    void constructor_unorderedIds_numberedInOrder() throws InvalidValueException {
+        Task task1 = new ToDo("task 1");
+        Task task2 = new ToDo("task 2");
+        task1.setId(5);
+        task2.setId(3);
+
+        TaskManager loadedTaskManager = new TaskManager(List.of(task1, task2));
+
+        assertEquals(1, loadedTaskManager.getTask(0).getId());
+        assertEquals(2, loadedTaskManager.getTask(1).getId());
+    }
+
+    @Test
+    void searchTags_allOrAnyTags_matchingTasksInOrder() throws InvalidValueException {
+        taskManager.addTask(new ToDo("task 1", List.of("school", "urgent")));
+        taskManager.addTask(new ToDo("task 2", List.of("home")));
+        taskManager.addTask(new ToDo("task 3", List.of("school")));
+
+        List<IndexedTask> allTags =
+                taskManager.searchTags(List.of("school", "urgent"), true);
+        List<IndexedTask> anyTags =
+                taskManager.searchTags(List.of("home", "urgent"), false);
+
+        assertEquals(List.of(0), allTags.stream().map(IndexedTask::index).toList());
+        assertEquals(List.of(0, 1), anyTags.stream().map(IndexedTask::index).toList());
+    }
+
+    @Test
+    void searchTags_afterTagUntagAndDelete_indexUpToDate() throws InvalidValueException {
+        taskManager.addTask(new ToDo("task 1", List.of("school")));
+        taskManager.addTask(new ToDo("task 2"));
+        taskManager.addTask(new ToDo("task 3"));
+
+        taskManager.tagTasks(IndexSelection.of(1, 2), List.of("school"));
+        taskManager.untagTasks(IndexSelection.of(1), List.of("school"));
+        taskManager.deleteTasks(IndexSelection.of(0));
+        taskManager.replaceTask(0, new ToDo("task 2 again", List.of("school")));
+
+        List<IndexedTask> result = taskManager.searchTags(List.of("school"), true);
+
+        assertEquals(List.of(0, 1), result.stream().map(IndexedTask::index).toList());
+        assertEquals("task 3", result.get(1).task().getName());
+        assertTrue(taskManager.searchTags(List.of("unknown"), false).isEmpty());
+    }
+
+    @Test
+    void searchKeywords_indexedKeywords_sameAsSubstringScan() throws InvalidValueException {
+        List<String> names = List.of("Read book", "home-owner", "HomeOwner", "bookkeeping 2025",
+                "meow", "café crème");
+        for (String name : names) {
+            taskManager.addTask(new ToDo(name));
+        }
+        taskManager.deleteTasks(IndexSelection.of(0));
+        taskManager.replaceTask(0, new ToDo("book owner"));
+
+        List<List<String>> queries = List.of(List.of("book"), List.of("OW"), List.of("e-o"),
+                List.of("2025", "read"), List.of("caf", "x"), List.of("ème"), List.of("k o"),
+                List.of("ookk", "-"), List.of("ow", "owner"));
+        for (List<String> query : queries) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < taskManager.getTaskCount(); i++) {
+                String name = taskManager.getTask(i).getName().toLowerCase();
+                if (query.stream().anyMatch(word -> name.contains(word.toLowerCase()))) {
+                    expected.add(i);
+                }
+            }
+            assertEquals(expected, taskManager.searchKeywords(query).stream()
+                    .map(IndexedTask::index).toList(), query.toString());
+        }
+    }
+
+    @Test
+    void searchBetween_timeRange_tasksOrderedByTime() throws InvalidValueException {
+        LocalDateTime noon = LocalDateTime.of(2025, 1, 18, 12, 0);
+        taskManager.addTask(new Deadline("late", noon.plusDays(2)));
+        taskManager.addTask(new ToDo("no time"));
+        taskManager.addTask(new Event("meeting", noon, noon.plusHours(1)));
+        taskManager.addTask(new Deadline("early", noon.minusDays(1)));
+        taskManager.addTask(new Deadline("deleted", noon));
+        taskManager.deleteTasks(IndexSelection.of(4));
+
+        assertEquals(List.of(3, 2), taskManager.searchBetween(null, noon).stream()
+                .map(IndexedTask::index).toList());
+        assertEquals(List.of(2, 0), taskManager.searchBetween(noon, noon.plusDays(2)).stream()
+                .map(IndexedTask::index).toList());
+        assertTrue(taskManager.searchBetween(noon.plusMinutes(1), noon.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void searchOverlapping_timeSpan_overlappingEventsInListOrder() throws InvalidValueException {
+        LocalDateTime noon = LocalDateTime.of(2025, 1, 18, 12, 0);
+        taskManager.addTask(new Event("afternoon", noon, noon.plusHours(6)));
+        taskManager.addTask(new Deadline("deadline", noon.plusHours(1)));
+        taskManager.addTask(new Event("morning", noon.minusHours(4), noon));
+        taskManager.addTask(new Event("lunch", noon.plusHours(1), noon.plusHours(2)));
+        taskManager.addTask(new Event("deleted", noon, noon.plusDays(1)));
+        taskManager.deleteTasks(IndexSelection.of(4));
+
+        assertEquals(List.of(0, 3), taskManager.searchOverlapping(noon.plusMinutes(90),
+                noon.plusHours(3)).stream().map(IndexedTask::index).toList());
+        assertEquals(List.of(0, 2), taskManager.searchOverlapping(noon.minusHours(1),
+                noon.plusMinutes(1)).stream().map(IndexedTask::index).toList());
+        assertTrue(taskManager.searchOverlapping(noon.plusHours(6), noon.plusHours(7)).isEmpty());
+    }
+
+    @Test
+    void searchOverlapping_storedTasks_onlyEventsDecoded() {
+        LocalDateTime noon = LocalDateTime.of(2025, 1, 18, 12, 0);
+        RecordingTaskSource source = new RecordingTaskSource(List.of(new ToDo("todo"),
+                new Event("lunch", noon, noon.plusHours(1)), new Deadline("report", noon)));
+        TaskManager storedTaskManager = new TaskManager(source);
+
+        assertEquals(List.of(1), storedTaskManager.searchOverlapping(noon, noon.plusHours(2))
+                .stream().map(IndexedTask::index).toList());
+        assertEquals(Set.of(1), source.decodedIndices);
+    }
+
+    @Test
+    void search_storedTasks_onlyMatchesDecoded() {
+        LocalDateTime noon = LocalDateTime.of(2025, 1, 18, 12, 0);
+        RecordingTaskSource source = new RecordingTaskSource(List.of(
+                new ToDo("read book", List.of("home")),
+                new Event("lunch", noon, noon.plusHours(1)),
+                new Deadline("report", noon.minusHours(2), List.of("work"))));
+        TaskManager storedTaskManager = new TaskManager(source);
+
+        assertEquals(List.of(0), storedTaskManager.searchKeywords(List.of("book"))
+                .stream().map(IndexedTask::index).toList());
+        assertEquals(List.of(0), storedTaskManager.searchKeywords(List.of("d b"))
+                .stream().map(IndexedTask::index).toList());
+        assertEquals(List.of(2), storedTaskManager.searchTags(List.of("work"), true)
+                .stream().map(IndexedTask::index).toList());
+        assertEquals(List.of(2), storedTaskManager.searchBetween(noon.minusHours(3),
+                noon.minusHours(1)).stream().map(IndexedTask::index).toList());
+        assertEquals(Set.of(0, 2), source.decodedIndices);
+    }
+
+    @Test
+    void searchConflicts_touchingAndOverlappingEvents_onlyOverlappingReturned()
+            throws InvalidValueException {
+        LocalDateTime noon = LocalDateTime.of(2025, 1, 18, 12, 0);
+        taskManager.addTask(new Event("morning", noon.minusHours(4), noon));
+        taskManager.addTask(new Event("lunch", noon, noon.plusHours(1)));
+        taskManager.addTask(new Event("call", noon.plusMinutes(30), noon.plusHours(2)));
+        taskManager.addTask(new Event("evening", noon.plusHours(6), noon.plusHours(8)));
+
+        assertEquals(List.of(1, 2), taskManager.searchConflicts().stream()
+                .map(IndexedTask::index).toList());
+
+        taskManager.deleteTasks(IndexSelection.of(2));
+        assertTrue(taskManager.searchConflicts().isEmpty());
+    }
+
+    @Test
+    void listTasks_afterDeletion_tasksWithCurrentIndices() throws InvalidValueException {
+        taskManager.addTask(new ToDo("first"));
+        taskManager.addTask(new ToDo("second"));
+        taskManager.addTask(new ToDo("third"));
+        taskManager.deleteTasks(IndexSelection.of(0));
+
+        List<IndexedTask> tasks = taskManager.listTasks();
+
+        assertEquals(List.of(0, 1), tasks.stream().map(IndexedTask::index).toList());
+        assertEquals(List.of("second", "third"), tasks.stream()
+                .map(indexedTask -> indexedTask.task().getName()).toList());
+    }
+
+    @Test
+    void searchFuzzy_misspelledWords_closeMatches() throws InvalidValueException {
+        taskManager.addTask(new ToDo("submit report"));
+        taskManager.addTask(new ToDo("buy groceries"));
+        taskManager.addTask(new ToDo("Report bug"));
+
+        assertEquals(List.of(0, 2), taskManager.searchFuzzy(List.of("reprt"), 1).stream()
+                .map(IndexedTask::index).toList());
+        assertEquals(List.of(), taskManager.searchFuzzy(List.of("grocery"), 1));
+        assertEquals(List.of(1), taskManager.searchFuzzy(List.of("grocery"), 3).stream()
+                .map(IndexedTask::index).toList());
+
+        taskManager.deleteTasks(IndexSelection.of(0));
+        taskManager.addTask(new ToDo("buy sugar"));
+        assertEquals(List.of(1), taskManager.searchFuzzy(List.of("REPORT"), 0).stream()
+                .map(IndexedTask::index).toList());
+        assertEquals(List.of(0, 2), taskManager.searchFuzzy(List.of("by"), 1).stream()
+                .map(IndexedTask::index).toList());
+    }
+
+    @Test
+    void snapshot_laterChanges_unchanged() throws InvalidValueException {
+        taskManager.addTask(new ToDo("first"));
+        taskManager.addTask(new ToDo("second"));
+        TaskManager snapshot = taskManager.snapshot();
+        Task first = taskManager.getTask(0);
+
+        taskManager.markTasks(IndexSelection.of(0));
+        taskManager.deleteTasks(IndexSelection.of(1));
+        taskManager.addTask(new ToDo("third"));
+
+        assertFalse(first.isMarked());
+        assertTrue(taskManager.getTask(0).isMarked());
+        assertEquals(List.of("first", "second"),
+                snapshot.getTasks().stream().map(Task::getName).toList());
+        assertFalse(snapshot.getTask(0).isMarked());
+        assertThrows(UnsupportedOperationException.class, () ->
+                snapshot.addTask(new ToDo("fourth")));
+    }
+
+    @Test
+    void concurrentChangesAndReads_consistentResult() throws InterruptedException {
+        int threadCount = 4;
+        int tasksPerThread = 2000;
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (int t = 0; t < threadCount; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < tasksPerThread; i++) {
+                        int index = taskManager.addTask(new ToDo("task " + i));
+                        taskManager.markTasks(IndexSelection.of(index));
+                        taskManager.getTask(taskManager.getTaskCount() - 1);
+                        taskManager.searchKeywords(List.of("task 1"));
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), failures);
+        assertEquals(threadCount * tasksPerThread, taskManager.getTaskCount());
+        assertTrue(taskManager.getTasks().stream().allMatch(Task::isMarked));
+        assertEquals(threadCount * tasksPerThread, taskManager.getTasks().stream()
+                .mapToInt(Task::getId).distinct().count());
+    }
+
+    /**
+     * A source of tasks held in memory, which records the indices of the decoded tasks and reads
+     * signatures without decoding.
+     */
+    private static class RecordingTaskSource implements TaskSource {
+        private final List<Task> tasks;
+        private final Set<Integer> decodedIndices = new HashSet<>();
+
+        RecordingTaskSource(List<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public int size() {
+            return tasks.size();
+        }
+
+        @Override
+        public int getId(int index) {
+            return Task.NO_ID;
+        }
+
+        @Override
+        public Task decode(int index) {
+            decodedIndices.add(index);
+            return tasks.get(index).copy();
+        }
+
+        @Override
+        public char getSignature(int index) {
+            return tasks.get(index).getSignature().charAt(0);
+        }
+
+        @Override
+        public String getName(int index) {
+            return tasks.get(index).getName();
+        }
+
+        @Override
+        public List<String> getTags(int index) {
+            return tasks.get(index).getTags();
+        }
+
+        @Override
+        public LocalDateTime getTime(int index) {
+            return TimeIndex.getTime(tasks.get(index));
+        }
+
+        @Override
+        public LocalDateTime getEndTime(int index) {
+            return tasks.get(index) instanceof Event event ? event.getEndTime() : null;
+        }
+
+        @Override
+        public boolean isRetainingTasks() {
+            return false;
+        }
+
+        @Override
+        public String encode(int index) {
+            return tasks.get(index).encode();
+        }
+    }
 }
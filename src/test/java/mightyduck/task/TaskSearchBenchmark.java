@@ -0,0 +1,70 @@
+package mightyduck.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+
+/**
+ * Measures the query latency of {@link TaskManager#searchKeywords(List)} against the previous full
+ * scan, which is reproduced here as a reference, and checks that both return the same tasks. This
+ * is not run as part of the test suite; run its {@code main} method with an optional task count
+ * argument.
+ */
+public class TaskSearchBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final String[] WORDS = {"read", "write", "review", "meeting", "report", "call",
+        "email", "plan", "budget", "design", "deploy", "fix", "test", "lunch", "gym", "groceries"};
+    private static final List<List<String>> QUERIES = List.of(List.of("budget"), List.of("eet"),
+            List.of("task 4242"), List.of("groceries", "deploy 77"), List.of("zzz"));
+
+    public static void main(String[] args) {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new ToDo(WORDS[i % WORDS.length] + " " + WORDS[i * 7 % WORDS.length]
+                    + " task " + i));
+        }
+
+        TaskManager taskManager = new TaskManager(tasks);
+        long start = System.nanoTime();
+        taskManager.searchKeywords(List.of("a", "abc"));
+        System.out.printf("building indices: %,d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+        for (List<String> query : QUERIES) {
+            List<IndexedTask> expected = searchWithScan(taskManager, query);
+            if (!expected.equals(taskManager.searchKeywords(query))) {
+                throw new AssertionError("Different results for " + query);
+            }
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                searchWithScan(taskManager, query);
+                taskManager.searchKeywords(query);
+            }
+            long scanNanos = 0;
+            long indexNanos = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                start = System.nanoTime();
+                searchWithScan(taskManager, query);
+                scanNanos += System.nanoTime() - start;
+                start = System.nanoTime();
+                taskManager.searchKeywords(query);
+                indexNanos += System.nanoTime() - start;
+            }
+            System.out.printf("%-24s %,8d matches  scan: %,10.3f ms  index: %,8.3f ms%n", query,
+                    expected.size(), scanNanos / 1e6 / MEASURED_ROUNDS,
+                    indexNanos / 1e6 / MEASURED_ROUNDS);
+        }
+    }
+
+    private static List<IndexedTask> searchWithScan(TaskManager taskManager,
+                                                            List<String> words) {
+        List<Task> tasks = taskManager.getTasks();
+        return IntStream.range(0, tasks.size())
+                .filter(i -> words.stream().anyMatch(word ->
+                        tasks.get(i).getName().toLowerCase().contains(word.toLowerCase())))
+                .mapToObj(i -> new IndexedTask(i, tasks.get(i)))
+                .toList();
+    }
+}
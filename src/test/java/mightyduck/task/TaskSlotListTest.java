@@ -0,0 +1,107 @@
+package mightyduck.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskSlotListTest {
+    private static TaskSlot slot(int id) {
+        return new TaskSlot(id, new ToDo("task " + id));
+    }
+
+    @Test
+    void remove_scatteredPositions_sameAsArrayList() {
+        TaskSlotList slots = new TaskSlotList();
+        List<TaskSlot> expected = new ArrayList<>();
+        for (int id = 1; id <= 20000; id++) {
+            TaskSlot slot = slot(id);
+            slots.add(slot);
+            expected.add(slot);
+        }
+
+        Random random = new Random(42);
+        while (expected.size() > 100) {
+            int index = random.nextInt(expected.size());
+            assertEquals(expected.remove(index), slots.remove(index));
+        }
+
+        assertEquals(expected, slots);
+        assertEquals(expected, new ArrayList<>(slots));
+    }
+
+    @Test
+    void add_middlePositions_sameAsArrayList() {
+        TaskSlotList slots = new TaskSlotList();
+        List<TaskSlot> expected = new ArrayList<>();
+        Random random = new Random(7);
+        for (int id = 1; id <= 10000; id++) {
+            int index = random.nextInt(expected.size() + 1);
+            TaskSlot slot = slot(id);
+            slots.add(index, slot);
+            expected.add(index, slot);
+        }
+
+        assertEquals(expected.size(), slots.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), slots.get(i));
+        }
+    }
+
+    @Test
+    void indexOfId_afterDeletions_currentPositionOrMinusOne() {
+        TaskSlotList slots = new TaskSlotList();
+        for (int id = 1; id <= 10000; id++) {
+            slots.add(slot(id * 2));
+        }
+        for (int index = slots.size() - 1; index >= 0; index -= 3) {
+            slots.remove(index);
+        }
+
+        for (int i = 0; i < slots.size(); i++) {
+            assertEquals(i, slots.indexOfId(slots.get(i).getId()));
+        }
+        assertEquals(-1, slots.indexOfId(0));
+        assertEquals(-1, slots.indexOfId(3));
+        assertEquals(-1, slots.indexOfId(20000));
+        assertEquals(-1, slots.indexOfId(20002));
+    }
+
+    @Test
+    void snapshot_laterChanges_unchanged() {
+        TaskSlotList slots = new TaskSlotList();
+        for (int id = 1; id <= 5000; id++) {
+            slots.add(slot(id));
+        }
+        List<TaskSlot> expected = new ArrayList<>(slots);
+        TaskSlotList snapshot = slots.snapshot();
+
+        Random random = new Random(3);
+        for (int i = 0; i < 2000; i++) {
+            int index = random.nextInt(slots.size());
+            switch (i % 3) {
+            case 0 -> slots.remove(index);
+            case 1 -> slots.set(index, slot(slots.get(index).getId()));
+            default -> slots.add(slot(10000 + i));
+            }
+        }
+
+        assertEquals(expected, snapshot);
+        assertEquals(expected, new ArrayList<>(snapshot));
+        assertEquals(4999, snapshot.indexOfId(5000));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0));
+    }
+
+    @Test
+    void get_outOfBounds_throwsException() {
+        TaskSlotList slots = new TaskSlotList();
+        slots.add(slot(1));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> slots.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> slots.remove(-1));
+    }
+}
@@ -0,0 +1,44 @@
+package mightyduck.utils;
+
+import static mightyduck.utils.DateTimeUtils.FORMATTER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+public class DateTimeUtilsTest {
+    @Test
+    void parse_validTime_sameAsFormatter() {
+        for (String text : new String[] {"2025-01-18 12:00", "0001-01-01 00:00",
+                "2024-02-29 23:59", "9999-12-31 23:59"}) {
+            assertEquals(LocalDateTime.parse(text, FORMATTER), DateTimeUtils.parse(text));
+        }
+    }
+
+    @Test
+    void parse_invalidLayout_throwsDateTimeParseException() {
+        for (String text : new String[] {"", "2025-01-18", "2025-01-18 12:00 ", "2025/01/18 12:00",
+                "2025-01-18T12:00", "2025-1-18 12:00", "２025-01-18 12:00", "+025-01-18 12:00"}) {
+            assertThrows(DateTimeParseException.class, () -> DateTimeUtils.parse(text), text);
+        }
+    }
+
+    @Test
+    void parse_nonExistentTime_throwsDateTimeParseException() {
+        for (String text : new String[] {"2025-02-29 12:00", "2025-04-31 12:00", "2025-13-01 12:00",
+                "2025-00-10 12:00", "2025-01-18 24:00", "2025-01-18 12:60", "0000-01-01 00:00"}) {
+            assertThrows(DateTimeParseException.class, () -> DateTimeUtils.parse(text), text);
+        }
+    }
+
+    @Test
+    void format_time_sameAsFormatter() {
+        for (LocalDateTime time : new LocalDateTime[] {LocalDateTime.of(2025, 1, 8, 9, 5),
+                LocalDateTime.of(1, 12, 31, 23, 59), LocalDateTime.of(12345, 1, 1, 0, 0)}) {
+            assertEquals(time.format(FORMATTER), DateTimeUtils.format(time));
+        }
+    }
+}